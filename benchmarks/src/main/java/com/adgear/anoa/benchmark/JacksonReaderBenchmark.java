@@ -0,0 +1,146 @@
+package com.adgear.anoa.benchmark;
+
+import com.adgear.anoa.read.AvroDecoders;
+import com.adgear.anoa.read.ProtobufDecoders;
+import com.adgear.anoa.read.ThriftDecoders;
+import com.adgear.anoa.test.AnoaTestSample;
+import com.adgear.anoa.test.ad_exchange.AdExchangeProtobuf;
+import com.adgear.anoa.test.ad_exchange.LogEventAvro;
+import com.adgear.anoa.test.ad_exchange.LogEventThrift;
+import com.adgear.anoa.write.AvroEncoders;
+import com.adgear.anoa.write.ProtobufEncoders;
+import com.adgear.anoa.write.ThriftEncoders;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import org.jooq.lambda.Unchecked;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Compares the Jackson record readers on input whose field names come in declaration order, which
+ * the readers predict and match on the raw UTF-8 bytes, with input on which every prediction fails
+ * and each field name is decoded and looked up, as the interpreted readers did for every field.
+ *
+ * <ul>
+ * <li>{@code strict}: output of the strict writers, every field in declaration order.</li>
+ * <li>{@code lenient}: output of the lenient writers, which skip null, empty and default fields,
+ * each skip costing one missed prediction.</li>
+ * <li>{@code reversed}: the strict output with the fields of each record in reverse order.</li>
+ * </ul>
+ *
+ * Each benchmark decodes the whole sample, {@link AnoaTestSample#n} records.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonReaderBenchmark {
+
+  @Param({"strict", "lenient", "reversed"})
+  public String input;
+
+  final private AnoaTestSample ats = new AnoaTestSample();
+  final private JsonFactory factory = AnoaTestSample.OBJECT_MAPPER.getFactory();
+
+  private Function<JsonParser, LogEventAvro> avroDecoder;
+  private Function<JsonParser, LogEventThrift> thriftDecoder;
+  private Function<JsonParser, AdExchangeProtobuf.LogEvent> protobufDecoder;
+  private List<byte[]> avro;
+  private List<byte[]> thrift;
+  private List<byte[]> protobuf;
+
+  @Setup
+  public void setup() {
+    avroDecoder = AvroDecoders.jackson(ats.avroClass);
+    thriftDecoder = ThriftDecoders.jackson(ats.thriftClass);
+    protobufDecoder = ProtobufDecoders.jackson(ats.protobufClass);
+    final boolean strict = !"lenient".equals(input);
+    final boolean reversed = "reversed".equals(input);
+    final Function<LogEventAvro, TokenBuffer> avroEncoder = strict
+        ? AvroEncoders.jacksonStrict(ats.avroClass, this::tb)
+        : AvroEncoders.jackson(ats.avroClass, this::tb);
+    final Function<LogEventThrift, TokenBuffer> thriftEncoder = strict
+        ? ThriftEncoders.jacksonStrict(ats.thriftClass, this::tb)
+        : ThriftEncoders.jackson(ats.thriftClass, this::tb);
+    final Function<AdExchangeProtobuf.LogEvent, TokenBuffer> protobufEncoder = strict
+        ? ProtobufEncoders.jacksonStrict(ats.protobufClass, this::tb)
+        : ProtobufEncoders.jackson(ats.protobufClass, this::tb);
+    avro = serialize(ats.avroSpecific().map(avroEncoder), reversed);
+    thrift = serialize(ats.thrift().map(thriftEncoder), reversed);
+    protobuf = serialize(ats.protobuf().map(protobufEncoder), reversed);
+  }
+
+  private TokenBuffer tb() {
+    return new TokenBuffer(AnoaTestSample.OBJECT_MAPPER, false);
+  }
+
+  static private List<byte[]> serialize(Stream<TokenBuffer> records, boolean reversed) {
+    return records
+        .map(Unchecked.function(tb -> (JsonNode) tb.asParser().readValueAsTree()))
+        .map(node -> reversed ? reverse((ObjectNode) node) : node)
+        .map(Unchecked.function(AnoaTestSample.OBJECT_MAPPER::writeValueAsBytes))
+        .collect(Collectors.toList());
+  }
+
+  static private ObjectNode reverse(ObjectNode node) {
+    final List<Map.Entry<String, JsonNode>> fields = new ArrayList<>(node.size());
+    final Iterator<Map.Entry<String, JsonNode>> iterator = node.fields();
+    while (iterator.hasNext()) {
+      fields.add(0, iterator.next());
+    }
+    final ObjectNode result = AnoaTestSample.OBJECT_MAPPER.createObjectNode();
+    fields.forEach(e -> result.set(e.getKey(), e.getValue()));
+    return result;
+  }
+
+  private <R> void decode(List<byte[]> records,
+                          Function<JsonParser, R> decoder,
+                          Blackhole blackhole) throws IOException {
+    for (byte[] bytes : records) {
+      try (JsonParser parser = factory.createParser(bytes)) {
+        blackhole.consume(decoder.apply(parser));
+      }
+    }
+  }
+
+  @Benchmark
+  public void avro(Blackhole blackhole) throws IOException {
+    decode(avro, avroDecoder, blackhole);
+  }
+
+  @Benchmark
+  public void thrift(Blackhole blackhole) throws IOException {
+    decode(thrift, thriftDecoder, blackhole);
+  }
+
+  @Benchmark
+  public void protobuf(Blackhole blackhole) throws IOException {
+    decode(protobuf, protobufDecoder, blackhole);
+  }
+}
@@ -0,0 +1,582 @@
+package com.adgear.anoa;
+
+import com.google.protobuf.Message;
+
+import com.adgear.anoa.read.AvroDecoders;
+import com.adgear.anoa.read.ProtobufDecoders;
+import com.adgear.anoa.read.ThriftDecoders;
+import com.adgear.anoa.write.AvroEncoders;
+import com.adgear.anoa.write.ProtobufEncoders;
+import com.adgear.anoa.write.ThriftEncoders;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.specific.SpecificRecord;
+import org.apache.thrift.TBase;
+import org.jooq.lambda.Unchecked;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A registry of cached serialization functions, keyed by Avro schema or by record class. Unlike
+ * those returned by the encoder and decoder utility classes, all functions handed out by a registry
+ * are thread-safe, which allows a single registry to be shared by all the threads of an executor.
+ *
+ * <p>Reader and writer trees for Jackson encodings are compiled once per type and shared. The other
+ * encodings rely on scratch buffers, transports and Avro encoders or decoders which are not
+ * thread-safe; their functions are instead instantiated once per type and per thread.
+ */
+final public class AnoaCodecs {
+
+  /**
+   * Hands the JsonGenerator supplied by the caller over to the shared Jackson encoders.
+   */
+  static final private ThreadLocal<JsonGenerator> currentGenerator = new ThreadLocal<>();
+
+  final private ConcurrentMap<Key, Function<?, ?>> cache = new ConcurrentHashMap<>();
+  final private Set<Schema> schemas = ConcurrentHashMap.newKeySet();
+  final private Set<Class<?>> recordClasses = ConcurrentHashMap.newKeySet();
+
+  /**
+   * @param schema Avro record schema to warm up
+   * @return this registry
+   */
+  public AnoaCodecs register(Schema schema) {
+    schemas.add(Objects.requireNonNull(schema));
+    return this;
+  }
+
+  /**
+   * @param recordClass Avro, Thrift or Protobuf record class to warm up
+   * @return this registry
+   */
+  public AnoaCodecs register(Class<?> recordClass) {
+    if (!SpecificRecord.class.isAssignableFrom(recordClass)
+        && !TBase.class.isAssignableFrom(recordClass)
+        && !Message.class.isAssignableFrom(recordClass)) {
+      throw new IllegalArgumentException(
+          recordClass + " is not an Avro, Thrift or Protobuf record class.");
+    }
+    recordClasses.add(recordClass);
+    return this;
+  }
+
+  /**
+   * Eagerly compiles all functions for all registered types, on the calling thread. Functions
+   * which are instantiated per thread will still need to be instantiated on each other thread.
+   *
+   * @return this registry
+   */
+  @SuppressWarnings("unchecked")
+  public AnoaCodecs warmUp() {
+    for (Schema schema : schemas) {
+      avroBinaryDecoder(schema);
+      avroJsonDecoder(schema);
+      avroJacksonDecoder(schema);
+      avroJacksonStrictDecoder(schema);
+      avroBinaryEncoder(schema);
+      avroJsonEncoder(schema);
+      avroJacksonEncoder(schema, () -> null);
+      avroJacksonStrictEncoder(schema, () -> null);
+    }
+    for (Class<?> recordClass : recordClasses) {
+      if (SpecificRecord.class.isAssignableFrom(recordClass)) {
+        final Class<SpecificRecord> avroClass = (Class<SpecificRecord>) recordClass;
+        avroBinaryDecoder(avroClass);
+        avroJsonDecoder(avroClass);
+        avroJacksonDecoder(avroClass);
+        avroJacksonStrictDecoder(avroClass);
+        avroBinaryEncoder(avroClass);
+        avroJsonEncoder(avroClass);
+        avroJacksonEncoder(avroClass, () -> null);
+        avroJacksonStrictEncoder(avroClass, () -> null);
+      } else if (TBase.class.isAssignableFrom(recordClass)) {
+        final Class<TBase> thriftClass = (Class<TBase>) recordClass;
+        thriftBinaryDecoder(thriftClass);
+        thriftCompactDecoder(thriftClass);
+        thriftJsonDecoder(thriftClass);
+        thriftJacksonDecoder(thriftClass);
+        thriftJacksonStrictDecoder(thriftClass);
+        thriftBinaryEncoder(thriftClass);
+        thriftCompactEncoder(thriftClass);
+        thriftJsonEncoder(thriftClass);
+        thriftJacksonEncoder(thriftClass, () -> null);
+        thriftJacksonStrictEncoder(thriftClass, () -> null);
+      } else {
+        final Class<Message> protobufClass = (Class<Message>) recordClass;
+        protobufBinaryDecoder(protobufClass);
+        protobufJacksonDecoder(protobufClass);
+        protobufJacksonStrictDecoder(protobufClass);
+        protobufBinaryEncoder(protobufClass);
+        protobufJacksonEncoder(protobufClass, () -> null);
+        protobufJacksonStrictEncoder(protobufClass, () -> null);
+      }
+    }
+    return this;
+  }
+
+  /**
+   * @param schema Avro record schema
+   * @return A thread-safe function which deserializes an Avro record from its binary encoding
+   */
+  public Function<byte[], GenericRecord> avroBinaryDecoder(Schema schema) {
+    return perThread("avroBinaryDecoder", schema, () -> AvroDecoders.binary(schema));
+  }
+
+  /**
+   * @param recordClass Avro record class object
+   * @param <R>         Avro record type
+   * @return A thread-safe function which deserializes an Avro record from its binary encoding
+   */
+  public <R extends SpecificRecord> Function<byte[], R> avroBinaryDecoder(Class<R> recordClass) {
+    return perThread("avroBinaryDecoder", recordClass, () -> AvroDecoders.binary(recordClass));
+  }
+
+  /**
+   * @param schema Avro record schema
+   * @return A thread-safe function which deserializes an Avro record from its JSON encoding
+   */
+  public Function<String, GenericRecord> avroJsonDecoder(Schema schema) {
+    return perThread("avroJsonDecoder", schema, () -> AvroDecoders.json(schema));
+  }
+
+  /**
+   * @param recordClass Avro record class object
+   * @param <R>         Avro record type
+   * @return A thread-safe function which deserializes an Avro record from its JSON encoding
+   */
+  public <R extends SpecificRecord> Function<String, R> avroJsonDecoder(Class<R> recordClass) {
+    return perThread("avroJsonDecoder", recordClass, () -> AvroDecoders.json(recordClass));
+  }
+
+  /**
+   * @param schema Avro record schema
+   * @param <P>    Jackson JsonParser type
+   * @return A thread-safe function which reads an Avro record from a JsonParser, in its 'natural'
+   * encoding.
+   */
+  public <P extends JsonParser> Function<P, GenericRecord> avroJacksonDecoder(Schema schema) {
+    return shared("avroJacksonDecoder", schema, () -> AvroDecoders.jackson(schema));
+  }
+
+  /**
+   * @param recordClass Avro record class object
+   * @param <P>         Jackson JsonParser type
+   * @param <R>         Avro record type
+   * @return A thread-safe function which reads an Avro record from a JsonParser, in its 'natural'
+   * encoding.
+   */
+  public <P extends JsonParser, R extends SpecificRecord> Function<P, R> avroJacksonDecoder(
+      Class<R> recordClass) {
+    return shared("avroJacksonDecoder", recordClass, () -> AvroDecoders.jackson(recordClass));
+  }
+
+  /**
+   * @param schema Avro record schema
+   * @param <P>    Jackson JsonParser type
+   * @return A thread-safe function which reads an Avro record from a JsonParser, in its strict
+   * encoding.
+   */
+  public <P extends JsonParser> Function<P, GenericRecord> avroJacksonStrictDecoder(
+      Schema schema) {
+    return shared("avroJacksonStrictDecoder", schema, () -> AvroDecoders.jacksonStrict(schema));
+  }
+
+  /**
+   * @param recordClass Avro record class object
+   * @param <P>         Jackson JsonParser type
+   * @param <R>         Avro record type
+   * @return A thread-safe function which reads an Avro record from a JsonParser, in its strict
+   * encoding.
+   */
+  public <P extends JsonParser, R extends SpecificRecord> Function<P, R> avroJacksonStrictDecoder(
+      Class<R> recordClass) {
+    return shared("avroJacksonStrictDecoder",
+                  recordClass,
+                  () -> AvroDecoders.jacksonStrict(recordClass));
+  }
+
+  /**
+   * @param schema Avro record schema
+   * @return A thread-safe function which serializes an Avro record in its binary encoding
+   */
+  public Function<GenericRecord, byte[]> avroBinaryEncoder(Schema schema) {
+    return perThread("avroBinaryEncoder", schema, () -> AvroEncoders.binary(schema));
+  }
+
+  /**
+   * @param recordClass Avro record class object
+   * @param <R>         Avro record type
+   * @return A thread-safe function which serializes an Avro record in its binary encoding
+   */
+  public <R extends SpecificRecord> Function<R, byte[]> avroBinaryEncoder(Class<R> recordClass) {
+    return perThread("avroBinaryEncoder", recordClass, () -> AvroEncoders.binary(recordClass));
+  }
+
+  /**
+   * @param schema Avro record schema
+   * @return A thread-safe function which serializes an Avro record in its JSON encoding
+   */
+  public Function<GenericRecord, String> avroJsonEncoder(Schema schema) {
+    return perThread("avroJsonEncoder", schema, () -> AvroEncoders.json(schema));
+  }
+
+  /**
+   * @param recordClass Avro record class object
+   * @param <R>         Avro record type
+   * @return A thread-safe function which serializes an Avro record in its JSON encoding
+   */
+  public <R extends SpecificRecord> Function<R, String> avroJsonEncoder(Class<R> recordClass) {
+    return perThread("avroJsonEncoder", recordClass, () -> AvroEncoders.json(recordClass));
+  }
+
+  /**
+   * @param schema   Avro record schema
+   * @param supplier called for each new record serialization
+   * @param <G>      JsonGenerator type
+   * @return A thread-safe function which calls the supplier for a JsonGenerator object and writes
+   * the record into it, in compact form.
+   */
+  public <G extends JsonGenerator> Function<GenericRecord, G> avroJacksonEncoder(
+      Schema schema,
+      Supplier<G> supplier) {
+    return withGenerator(
+        shared("avroJacksonEncoder", schema,
+               () -> AvroEncoders.jackson(schema, currentGenerator::get)),
+        supplier);
+  }
+
+  /**
+   * @param recordClass Avro record class object
+   * @param supplier    called for each new record serialization
+   * @param <R>         Avro record type
+   * @param <G>         JsonGenerator type
+   * @return A thread-safe function which calls the supplier for a JsonGenerator object and writes
+   * the record into it, in compact form.
+   */
+  public <R extends SpecificRecord, G extends JsonGenerator> Function<R, G> avroJacksonEncoder(
+      Class<R> recordClass,
+      Supplier<G> supplier) {
+    return withGenerator(
+        shared("avroJacksonEncoder", recordClass,
+               () -> AvroEncoders.jackson(recordClass, currentGenerator::get)),
+        supplier);
+  }
+
+  /**
+   * @param schema   Avro record schema
+   * @param supplier called for each new record serialization
+   * @param <G>      JsonGenerator type
+   * @return A thread-safe function which calls the supplier for a JsonGenerator object and writes
+   * the record into it, in strict form.
+   */
+  public <G extends JsonGenerator> Function<GenericRecord, G> avroJacksonStrictEncoder(
+      Schema schema,
+      Supplier<G> supplier) {
+    return withGenerator(
+        shared("avroJacksonStrictEncoder", schema,
+               () -> AvroEncoders.jacksonStrict(schema, currentGenerator::get)),
+        supplier);
+  }
+
+  /**
+   * @param recordClass Avro record class object
+   * @param supplier    called for each new record serialization
+   * @param <R>         Avro record type
+   * @param <G>         JsonGenerator type
+   * @return A thread-safe function which calls the supplier for a JsonGenerator object and writes
+   * the record into it, in strict form.
+   */
+  public <R extends SpecificRecord, G extends JsonGenerator>
+  Function<R, G> avroJacksonStrictEncoder(
+      Class<R> recordClass,
+      Supplier<G> supplier) {
+    return withGenerator(
+        shared("avroJacksonStrictEncoder", recordClass,
+               () -> AvroEncoders.jacksonStrict(recordClass, currentGenerator::get)),
+        supplier);
+  }
+
+  /**
+   * @param recordClass Thrift record class object
+   * @param <T>         Thrift record type
+   * @return A thread-safe function which deserializes a Thrift record from its standard binary
+   * encoding
+   */
+  public <T extends TBase> Function<byte[], T> thriftBinaryDecoder(Class<T> recordClass) {
+    return perThread("thriftBinaryDecoder",
+                     recordClass,
+                     () -> ThriftDecoders.binary(Unchecked.supplier(recordClass::newInstance)));
+  }
+
+  /**
+   * @param recordClass Thrift record class object
+   * @param <T>         Thrift record type
+   * @return A thread-safe function which deserializes a Thrift record from its compact binary
+   * encoding
+   */
+  public <T extends TBase> Function<byte[], T> thriftCompactDecoder(Class<T> recordClass) {
+    return perThread("thriftCompactDecoder",
+                     recordClass,
+                     () -> ThriftDecoders.compact(Unchecked.supplier(recordClass::newInstance)));
+  }
+
+  /**
+   * @param recordClass Thrift record class object
+   * @param <T>         Thrift record type
+   * @return A thread-safe function which deserializes a Thrift record from its Thrift JSON encoding
+   */
+  public <T extends TBase> Function<byte[], T> thriftJsonDecoder(Class<T> recordClass) {
+    return perThread("thriftJsonDecoder",
+                     recordClass,
+                     () -> ThriftDecoders.json(Unchecked.supplier(recordClass::newInstance)));
+  }
+
+  /**
+   * @param recordClass Thrift record class object
+   * @param <P>         Jackson JsonParser type
+   * @param <T>         Thrift record type
+   * @return A thread-safe function which reads a Thrift record from a JsonParser, in its 'natural'
+   * encoding.
+   */
+  public <P extends JsonParser, T extends TBase> Function<P, T> thriftJacksonDecoder(
+      Class<T> recordClass) {
+    return shared("thriftJacksonDecoder", recordClass, () -> ThriftDecoders.jackson(recordClass));
+  }
+
+  /**
+   * @param recordClass Thrift record class object
+   * @param <P>         Jackson JsonParser type
+   * @param <T>         Thrift record type
+   * @return A thread-safe function which reads a Thrift record from a JsonParser, in its strict
+   * encoding.
+   */
+  public <P extends JsonParser, T extends TBase> Function<P, T> thriftJacksonStrictDecoder(
+      Class<T> recordClass) {
+    return shared("thriftJacksonStrictDecoder",
+                  recordClass,
+                  () -> ThriftDecoders.jacksonStrict(recordClass));
+  }
+
+  /**
+   * @param recordClass Thrift record class object
+   * @param <T>         Thrift record type
+   * @return A thread-safe function which serializes a Thrift record in its standard binary
+   * encoding
+   */
+  public <T extends TBase> Function<T, byte[]> thriftBinaryEncoder(Class<T> recordClass) {
+    return perThread("thriftBinaryEncoder", recordClass, ThriftEncoders::binary);
+  }
+
+  /**
+   * @param recordClass Thrift record class object
+   * @param <T>         Thrift record type
+   * @return A thread-safe function which serializes a Thrift record in its compact binary encoding
+   */
+  public <T extends TBase> Function<T, byte[]> thriftCompactEncoder(Class<T> recordClass) {
+    return perThread("thriftCompactEncoder", recordClass, ThriftEncoders::compact);
+  }
+
+  /**
+   * @param recordClass Thrift record class object
+   * @param <T>         Thrift record type
+   * @return A thread-safe function which serializes a Thrift record in its Thrift JSON encoding
+   */
+  public <T extends TBase> Function<T, byte[]> thriftJsonEncoder(Class<T> recordClass) {
+    return perThread("thriftJsonEncoder", recordClass, ThriftEncoders::json);
+  }
+
+  /**
+   * @param recordClass Thrift record class object
+   * @param supplier    called for each new record serialization
+   * @param <T>         Thrift record type
+   * @param <G>         JsonGenerator type
+   * @return A thread-safe function which calls the supplier for a JsonGenerator object and writes
+   * the record into it, in compact form.
+   */
+  public <T extends TBase, G extends JsonGenerator> Function<T, G> thriftJacksonEncoder(
+      Class<T> recordClass,
+      Supplier<G> supplier) {
+    return withGenerator(
+        shared("thriftJacksonEncoder", recordClass,
+               () -> ThriftEncoders.jackson(recordClass, currentGenerator::get)),
+        supplier);
+  }
+
+  /**
+   * @param recordClass Thrift record class object
+   * @param supplier    called for each new record serialization
+   * @param <T>         Thrift record type
+   * @param <G>         JsonGenerator type
+   * @return A thread-safe function which calls the supplier for a JsonGenerator object and writes
+   * the record into it, in strict form.
+   */
+  public <T extends TBase, G extends JsonGenerator> Function<T, G> thriftJacksonStrictEncoder(
+      Class<T> recordClass,
+      Supplier<G> supplier) {
+    return withGenerator(
+        shared("thriftJacksonStrictEncoder", recordClass,
+               () -> ThriftEncoders.jacksonStrict(recordClass, currentGenerator::get)),
+        supplier);
+  }
+
+  /**
+   * @param recordClass Protobuf record class object
+   * @param <R>         Protobuf record type
+   * @return A thread-safe function which deserializes a Protobuf record from its binary encoding
+   */
+  public <R extends Message> Function<byte[], R> protobufBinaryDecoder(Class<R> recordClass) {
+    return shared("protobufBinaryDecoder", recordClass, () -> ProtobufDecoders.binary(recordClass));
+  }
+
+  /**
+   * @param recordClass Protobuf record class object
+   * @param <P>         Jackson JsonParser type
+   * @param <R>         Protobuf record type
+   * @return A thread-safe function which reads a Protobuf record from a JsonParser, in its
+   * 'natural' encoding.
+   */
+  public <P extends JsonParser, R extends Message> Function<P, R> protobufJacksonDecoder(
+      Class<R> recordClass) {
+    return shared("protobufJacksonDecoder",
+                  recordClass,
+                  () -> ProtobufDecoders.jackson(recordClass));
+  }
+
+  /**
+   * @param recordClass Protobuf record class object
+   * @param <P>         Jackson JsonParser type
+   * @param <R>         Protobuf record type
+   * @return A thread-safe function which reads a Protobuf record from a JsonParser, in its strict
+   * encoding.
+   */
+  public <P extends JsonParser, R extends Message> Function<P, R> protobufJacksonStrictDecoder(
+      Class<R> recordClass) {
+    return shared("protobufJacksonStrictDecoder",
+                  recordClass,
+                  () -> ProtobufDecoders.jacksonStrict(recordClass));
+  }
+
+  /**
+   * @param recordClass Protobuf record class object
+   * @param <R>         Protobuf record type
+   * @return A thread-safe function which serializes a Protobuf record in its binary encoding
+   */
+  public <R extends Message> Function<R, byte[]> protobufBinaryEncoder(Class<R> recordClass) {
+    return shared("protobufBinaryEncoder", recordClass, ProtobufEncoders::binary);
+  }
+
+  /**
+   * @param recordClass Protobuf record class object
+   * @param supplier    called for each new record serialization
+   * @param <R>         Protobuf record type
+   * @param <G>         JsonGenerator type
+   * @return A thread-safe function which calls the supplier for a JsonGenerator object and writes
+   * the record into it, in compact form.
+   */
+  public <R extends Message, G extends JsonGenerator> Function<R, G> protobufJacksonEncoder(
+      Class<R> recordClass,
+      Supplier<G> supplier) {
+    return withGenerator(
+        shared("protobufJacksonEncoder", recordClass,
+               () -> ProtobufEncoders.jackson(recordClass, currentGenerator::get)),
+        supplier);
+  }
+
+  /**
+   * @param recordClass Protobuf record class object
+   * @param supplier    called for each new record serialization
+   * @param <R>         Protobuf record type
+   * @param <G>         JsonGenerator type
+   * @return A thread-safe function which calls the supplier for a JsonGenerator object and writes
+   * the record into it, in strict form.
+   */
+  public <R extends Message, G extends JsonGenerator> Function<R, G> protobufJacksonStrictEncoder(
+      Class<R> recordClass,
+      Supplier<G> supplier) {
+    return withGenerator(
+        shared("protobufJacksonStrictEncoder", recordClass,
+               () -> ProtobufEncoders.jacksonStrict(recordClass, currentGenerator::get)),
+        supplier);
+  }
+
+  /**
+   * Returns the cached function, compiling it first if necessary. The function must be
+   * thread-safe.
+   */
+  @SuppressWarnings("unchecked")
+  private <I, O> Function<I, O> shared(
+      String codec,
+      Object type,
+      Supplier<? extends Function<?, ?>> factory) {
+    return (Function<I, O>) cache.computeIfAbsent(new Key(codec, type), __ -> factory.get());
+  }
+
+  /**
+   * Returns the cached function, which delegates to a separate instance of the function provided
+   * by the factory in each thread.
+   */
+  @SuppressWarnings("unchecked")
+  private <I, O> Function<I, O> perThread(
+      String codec,
+      Object type,
+      Supplier<? extends Function<?, ?>> factory) {
+    return (Function<I, O>) cache.computeIfAbsent(new Key(codec, type), __ -> {
+      final ThreadLocal<Function<I, O>> instances =
+          ThreadLocal.withInitial(() -> (Function<I, O>) factory.get());
+      instances.get();
+      return (I in) -> instances.get().apply(in);
+    });
+  }
+
+  static private <R, G extends JsonGenerator> Function<R, G> withGenerator(
+      Function<R, JsonGenerator> encoder,
+      Supplier<G> supplier) {
+    return (R record) -> {
+      final G jacksonGenerator = supplier.get();
+      final JsonGenerator previous = currentGenerator.get();
+      currentGenerator.set(jacksonGenerator);
+      try {
+        encoder.apply(record);
+      } finally {
+        currentGenerator.set(previous);
+      }
+      return jacksonGenerator;
+    };
+  }
+
+  static final private class Key {
+
+    final String codec;
+    final Object type;
+
+    Key(String codec, Object type) {
+      this.codec = codec;
+      this.type = Objects.requireNonNull(type);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      final Key other = (Key) o;
+      return codec.equals(other.codec) && type.equals(other.type);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * codec.hashCode() + type.hashCode();
+    }
+  }
+}
@@ -0,0 +1,149 @@
+package com.adgear.anoa;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A batch of serialized records, laid out contiguously in a single byte array. Records are
+ * delimited by an array of offsets, and may each be preceded by a length prefix, in which case the
+ * byte array can be handed over as-is to consumers which expect length-delimited records.
+ *
+ * <p>Length prefixes are 4-byte big-endian integers, in the manner of {@link
+ * java.io.DataOutput#writeInt(int)}. Frame {@code i} spans {@code [frameOffset(i),
+ * frameOffset(i + 1))} and consists of the optional prefix followed by the record.
+ *
+ * <p>Instances do not copy the arrays they are constructed with, which must therefore not be
+ * modified afterwards.
+ */
+final public class EncodedBatch {
+
+  static final public int PREFIX_LENGTH = 4;
+
+  final private byte[] bytes;
+  final private int[] offsets;
+  final private int prefixLength;
+
+  /**
+   * @param bytes            serialized records
+   * @param offsets          frame offsets, followed by the end offset of the last frame
+   * @param isLengthPrefixed whether each record is preceded by its length
+   */
+  public EncodedBatch(byte[] bytes, int[] offsets, boolean isLengthPrefixed) {
+    if (offsets.length == 0 || offsets[offsets.length - 1] > bytes.length) {
+      throw new IllegalArgumentException("Invalid batch offsets.");
+    }
+    this.bytes = bytes;
+    this.offsets = offsets;
+    this.prefixLength = isLengthPrefixed ? PREFIX_LENGTH : 0;
+  }
+
+  /**
+   * Delimits the records in a sequence of length-prefixed records.
+   *
+   * @param bytes  contains the length-prefixed records
+   * @param offset position of the first length prefix
+   * @param length total length of the length-prefixed records
+   * @return a batch of the records in the sequence
+   * @throws IllegalArgumentException when a record overruns the sequence
+   */
+  static public EncodedBatch ofLengthPrefixed(byte[] bytes, int offset, int length) {
+    final int end = offset + length;
+    int[] offsets = new int[16];
+    int n = 0;
+    int position = offset;
+    while (true) {
+      if (n == offsets.length) {
+        offsets = Arrays.copyOf(offsets, 2 * n);
+      }
+      offsets[n++] = position;
+      if (position == end) {
+        break;
+      }
+      if (end - position < PREFIX_LENGTH) {
+        throw new IllegalArgumentException("Truncated length prefix at " + position);
+      }
+      final int recordLength = getInt(bytes, position);
+      if (recordLength < 0 || end - position - PREFIX_LENGTH < recordLength) {
+        throw new IllegalArgumentException("Invalid record length at " + position);
+      }
+      position += PREFIX_LENGTH + recordLength;
+    }
+    return new EncodedBatch(bytes, Arrays.copyOf(offsets, n), true);
+  }
+
+  static private int getInt(byte[] bytes, int position) {
+    return ((bytes[position] & 0xFF) << 24)
+           | ((bytes[position + 1] & 0xFF) << 16)
+           | ((bytes[position + 2] & 0xFF) << 8)
+           | (bytes[position + 3] & 0xFF);
+  }
+
+  /**
+   * @return the backing array, which must not be modified
+   */
+  public byte[] bytes() {
+    return bytes;
+  }
+
+  /**
+   * @return number of records in the batch
+   */
+  public int size() {
+    return offsets.length - 1;
+  }
+
+  /**
+   * @return whether each record is preceded by its length
+   */
+  public boolean isLengthPrefixed() {
+    return prefixLength > 0;
+  }
+
+  /**
+   * @param i index of the frame, or {@link #size()} for the end of the last frame
+   * @return offset in the backing array at which the frame begins
+   */
+  public int frameOffset(int i) {
+    return offsets[i];
+  }
+
+  /**
+   * @param i index of the record
+   * @return offset in the backing array at which the record begins, past its length prefix
+   */
+  public int offset(int i) {
+    checkIndex(i);
+    return offsets[i] + prefixLength;
+  }
+
+  /**
+   * @param i index of the record
+   * @return length of the record, excluding its length prefix
+   */
+  public int length(int i) {
+    checkIndex(i);
+    return offsets[i + 1] - offsets[i] - prefixLength;
+  }
+
+  /**
+   * @param i index of the record
+   * @return a read-only view of the record, excluding its length prefix
+   */
+  public ByteBuffer get(int i) {
+    return ByteBuffer.wrap(bytes, offset(i), length(i)).slice().asReadOnlyBuffer();
+  }
+
+  /**
+   * @return a read-only view of all frames in the batch
+   */
+  public ByteBuffer asReadOnlyByteBuffer() {
+    return ByteBuffer.wrap(bytes, offsets[0], offsets[size()] - offsets[0]).slice()
+        .asReadOnlyBuffer();
+  }
+
+  private void checkIndex(int i) {
+    if (i < 0 || i >= size()) {
+      throw new IndexOutOfBoundsException("Record index " + i + " out of bounds for " + size());
+    }
+  }
+}
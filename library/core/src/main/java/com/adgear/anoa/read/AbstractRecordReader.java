@@ -5,14 +5,14 @@ import com.adgear.anoa.AnoaHandler;
 import com.adgear.anoa.AnoaJacksonTypeException;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
-import com.fasterxml.jackson.core.TreeNode;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -22,15 +22,22 @@ import java.util.stream.Stream;
 abstract class AbstractRecordReader<R, F extends FieldWrapper>
     extends AbstractReader<R> {
 
-  final private Map<String, Optional<F>> fieldLookUp;
+  final private FieldLookUp fieldLookUp;
+  final private SerializableString[] expectedFieldNames;
   final protected List<F> fieldWrappers;
 
   protected AbstractRecordReader(Stream<F> fieldWrappers) {
-    this.fieldLookUp = new HashMap<>();
+    final Map<String, Integer> lookUp = new HashMap<>();
     this.fieldWrappers = fieldWrappers.collect(Collectors.toList());
-    this.fieldWrappers.forEach(
-        fw -> fw.getNames().flatMap(AbstractRecordReader::fieldNames).forEach(
-            name -> fieldLookUp.put(name, Optional.of(fw))));
+    this.expectedFieldNames = new SerializableString[this.fieldWrappers.size()];
+    for (int i = 0; i < expectedFieldNames.length; i++) {
+      final int index = i;
+      final F fw = this.fieldWrappers.get(index);
+      expectedFieldNames[index] = new SerializedString(fw.getNames().findFirst().get());
+      fw.getNames().flatMap(AbstractRecordReader::fieldNames).forEach(
+          name -> lookUp.put(name.intern(), index));
+    }
+    this.fieldLookUp = new FieldLookUp(lookUp);
   }
 
   final <P extends JsonParser> Function<P, R> decoder() {
@@ -65,33 +72,24 @@ abstract class AbstractRecordReader<R, F extends FieldWrapper>
 
   final Stream<R> stream(
       JsonParser jacksonParser) {
-    return LookAheadIteratorFactory.jackson(jacksonParser).asStream()
-        .map(TreeNode::traverse)
-        .map(decoder());
+    return LookAheadIteratorFactory.jackson(jacksonParser, this, false).asStream();
   }
 
-
   final Stream<R> streamStrict(
       JsonParser jacksonParser) {
-    return LookAheadIteratorFactory.jackson(jacksonParser).asStream()
-        .map(TreeNode::traverse)
-        .map(decoderStrict());
+    return LookAheadIteratorFactory.jackson(jacksonParser, this, true).asStream();
   }
 
   final <M> Stream<Anoa<R, M>> stream(
       AnoaHandler<M> anoaHandler,
       JsonParser jacksonParser) {
-    return LookAheadIteratorFactory.jackson(anoaHandler, jacksonParser).asStream()
-        .map(anoaHandler.function(TreeNode::traverse))
-        .map(decoder(anoaHandler));
+    return LookAheadIteratorFactory.jackson(anoaHandler, jacksonParser, this, false).asStream();
   }
 
   final <M> Stream<Anoa<R, M>> streamStrict(
       AnoaHandler<M> anoaHandler,
       JsonParser jacksonParser) {
-    return LookAheadIteratorFactory.jackson(anoaHandler, jacksonParser).asStream()
-        .map(anoaHandler.function(TreeNode::traverse))
-        .map(decoderStrict(anoaHandler));
+    return LookAheadIteratorFactory.jackson(anoaHandler, jacksonParser, this, true).asStream();
   }
 
   private R readRecord(JsonParser jacksonParser) throws IOException {
@@ -109,23 +107,7 @@ abstract class AbstractRecordReader<R, F extends FieldWrapper>
   @Override
   final protected R read(JsonParser jacksonParser) throws IOException {
     if (jacksonParser.getCurrentToken() == JsonToken.START_OBJECT) {
-      final RecordWrapper<R, F> recordWrapper = newWrappedInstance();
-      doMap(jacksonParser, (fieldName, p) -> {
-        final Optional<F> maybeFieldWrapper = fieldLookUp.get(fieldName);
-        if (maybeFieldWrapper != null && maybeFieldWrapper.isPresent()) {
-          final F fieldWrapper = maybeFieldWrapper.get();
-          Object value = fieldWrapper.getReader().read(p);
-          if (!fieldWrapper.equalsDefaultValue(value)) {
-            recordWrapper.put(fieldWrapper, value);
-          }
-        } else {
-          if (maybeFieldWrapper == null) {
-            fieldLookUp.put(fieldName, Optional.empty());
-          }
-          gobbleValue(p);
-        }
-      });
-      return recordWrapper.get();
+      return readFields(jacksonParser, false);
     } else {
       gobbleValue(jacksonParser);
       return null;
@@ -139,25 +121,66 @@ abstract class AbstractRecordReader<R, F extends FieldWrapper>
       case VALUE_NULL:
         return null;
       case START_OBJECT:
-        final RecordWrapper<R, F> recordWrapper = newWrappedInstance();
-        doMap(jacksonParser, (fieldName, p) -> {
-          final Optional<F> maybeFieldWrapper = fieldLookUp.get(fieldName);
-          if (maybeFieldWrapper != null && maybeFieldWrapper.isPresent()) {
-            final F fieldWrapper = maybeFieldWrapper.get();
-            recordWrapper.put(fieldWrapper, fieldWrapper.getReader().readStrict(p));
-          } else {
-            if (maybeFieldWrapper == null) {
-              fieldLookUp.put(fieldName, Optional.<F>empty());
-            }
-            gobbleValue(p);
-          }
-        });
-        return recordWrapper.get();
+        return readFields(jacksonParser, true);
       default:
         throw new AnoaJacksonTypeException("Token is not '{': " + jacksonParser.getCurrentToken());
     }
   }
 
+  /**
+   * Reads the fields of a JSON object into a new record. Field names are first matched against
+   * the name of the field expected to come next in declaration order, which is the order in which
+   * anoa's writers serialize records, before falling back to a look-up by name. The former
+   * comparison is performed by the parser on the raw input and does not require the field name to
+   * be decoded.
+   */
+  private R readFields(JsonParser jacksonParser, boolean strict) throws IOException {
+    final RecordWrapper<R, F> recordWrapper = newWrappedInstance();
+    int expected = 0;
+    while (true) {
+      final int index;
+      if (expected < expectedFieldNames.length
+          && jacksonParser.nextFieldName(expectedFieldNames[expected])) {
+        index = expected;
+      } else {
+        final JsonToken token = (expected < expectedFieldNames.length)
+                                ? jacksonParser.getCurrentToken()
+                                : jacksonParser.nextToken();
+        if (token == JsonToken.END_OBJECT) {
+          return recordWrapper.get();
+        } else if (token != JsonToken.FIELD_NAME) {
+          throw new IOException("Expected object field name, not " + token);
+        }
+        index = fieldLookUp.get(jacksonParser.getCurrentName());
+      }
+      final JsonToken valueToken = jacksonParser.nextToken();
+      if (valueToken == null) {
+        throw new IOException("Expected object value, not end of input");
+      }
+      switch (valueToken) {
+        case END_ARRAY:
+        case END_OBJECT:
+        case FIELD_NAME:
+        case NOT_AVAILABLE:
+          throw new IOException("Expected object value, not " + valueToken);
+      }
+      if (index == FieldLookUp.UNKNOWN_FIELD) {
+        gobbleValue(jacksonParser);
+        continue;
+      }
+      expected = index + 1;
+      final F fieldWrapper = fieldWrappers.get(index);
+      if (strict) {
+        recordWrapper.put(fieldWrapper, fieldWrapper.getReader().readStrict(jacksonParser));
+      } else {
+        final Object value = fieldWrapper.getReader().read(jacksonParser);
+        if (!fieldWrapper.equalsDefaultValue(value)) {
+          recordWrapper.put(fieldWrapper, value);
+        }
+      }
+    }
+  }
+
   static private Stream<String> fieldNames(String name) {
     Pattern camelCasePattern = Pattern.compile("_(.)");
     Matcher camelCaseMatcher = camelCasePattern.matcher(name);
@@ -0,0 +1,88 @@
+package com.adgear.anoa.read;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * Record-offset index of an Avro container file, as written alongside it by {@code
+ * AvroConsumers.batch(schema, file, indexInterval)}. The index is a sequence of pairs of big-endian
+ * longs, each pair holding the number of a record and the offset of the block starting with it. The
+ * last pair holds the total record count and the file length.
+ */
+final public class AvroBatchIndex {
+
+  /**
+   * Appended to the path of an Avro container file to obtain the path of its index.
+   */
+  static final public String INDEX_SUFFIX = ".index";
+
+  final private long[] records;
+  final private long[] offsets;
+
+  private AvroBatchIndex(long[] records, long[] offsets) {
+    this.records = records;
+    this.offsets = offsets;
+  }
+
+  /**
+   * @param file Avro container file
+   * @return the index of the file, or null if it has none or if it does not match the file length
+   */
+  static AvroBatchIndex read(File file) {
+    final File indexFile = new File(file.getPath() + INDEX_SUFFIX);
+    final long length = indexFile.length();
+    if (length < 16L || length % 16L != 0L || length / 16L > Integer.MAX_VALUE) {
+      return null;
+    }
+    final int n = (int) (length / 16L);
+    final long[] records = new long[n];
+    final long[] offsets = new long[n];
+    try (DataInputStream in = new DataInputStream(
+        new BufferedInputStream(new FileInputStream(indexFile)))) {
+      for (int i = 0; i < n; i++) {
+        records[i] = in.readLong();
+        offsets[i] = in.readLong();
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return (offsets[n - 1] == file.length()) ? new AvroBatchIndex(records, offsets) : null;
+  }
+
+  /**
+   * @return exact number of records in the file
+   */
+  long count() {
+    return records[records.length - 1];
+  }
+
+  /**
+   * @param record record number
+   * @return position of the last entry starting at or before the record
+   */
+  int entry(long record) {
+    final int i = Arrays.binarySearch(records, record);
+    return (i >= 0) ? i : Math.max(0, -i - 2);
+  }
+
+  /**
+   * @param entry entry position
+   * @return number of the first record in the entry's block
+   */
+  long record(int entry) {
+    return records[entry];
+  }
+
+  /**
+   * @param entry entry position
+   * @return offset of the entry's block, suitable for {@code DataFileReader#seek(long)}
+   */
+  long offset(int entry) {
+    return offsets[entry];
+  }
+}
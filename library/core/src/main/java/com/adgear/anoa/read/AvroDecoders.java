@@ -2,6 +2,7 @@ package com.adgear.anoa.read;
 
 import com.adgear.anoa.Anoa;
 import com.adgear.anoa.AnoaHandler;
+import com.adgear.anoa.EncodedBatch;
 import com.fasterxml.jackson.core.JsonParser;
 
 import org.apache.avro.Schema;
@@ -16,8 +17,14 @@ import org.apache.avro.specific.SpecificRecord;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Utility class for generating functions for deserializing Avro records. Unless specified
@@ -178,6 +185,91 @@ final public class AvroDecoders {
     return binary(anoaHandler, new SpecificDatumReader<>(recordClass));
   }
 
+  /**
+   * @param schema Avro record schema
+   * @return A function which deserializes an Avro record from its binary encoding into the record
+   * it returned previously, along with its nested records, arrays, maps and strings. Each record is
+   * therefore only valid until the next call, and must not be retained by the caller.
+   */
+  static public Function<byte[], GenericRecord> binaryReusing(
+      Schema schema) {
+    return binaryReusing(new GenericDatumReader<>(schema));
+  }
+
+  /**
+   * @param recordClass Avro SpecificRecord class object
+   * @param <R>         Avro SpecificRecord record type
+   * @return A function which deserializes an Avro record from its binary encoding into the record
+   * it returned previously, along with its nested records, arrays, maps and strings. Each record is
+   * therefore only valid until the next call, and must not be retained by the caller.
+   */
+  static public <R extends SpecificRecord> Function<byte[], R> binaryReusing(
+      Class<R> recordClass) {
+    return binaryReusing(new SpecificDatumReader<>(recordClass));
+  }
+
+  static <R extends IndexedRecord> Function<byte[], R> binaryReusing(
+      GenericDatumReader<R> reader) {
+    BinaryDecoderWrapper decoderWrapper = new BinaryDecoderWrapper();
+    return new Function<byte[], R>() {
+      private R previous = null;
+
+      @Override
+      public R apply(byte[] in) {
+        try {
+          previous = reader.read(previous, decoderWrapper.getDecoder(in));
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+        return previous;
+      }
+    };
+  }
+
+  /**
+   * @param schema Avro record schema
+   * @return A function which lazily deserializes each Avro record in a batch from its binary
+   * encoding, without copying it out of the batch.
+   * @see EncodedBatch
+   */
+  static public Function<EncodedBatch, Stream<GenericRecord>> binaryBatch(
+      Schema schema) {
+    return binaryBatch(new GenericDatumReader<>(schema));
+  }
+
+  /**
+   * @param recordClass Avro SpecificRecord class object
+   * @param <R>         Avro SpecificRecord record type
+   * @return A function which lazily deserializes each Avro record in a batch from its binary
+   * encoding, without copying it out of the batch.
+   * @see EncodedBatch
+   */
+  static public <R extends SpecificRecord> Function<EncodedBatch, Stream<R>> binaryBatch(
+      Class<R> recordClass) {
+    return binaryBatch(new SpecificDatumReader<>(recordClass));
+  }
+
+  /**
+   * Each batch is decoded by its own decoder, through an iterator such that the records are decoded
+   * one at a time even when the stream is parallel.
+   */
+  static <R extends IndexedRecord> Function<EncodedBatch, Stream<R>> binaryBatch(
+      GenericDatumReader<R> reader) {
+    return (EncodedBatch batch) -> {
+      final BinaryDecoderWrapper decoderWrapper = new BinaryDecoderWrapper();
+      final Iterator<R> iterator = IntStream.range(0, batch.size()).mapToObj(i -> {
+        try {
+          return reader.read(null, decoderWrapper.getDecoder(
+              batch.bytes(), batch.offset(i), batch.length(i)));
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }).iterator();
+      return StreamSupport.stream(
+          Spliterators.spliterator(iterator, batch.size(), Spliterator.ORDERED), false);
+    };
+  }
+
   static <R extends IndexedRecord> Function<byte[], R> binary(
       GenericDatumReader<R> reader,
       Supplier<R> supplier) {
@@ -415,6 +507,18 @@ final public class AvroDecoders {
     return new AvroReader.GenericReader(schema).decoder();
   }
 
+  /**
+   * @param schema     Avro record schema
+   * @param validation validation level for decoded records
+   * @param <P>        Jackson JsonParser type
+   * @return A function which reads an Avro record from a JsonParser, in its 'natural' encoding.
+   */
+  static public <P extends JsonParser> Function<P, GenericRecord> jackson(
+      Schema schema,
+      AvroValidation validation) {
+    return new AvroReader.GenericReader(schema, validation).decoder();
+  }
+
   /**
    * @param schema Avro record schema
    * @param <P>    Jackson JsonParser type
@@ -426,6 +530,19 @@ final public class AvroDecoders {
     return new AvroReader.GenericReader(schema).decoderStrict();
   }
 
+  /**
+   * @param schema     Avro record schema
+   * @param validation validation level for decoded records
+   * @param <P>        Jackson JsonParser type
+   * @return A function which reads an Avro record from a JsonParser, in its 'natural' encoding,
+   * with strictest possible type checking.
+   */
+  static public <P extends JsonParser> Function<P, GenericRecord> jacksonStrict(
+      Schema schema,
+      AvroValidation validation) {
+    return new AvroReader.GenericReader(schema, validation).decoderStrict();
+  }
+
   /**
    * @param anoaHandler {@code AnoaHandler} instance to use for exception handling
    * @param schema      Avro record Schema
@@ -440,6 +557,22 @@ final public class AvroDecoders {
     return new AvroReader.GenericReader(schema).decoder(anoaHandler);
   }
 
+  /**
+   * @param anoaHandler {@code AnoaHandler} instance to use for exception handling
+   * @param schema      Avro record Schema
+   * @param validation  validation level for decoded records
+   * @param <P>         Jackson JsonParser type
+   * @param <M>         Metadata type
+   * @return A function which reads an Avro record from a JsonParser, in its 'natural' encoding.
+   */
+  static public <P extends JsonParser, M>
+  Function<Anoa<P, M>, Anoa<GenericRecord, M>> jackson(
+      AnoaHandler<M> anoaHandler,
+      Schema schema,
+      AvroValidation validation) {
+    return new AvroReader.GenericReader(schema, validation).decoder(anoaHandler);
+  }
+
   /**
    * @param anoaHandler {@code AnoaHandler} instance to use for exception handling
    * @param schema      Avro record Schema
@@ -455,6 +588,23 @@ final public class AvroDecoders {
     return new AvroReader.GenericReader(schema).decoderStrict(anoaHandler);
   }
 
+  /**
+   * @param anoaHandler {@code AnoaHandler} instance to use for exception handling
+   * @param schema      Avro record Schema
+   * @param validation  validation level for decoded records
+   * @param <P>         Jackson JsonParser type
+   * @param <M>         Metadata type
+   * @return A function which reads an Avro record from a JsonParser, in its 'natural' encoding,
+   * with strictest possible type checking.
+   */
+  static public <P extends JsonParser, M>
+  Function<Anoa<P, M>, Anoa<GenericRecord, M>> jacksonStrict(
+      AnoaHandler<M> anoaHandler,
+      Schema schema,
+      AvroValidation validation) {
+    return new AvroReader.GenericReader(schema, validation).decoderStrict(anoaHandler);
+  }
+
   /**
    * @param recordClass Avro SpecificRecord class object
    * @param <P>         Jackson JsonParser type
@@ -466,6 +616,19 @@ final public class AvroDecoders {
     return new AvroReader.SpecificReader<>(recordClass).decoder();
   }
 
+  /**
+   * @param recordClass Avro SpecificRecord class object
+   * @param validation  validation level for decoded records
+   * @param <P>         Jackson JsonParser type
+   * @param <R>         Avro SpecificRecord record type
+   * @return A function which reads an Avro record from a JsonParser, in its 'natural' encoding
+   */
+  static public <P extends JsonParser, R extends SpecificRecord> Function<P, R> jackson(
+      Class<R> recordClass,
+      AvroValidation validation) {
+    return new AvroReader.SpecificReader<>(recordClass, validation).decoder();
+  }
+
   /**
    * @param recordClass Avro SpecificRecord class object
    * @param <P>         Jackson JsonParser type
@@ -478,6 +641,20 @@ final public class AvroDecoders {
     return new AvroReader.SpecificReader<>(recordClass).decoderStrict();
   }
 
+  /**
+   * @param recordClass Avro SpecificRecord class object
+   * @param validation  validation level for decoded records
+   * @param <P>         Jackson JsonParser type
+   * @param <R>         Avro SpecificRecord record type
+   * @return A function which reads an Avro record from a JsonParser, in its 'natural' encoding,
+   * with strictest possible type checking.
+   */
+  static public <P extends JsonParser, R extends SpecificRecord> Function<P, R> jacksonStrict(
+      Class<R> recordClass,
+      AvroValidation validation) {
+    return new AvroReader.SpecificReader<>(recordClass, validation).decoderStrict();
+  }
+
   /**
    * @param anoaHandler {@code AnoaHandler} instance to use for exception handling
    * @param recordClass Avro SpecificRecord class object
@@ -493,6 +670,23 @@ final public class AvroDecoders {
     return new AvroReader.SpecificReader<>(recordClass).decoder(anoaHandler);
   }
 
+  /**
+   * @param anoaHandler {@code AnoaHandler} instance to use for exception handling
+   * @param recordClass Avro SpecificRecord class object
+   * @param validation  validation level for decoded records
+   * @param <P>         Jackson JsonParser type
+   * @param <R>         Avro SpecificRecord record type
+   * @param <M>         Metadata type
+   * @return A function which reads an Avro record from a JsonParser, in its 'natural' encoding
+   */
+  static public <P extends JsonParser, R extends SpecificRecord, M>
+  Function<Anoa<P, M>, Anoa<R, M>> jackson(
+      AnoaHandler<M> anoaHandler,
+      Class<R> recordClass,
+      AvroValidation validation) {
+    return new AvroReader.SpecificReader<>(recordClass, validation).decoder(anoaHandler);
+  }
+
   /**
    * @param anoaHandler {@code AnoaHandler} instance to use for exception handling
    * @param recordClass Avro SpecificRecord class object
@@ -509,6 +703,24 @@ final public class AvroDecoders {
     return new AvroReader.SpecificReader<>(recordClass).decoderStrict(anoaHandler);
   }
 
+  /**
+   * @param anoaHandler {@code AnoaHandler} instance to use for exception handling
+   * @param recordClass Avro SpecificRecord class object
+   * @param validation  validation level for decoded records
+   * @param <P>         Jackson JsonParser type
+   * @param <R>         Avro SpecificRecord record type
+   * @param <M>         Metadata type
+   * @return A function which reads an Avro record from a JsonParser, in its 'natural' encoding,
+   * with strictest possible type checking.
+   */
+  static public <P extends JsonParser, R extends SpecificRecord, M>
+  Function<Anoa<P, M>, Anoa<R, M>> jacksonStrict(
+      AnoaHandler<M> anoaHandler,
+      Class<R> recordClass,
+      AvroValidation validation) {
+    return new AvroReader.SpecificReader<>(recordClass, validation).decoderStrict(anoaHandler);
+  }
+
   static protected class BinaryDecoderWrapper {
 
     protected BinaryDecoder decoder = null;
@@ -517,5 +729,10 @@ final public class AvroDecoders {
       decoder = DecoderFactory.get().binaryDecoder(bytes, decoder);
       return decoder;
     }
+
+    protected BinaryDecoder getDecoder(byte[] bytes, int offset, int length) {
+      decoder = DecoderFactory.get().binaryDecoder(bytes, offset, length, decoder);
+      return decoder;
+    }
   }
 }
@@ -3,6 +3,7 @@ package com.adgear.anoa.read;
 import org.apache.avro.AvroRuntimeException;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.IndexedRecord;
 import org.apache.avro.io.BinaryDecoder;
 import org.apache.avro.io.BinaryEncoder;
 import org.apache.avro.io.DecoderFactory;
@@ -16,22 +17,40 @@ import org.codehaus.jackson.node.NullNode;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 import java.util.stream.Stream;
 
 
 class AvroFieldWrapper implements FieldWrapper {
 
+  static final private Predicate<Object> NOT_NULL = Objects::nonNull;
+
   final int index;
   final Schema.Field field;
   final boolean unboxed;
   final private Object defaultValue;
+  final private UnaryOperator<Object> defaultValueCloner;
   final AbstractReader<?> reader;
+  final private Predicate<Object> validator;
 
-  AvroFieldWrapper(int index, Schema.Field field) {
+  /**
+   * @param index      field index in record
+   * @param field      Avro record field
+   * @param validation validation level for records nested in this field
+   */
+  AvroFieldWrapper(int index, Schema.Field field, AvroValidation validation) {
     this.index = index;
     this.field = field;
-    this.reader = createReader(field.schema());
+    this.reader = createReader(field.schema(), validation);
     this.defaultValue = readDefaultValue(field);
+    this.defaultValueCloner = (defaultValue == null) ? null : createCloner(field.schema());
     switch (field.schema().getType()) {
       case INT:
       case LONG:
@@ -43,6 +62,7 @@ class AvroFieldWrapper implements FieldWrapper {
       default:
         this.unboxed = false;
     }
+    this.validator = unboxed ? null : createValidator(field.schema());
   }
 
   @Override
@@ -56,10 +76,10 @@ class AvroFieldWrapper implements FieldWrapper {
   }
 
   @SuppressWarnings("unchecked")
-  static private AbstractReader<?> createReader(Schema schema) {
+  static private AbstractReader<?> createReader(Schema schema, AvroValidation validation) {
     switch (schema.getType()) {
       case ARRAY:
-        return new ListReader(createReader(schema.getElementType()),
+        return new ListReader(createReader(schema.getElementType(), validation),
                               () -> new GenericData.Array(0, schema));
       case BOOLEAN:
         return new BooleanReader();
@@ -81,25 +101,172 @@ class AvroFieldWrapper implements FieldWrapper {
       case LONG:
         return new LongReader();
       case MAP:
-        return new MapReader(createReader(schema.getValueType()), Utf8::new);
+        return new MapReader(createReader(schema.getValueType(), validation), Utf8::new);
       case RECORD:
         final Class<? extends SpecificRecord> recordClass = SpecificData.get().getClass(schema);
         return (recordClass == null)
-               ? new AvroReader.GenericReader(schema)
-               : new AvroReader.SpecificReader<>(recordClass);
+               ? new AvroReader.GenericReader(schema, validation)
+               : new AvroReader.SpecificReader<>(recordClass, validation);
       case STRING:
         return new StringReader(Utf8::new);
       case UNION:
         if (schema.getTypes().size() == 2) {
           return createReader(schema.getTypes().get(
-              (schema.getTypes().get(0).getType() == Schema.Type.NULL) ? 1 : 0));
+              (schema.getTypes().get(0).getType() == Schema.Type.NULL) ? 1 : 0), validation);
         }
     }
     throw new RuntimeException("Unsupported Avro schema: " + schema);
   }
 
+  /**
+   * Builds a predicate for the values of a schema, which checks only those invariants which might
+   * be broken by the readers created in {@link #createReader(Schema, AvroValidation)}.
+   *
+   * @return null if all values are valid
+   */
+  static private Predicate<Object> createValidator(Schema schema) {
+    switch (schema.getType()) {
+      case NULL:
+        return null;
+      case ARRAY:
+        final Predicate<Object> elementValidator = createValidator(schema.getElementType());
+        return (elementValidator == null) ? NOT_NULL : value -> {
+          if (value == null) {
+            return false;
+          }
+          for (Object element : (Collection<?>) value) {
+            if (!elementValidator.test(element)) {
+              return false;
+            }
+          }
+          return true;
+        };
+      case MAP:
+        final Predicate<Object> valueValidator = createValidator(schema.getValueType());
+        return (valueValidator == null) ? NOT_NULL : value -> {
+          if (value == null) {
+            return false;
+          }
+          for (Object mapValue : ((Map<?, ?>) value).values()) {
+            if (!valueValidator.test(mapValue)) {
+              return false;
+            }
+          }
+          return true;
+        };
+      case UNION:
+        if (schema.getTypes().stream().noneMatch(s -> s.getType() == Schema.Type.NULL)) {
+          return NOT_NULL;
+        }
+        final Predicate<Object> branchValidator = schema.getTypes().stream()
+            .filter(s -> s.getType() != Schema.Type.NULL)
+            .findFirst()
+            .map(AvroFieldWrapper::createValidator)
+            .orElse(null);
+        return (branchValidator == null || branchValidator == NOT_NULL)
+               ? null
+               : value -> value == null || branchValidator.test(value);
+      default:
+        return NOT_NULL;
+    }
+  }
+
+  boolean isValid(Object value) {
+    return validator == null || validator.test(value);
+  }
+
+  /**
+   * Builds a function which deep-copies values of a schema. Unlike
+   * {@link SpecificData#deepCopy(Schema, Object)}, the schema is only traversed once, and immutable
+   * values such as primitives, {@link String} instances and enum symbols are shared instead of
+   * copied. {@link Utf8} instances are mutable and reused by datum readers, and are copied.
+   *
+   * @return null if values are immutable and can be shared as they are
+   */
+  @SuppressWarnings("unchecked")
+  static private UnaryOperator<Object> createCloner(Schema schema) {
+    switch (schema.getType()) {
+      case ARRAY:
+        final UnaryOperator<Object> elementCloner = createCloner(schema.getElementType());
+        return value -> {
+          final Collection<?> array = (Collection<?>) value;
+          final GenericData.Array<Object> copy = new GenericData.Array<>(array.size(), schema);
+          for (Object element : array) {
+            copy.add((elementCloner == null) ? element : elementCloner.apply(element));
+          }
+          return copy;
+        };
+      case BYTES:
+        return value -> {
+          final ByteBuffer buffer = ((ByteBuffer) value).duplicate();
+          final byte[] bytes = new byte[buffer.remaining()];
+          buffer.get(bytes);
+          return ByteBuffer.wrap(bytes);
+        };
+      case FIXED:
+        return value -> SpecificData.get().deepCopy(schema, value);
+      case MAP:
+        final UnaryOperator<Object> valueCloner = createCloner(schema.getValueType());
+        return value -> {
+          final Map<?, ?> map = (Map<?, ?>) value;
+          final Map<Object, Object> copy = new HashMap<>(map.size());
+          for (Map.Entry<?, ?> entry : map.entrySet()) {
+            final Object mapValue = entry.getValue();
+            copy.put(cloneString(entry.getKey()),
+                     (valueCloner == null) ? mapValue : valueCloner.apply(mapValue));
+          }
+          return copy;
+        };
+      case RECORD:
+        final Class<?> recordClass = SpecificData.get().getClass(schema);
+        final Supplier<Object> recordFactory;
+        if (recordClass == null) {
+          recordFactory = () -> new GenericData.Record(schema);
+        } else {
+          recordFactory = () -> SpecificData.newInstance(recordClass, schema);
+        }
+        final UnaryOperator<?>[] fieldCloners = schema.getFields().stream()
+            .map(Schema.Field::schema)
+            .map(AvroFieldWrapper::createCloner)
+            .toArray(UnaryOperator<?>[]::new);
+        return value -> {
+          final IndexedRecord record = (IndexedRecord) value;
+          final IndexedRecord copy = (IndexedRecord) recordFactory.get();
+          for (int i = 0; i < fieldCloners.length; i++) {
+            final Object fieldValue = record.get(i);
+            copy.put(i, (fieldCloners[i] == null)
+                        ? fieldValue
+                        : ((UnaryOperator<Object>) fieldCloners[i]).apply(fieldValue));
+          }
+          return copy;
+        };
+      case STRING:
+        return AvroFieldWrapper::cloneString;
+      case UNION:
+        final UnaryOperator<?>[] branchCloners = schema.getTypes().stream()
+            .map(AvroFieldWrapper::createCloner)
+            .toArray(UnaryOperator<?>[]::new);
+        if (Stream.of(branchCloners).allMatch(Objects::isNull)) {
+          return null;
+        }
+        return value -> {
+          final UnaryOperator<?> branchCloner =
+              branchCloners[SpecificData.get().resolveUnion(schema, value)];
+          return (branchCloner == null)
+                 ? value
+                 : ((UnaryOperator<Object>) branchCloner).apply(value);
+        };
+      default:
+        return null;
+    }
+  }
+
+  static private Object cloneString(Object value) {
+    return (value instanceof Utf8) ? new Utf8((Utf8) value) : value;
+  }
+
   Object defaultValueCopy() {
-    return SpecificData.get().deepCopy(field.schema(), defaultValue);
+    return (defaultValueCloner == null) ? defaultValue : defaultValueCloner.apply(defaultValue);
   }
 
   @SuppressWarnings("unchecked")
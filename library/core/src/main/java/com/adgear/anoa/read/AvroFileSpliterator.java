@@ -0,0 +1,172 @@
+package com.adgear.anoa.read;
+
+import org.apache.avro.file.DataFileConstants;
+import org.apache.avro.file.DataFileReader;
+import org.apache.avro.io.DatumReader;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A {@link Spliterator} over the records of an Avro container file, which splits the file into byte
+ * ranges. Each range is read by its own {@link DataFileReader}, which starts at the first sync
+ * marker following the start of the range and stops at the first sync marker past its end, such
+ * that each block is read by exactly one range. The first range starts right after the header.
+ * Sizes are estimated in bytes.
+ *
+ * @param <R> Avro record type
+ * @param <T> Value type
+ */
+final class AvroFileSpliterator<R, T> implements Spliterator<T> {
+
+  /**
+   * Ranges are not split below this size, in bytes.
+   */
+  static final long MIN_SPLIT_SIZE = DataFileConstants.DEFAULT_SYNC_INTERVAL;
+
+  final private File file;
+  final private Supplier<DatumReader<R>> datumReaderSupplier;
+  final private Function<DataFileReader<R>, T> next;
+  final private Predicate<T> isLast;
+  final private Queue<Closeable> openReaders;
+  private long start;
+  final private long end;
+  private DataFileReader<R> reader;
+  private boolean started;
+  private boolean done;
+
+  private AvroFileSpliterator(File file,
+                              Supplier<DatumReader<R>> datumReaderSupplier,
+                              Function<DataFileReader<R>, T> next,
+                              Predicate<T> isLast,
+                              Queue<Closeable> openReaders,
+                              long start,
+                              long end) {
+    this.file = file;
+    this.datumReaderSupplier = datumReaderSupplier;
+    this.next = next;
+    this.isLast = isLast;
+    this.openReaders = openReaders;
+    this.start = start;
+    this.end = end;
+  }
+
+  /**
+   * @param file                data source
+   * @param datumReaderSupplier called once per range
+   * @param next                reads the next value from a range's reader
+   * @param isLast              ends the range after the given value when true
+   * @return A stream which closes all open readers when closed. The file header is read
+   * immediately.
+   */
+  static <R, T> Stream<T> stream(File file,
+                                 Supplier<DatumReader<R>> datumReaderSupplier,
+                                 Function<DataFileReader<R>, T> next,
+                                 Predicate<T> isLast) {
+    final Queue<Closeable> openReaders = new ConcurrentLinkedQueue<>();
+    final AvroFileSpliterator<R, T> spliterator = new AvroFileSpliterator<>(
+        file, datumReaderSupplier, next, isLast, openReaders, 0L, file.length());
+    spliterator.open();
+    return StreamSupport.stream(spliterator, false).onClose(() -> {
+      Closeable closeable;
+      while ((closeable = openReaders.poll()) != null) {
+        try {
+          closeable.close();
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+    });
+  }
+
+  private void open() {
+    try {
+      reader = new DataFileReader<>(file, datumReaderSupplier.get());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    openReaders.add(reader);
+  }
+
+  private void close() {
+    done = true;
+    if (reader != null) {
+      openReaders.remove(reader);
+      try {
+        reader.close();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      } finally {
+        reader = null;
+      }
+    }
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super T> action) {
+    if (done) {
+      return false;
+    }
+    final T value;
+    try {
+      if (!started) {
+        started = true;
+        if (reader == null) {
+          open();
+        }
+        if (start > 0L) {
+          reader.sync(start);
+        }
+      }
+      if (!reader.hasNext() || reader.pastSync(end)) {
+        close();
+        return false;
+      }
+      value = next.apply(reader);
+    } catch (IOException e) {
+      close();
+      throw new UncheckedIOException(e);
+    } catch (RuntimeException e) {
+      close();
+      throw e;
+    }
+    if (isLast.test(value)) {
+      close();
+    }
+    action.accept(value);
+    return true;
+  }
+
+  @Override
+  public Spliterator<T> trySplit() {
+    if (started || end - start < 2 * MIN_SPLIT_SIZE) {
+      return null;
+    }
+    final long mid = start + (end - start) / 2;
+    final AvroFileSpliterator<R, T> prefix = new AvroFileSpliterator<>(
+        file, datumReaderSupplier, next, isLast, openReaders, start, mid);
+    start = mid;
+    return prefix;
+  }
+
+  @Override
+  public long estimateSize() {
+    return done ? 0L : end - start;
+  }
+
+  @Override
+  public int characteristics() {
+    return Spliterator.ORDERED | Spliterator.NONNULL;
+  }
+}
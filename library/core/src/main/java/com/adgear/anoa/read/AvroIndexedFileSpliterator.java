@@ -0,0 +1,205 @@
+package com.adgear.anoa.read;
+
+import org.apache.avro.file.DataFileReader;
+import org.apache.avro.io.DatumReader;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A {@link Spliterator} over a range of records of an Avro container file which has a {@link
+ * AvroBatchIndex}. Each range is read by its own {@link DataFileReader}, which seeks to the last
+ * indexed block starting at or before the first record of the range and skips the records
+ * preceding it. Ranges are split along index entries, and sizes are exact unless a value may end
+ * the range early. A failure to open a range, or to skip to its first record, either ends the
+ * range with a value or is thrown.
+ *
+ * @param <R> Avro record type
+ * @param <T> Value type
+ */
+final class AvroIndexedFileSpliterator<R, T> implements Spliterator<T> {
+
+  final private File file;
+  final private AvroBatchIndex index;
+  final private Supplier<DatumReader<R>> datumReaderSupplier;
+  final private Function<DataFileReader<R>, T> next;
+  final private Predicate<T> isLast;
+  final private Function<Throwable, T> failure;
+  final private Queue<Closeable> openReaders;
+  private long from;
+  final private long to;
+  private DataFileReader<R> reader;
+  private boolean done;
+
+  private AvroIndexedFileSpliterator(File file,
+                                     AvroBatchIndex index,
+                                     Supplier<DatumReader<R>> datumReaderSupplier,
+                                     Function<DataFileReader<R>, T> next,
+                                     Predicate<T> isLast,
+                                     Function<Throwable, T> failure,
+                                     Queue<Closeable> openReaders,
+                                     long from,
+                                     long to) {
+    this.file = file;
+    this.index = index;
+    this.datumReaderSupplier = datumReaderSupplier;
+    this.next = next;
+    this.isLast = isLast;
+    this.failure = failure;
+    this.openReaders = openReaders;
+    this.from = from;
+    this.to = to;
+  }
+
+  /**
+   * @param file                data source
+   * @param index               index of the data source
+   * @param datumReaderSupplier called once per range
+   * @param next                reads the next value from a range's reader
+   * @param isLast              ends the range after the given value when true, or null
+   * @param failure             maps a failure to open a range to the value ending it, or null to
+   *                            throw
+   * @param fromRecord          number of the first record to read, inclusive
+   * @param toRecord            number of the last record to read, exclusive
+   * @return A stream which closes all open readers when closed. The stream is sized when {@code
+   * isLast} and {@code failure} are null.
+   */
+  static <R, T> Stream<T> stream(File file,
+                                 AvroBatchIndex index,
+                                 Supplier<DatumReader<R>> datumReaderSupplier,
+                                 Function<DataFileReader<R>, T> next,
+                                 Predicate<T> isLast,
+                                 Function<Throwable, T> failure,
+                                 long fromRecord,
+                                 long toRecord) {
+    if (fromRecord < 0L || toRecord < fromRecord) {
+      throw new IllegalArgumentException(
+          "Invalid record range [" + fromRecord + ", " + toRecord + ")");
+    }
+    final Queue<Closeable> openReaders = new ConcurrentLinkedQueue<>();
+    final AvroIndexedFileSpliterator<R, T> spliterator = new AvroIndexedFileSpliterator<>(
+        file,
+        index,
+        datumReaderSupplier,
+        next,
+        isLast,
+        failure,
+        openReaders,
+        Math.min(fromRecord, index.count()),
+        Math.min(toRecord, index.count()));
+    return StreamSupport.stream(spliterator, false).onClose(() -> {
+      Closeable closeable;
+      while ((closeable = openReaders.poll()) != null) {
+        try {
+          closeable.close();
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+    });
+  }
+
+  private void open() throws IOException {
+    reader = new DataFileReader<>(file, datumReaderSupplier.get());
+    openReaders.add(reader);
+    final int entry = index.entry(from);
+    reader.seek(index.offset(entry));
+    R reuse = null;
+    for (long skip = from - index.record(entry); skip > 0L; skip--) {
+      reuse = reader.next(reuse);
+    }
+  }
+
+  private void close() {
+    done = true;
+    if (reader != null) {
+      openReaders.remove(reader);
+      try {
+        reader.close();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      } finally {
+        reader = null;
+      }
+    }
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super T> action) {
+    if (done) {
+      return false;
+    }
+    if (reader == null) {
+      try {
+        open();
+      } catch (IOException | RuntimeException e) {
+        close();
+        if (failure == null) {
+          throw (e instanceof IOException)
+                ? new UncheckedIOException((IOException) e)
+                : (RuntimeException) e;
+        }
+        action.accept(failure.apply(e));
+        return true;
+      }
+    }
+    final T value;
+    try {
+      if (from >= to || !reader.hasNext()) {
+        close();
+        return false;
+      }
+      value = next.apply(reader);
+    } catch (RuntimeException e) {
+      close();
+      throw e;
+    }
+    from++;
+    if (isLast != null && isLast.test(value)) {
+      close();
+    }
+    action.accept(value);
+    return true;
+  }
+
+  @Override
+  public Spliterator<T> trySplit() {
+    if (reader != null || done || from >= to) {
+      return null;
+    }
+    int entry = index.entry(from + (to - from) / 2);
+    if (index.record(entry) <= from) {
+      entry++;
+    }
+    final long mid = index.record(entry);
+    if (mid >= to) {
+      return null;
+    }
+    final AvroIndexedFileSpliterator<R, T> prefix = new AvroIndexedFileSpliterator<>(
+        file, index, datumReaderSupplier, next, isLast, failure, openReaders, from, mid);
+    from = mid;
+    return prefix;
+  }
+
+  @Override
+  public long estimateSize() {
+    return done ? 0L : to - from;
+  }
+
+  @Override
+  public int characteristics() {
+    return Spliterator.ORDERED | Spliterator.NONNULL
+           | ((isLast == null && failure == null) ? Spliterator.SIZED | Spliterator.SUBSIZED : 0);
+  }
+}
@@ -15,16 +15,20 @@ import java.util.stream.Stream;
 abstract class AvroReader<R extends IndexedRecord>
     extends AbstractRecordReader<R, AvroFieldWrapper> {
 
+  final protected boolean validate;
+
   @SuppressWarnings("unchecked")
-  private AvroReader(Schema schema) {
-    super(buildFieldWrappers(schema));
+  private AvroReader(Schema schema, AvroValidation validation) {
+    super(buildFieldWrappers(schema, validation.nested()));
+    this.validate = (validation != AvroValidation.NONE);
   }
 
-  static private Stream<AvroFieldWrapper> buildFieldWrappers(Schema schema) {
+  static private Stream<AvroFieldWrapper> buildFieldWrappers(Schema schema,
+                                                             AvroValidation validation) {
     ArrayList<AvroFieldWrapper> list = new ArrayList<>();
     int index = 0;
     for (Schema.Field field : schema.getFields()) {
-      list.add(new AvroFieldWrapper(index++, field));
+      list.add(new AvroFieldWrapper(index++, field, validation));
     }
     return list.stream();
   }
@@ -35,13 +39,17 @@ abstract class AvroReader<R extends IndexedRecord>
     final private Schema schema;
 
     GenericReader(Schema schema) {
-      super(schema);
+      this(schema, AvroValidation.NONE);
+    }
+
+    GenericReader(Schema schema, AvroValidation validation) {
+      super(schema, validation);
       this.schema = schema;
     }
 
     @Override
     protected RecordWrapper<GenericRecord, AvroFieldWrapper> newWrappedInstance() {
-      return new AvroRecordWrapper<>(new GenericData.Record(schema), fieldWrappers);
+      return new AvroRecordWrapper<>(new GenericData.Record(schema), fieldWrappers, validate);
     }
   }
 
@@ -51,7 +59,11 @@ abstract class AvroReader<R extends IndexedRecord>
     final private Constructor<R> constructor;
 
     SpecificReader(Class<R> recordClass) {
-      super(SpecificData.get().getSchema(recordClass));
+      this(recordClass, AvroValidation.NONE);
+    }
+
+    SpecificReader(Class<R> recordClass, AvroValidation validation) {
+      super(SpecificData.get().getSchema(recordClass), validation);
       try {
         this.constructor = recordClass.getDeclaredConstructor();
         constructor.newInstance();
@@ -63,7 +75,7 @@ abstract class AvroReader<R extends IndexedRecord>
     @Override
     protected RecordWrapper<R, AvroFieldWrapper> newWrappedInstance() {
       try {
-        return new AvroRecordWrapper<>(constructor.newInstance(), fieldWrappers);
+        return new AvroRecordWrapper<>(constructor.newInstance(), fieldWrappers, validate);
       } catch (InstantiationException | IllegalAccessException |InvocationTargetException e) {
         throw new RuntimeException(e);
       }
@@ -2,10 +2,7 @@ package com.adgear.anoa.read;
 
 import com.adgear.anoa.AnoaJacksonTypeException;
 
-import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.IndexedRecord;
-import org.apache.avro.specific.SpecificData;
-import org.apache.avro.specific.SpecificRecord;
 
 import java.util.List;
 
@@ -14,10 +11,12 @@ class AvroRecordWrapper<R extends IndexedRecord> implements RecordWrapper<R, Avr
   final protected R record;
   final protected List<AvroFieldWrapper> fieldWrappers;
   final protected boolean[] flag;
+  final protected boolean validate;
 
-  AvroRecordWrapper(R record, List<AvroFieldWrapper> fieldWrappers) {
+  AvroRecordWrapper(R record, List<AvroFieldWrapper> fieldWrappers, boolean validate) {
     this.record = record;
     this.fieldWrappers = fieldWrappers;
+    this.validate = validate;
     flag = new boolean[fieldWrappers.size()];
   }
 
@@ -48,11 +47,10 @@ class AvroRecordWrapper<R extends IndexedRecord> implements RecordWrapper<R, Avr
               "Cannot leave unboxed field unset: " + fieldWrapper.field.name());
         }
       }
-    }
-    if (record instanceof SpecificRecord) {
-      SpecificData.get().validate(record.getSchema(), record);
-    } else {
-      GenericData.get().validate(record.getSchema(), record);
+      if (validate && !fieldWrapper.isValid(record.get(fieldWrapper.field.pos()))) {
+        throw new AnoaJacksonTypeException(
+            "Invalid value for field: " + fieldWrapper.field.name());
+      }
     }
     return record;
   }
@@ -22,6 +22,9 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 /**
@@ -108,6 +111,43 @@ final public class AvroStreams {
     return binary(anoaHandler, new SpecificDatumReader<>(recordClass), inputStream);
   }
 
+  /**
+   * @param schema      Avro record schema
+   * @param inputStream data source
+   * @return A single-use stream which reads each record into the previous one, along with its
+   * nested records, arrays, maps and strings. Each record is therefore only valid until the next
+   * one is read, and must not be retained, e.g. by collecting or sorting the stream. The stream is
+   * sequential and never splits.
+   */
+  static public Stream<GenericRecord> binaryReusing(
+      Schema schema,
+      InputStream inputStream) {
+    return binaryReusing(new GenericDatumReader<>(schema), inputStream);
+  }
+
+  /**
+   * @param recordClass Avro SpecificRecord class object
+   * @param inputStream data source
+   * @param <R>         Avro SpecificData record type
+   * @return A single-use stream which reads each record into the previous one, along with its
+   * nested records, arrays, maps and strings. Each record is therefore only valid until the next
+   * one is read, and must not be retained, e.g. by collecting or sorting the stream. The stream is
+   * sequential and never splits.
+   */
+  static public <R extends SpecificRecord> Stream<R> binaryReusing(
+      Class<R> recordClass,
+      InputStream inputStream) {
+    return binaryReusing(new SpecificDatumReader<>(recordClass), inputStream);
+  }
+
+  static <R extends IndexedRecord> Stream<R> binaryReusing(
+      DatumReader<R> reader,
+      InputStream inputStream) {
+    final BinaryDecoder d = DecoderFactory.get().binaryDecoder(inputStream, null);
+    return LookAheadIteratorFactory
+        .avro(reader, d, Unchecked.supplier(d::isEnd), inputStream, true).asSingleUseStream();
+  }
+
   static <R extends IndexedRecord> Stream<R> binary(
       DatumReader<R> reader,
       InputStream inputStream) {
@@ -261,15 +301,12 @@ final public class AvroStreams {
   /**
    * @param schema Avro record schema
    * @param file   data source
+   * @return A stream which can be read in parallel, split along the blocks of the file.
    */
   static public Stream<GenericRecord> batch(
       Schema schema,
       File file) {
-    try {
-      return batch(new DataFileReader<>(file, new GenericDatumReader<>(schema)));
-    } catch (IOException e) {
-      throw new UncheckedIOException(e);
-    }
+    return batch(file, () -> new GenericDatumReader<>(schema));
   }
 
   /**
@@ -277,16 +314,13 @@ final public class AvroStreams {
    * @param schema      Avro record schema
    * @param file        data source
    * @param <M>         Metadata type
+   * @return A stream which can be read in parallel, split along the blocks of the file.
    */
   static public <M> Stream<Anoa<GenericRecord, M>> batch(
       AnoaHandler<M> anoaHandler,
       Schema schema,
       File file) {
-    try {
-      return batch(anoaHandler, new DataFileReader<>(file, new GenericDatumReader<>(schema)));
-    } catch (IOException e) {
-      throw new UncheckedIOException(e);
-    }
+    return batch(anoaHandler, file, () -> new GenericDatumReader<>(schema));
   }
 
   /**
@@ -310,6 +344,7 @@ final public class AvroStreams {
 
   /**
    * @param file data source
+   * @return A stream which can be read in parallel, split along the blocks of the file.
    */
   static public Stream<GenericRecord> batch(
       File file) {
@@ -320,6 +355,7 @@ final public class AvroStreams {
    * @param anoaHandler {@code AnoaHandler} instance to use for exception handling
    * @param file        data source
    * @param <M>         Metadata type
+   * @return A stream which can be read in parallel, split along the blocks of the file.
    */
   static public <M> Stream<Anoa<GenericRecord, M>> batch(
       AnoaHandler<M> anoaHandler,
@@ -369,15 +405,12 @@ final public class AvroStreams {
    * @param recordClass Avro SpecificRecord class object
    * @param file        data source
    * @param <R>         Avro SpecificData record type
+   * @return A stream which can be read in parallel, split along the blocks of the file.
    */
   static public <R extends SpecificRecord> Stream<R> batch(
       Class<R> recordClass,
       File file) {
-    try {
-      return batch(new DataFileReader<>(file, new SpecificDatumReader<>(recordClass)));
-    } catch (IOException e) {
-      throw new UncheckedIOException(e);
-    }
+    return batch(file, () -> new SpecificDatumReader<>(recordClass));
   }
 
   /**
@@ -386,25 +419,232 @@ final public class AvroStreams {
    * @param file        data source
    * @param <R>         Avro SpecificData record type
    * @param <M>         Metadata type
+   * @return A stream which can be read in parallel, split along the blocks of the file.
    */
   static public <R extends SpecificRecord, M> Stream<Anoa<R, M>> batch(
       AnoaHandler<M> anoaHandler,
       Class<R> recordClass,
       File file) {
+    return batch(anoaHandler, file, () -> new SpecificDatumReader<>(recordClass));
+  }
+
+  /**
+   * @param file       data source, with a record-offset index sidecar file
+   * @param fromRecord number of the first record to read, inclusive
+   * @param toRecord   number of the last record to read, exclusive
+   * @return A stream which can be read in parallel, split along the index entries of the file. When
+   * the file has no index, the records preceding the range are read and discarded instead.
+   */
+  static public Stream<GenericRecord> batch(
+      File file,
+      long fromRecord,
+      long toRecord) {
+    return batch((Schema) null, file, fromRecord, toRecord);
+  }
+
+  /**
+   * @param schema     Avro record schema
+   * @param file       data source, with a record-offset index sidecar file
+   * @param fromRecord number of the first record to read, inclusive
+   * @param toRecord   number of the last record to read, exclusive
+   * @return A stream which can be read in parallel, split along the index entries of the file. When
+   * the file has no index, the records preceding the range are read and discarded instead.
+   */
+  static public Stream<GenericRecord> batch(
+      Schema schema,
+      File file,
+      long fromRecord,
+      long toRecord) {
+    return batch(file, () -> new GenericDatumReader<>(schema), fromRecord, toRecord);
+  }
+
+  /**
+   * @param anoaHandler {@code AnoaHandler} instance to use for exception handling
+   * @param schema      Avro record schema
+   * @param file        data source, with a record-offset index sidecar file
+   * @param fromRecord  number of the first record to read, inclusive
+   * @param toRecord    number of the last record to read, exclusive
+   * @param <M>         Metadata type
+   * @return A stream which can be read in parallel, split along the index entries of the file. When
+   * the file has no index, the records preceding the range are read and discarded instead.
+   */
+  static public <M> Stream<Anoa<GenericRecord, M>> batch(
+      AnoaHandler<M> anoaHandler,
+      Schema schema,
+      File file,
+      long fromRecord,
+      long toRecord) {
+    return batch(anoaHandler, file, () -> new GenericDatumReader<>(schema), fromRecord, toRecord);
+  }
+
+  /**
+   * @param recordClass Avro SpecificRecord class object
+   * @param file        data source, with a record-offset index sidecar file
+   * @param fromRecord  number of the first record to read, inclusive
+   * @param toRecord    number of the last record to read, exclusive
+   * @param <R>         Avro SpecificData record type
+   * @return A stream which can be read in parallel, split along the index entries of the file. When
+   * the file has no index, the records preceding the range are read and discarded instead.
+   */
+  static public <R extends SpecificRecord> Stream<R> batch(
+      Class<R> recordClass,
+      File file,
+      long fromRecord,
+      long toRecord) {
+    return batch(file, () -> new SpecificDatumReader<>(recordClass), fromRecord, toRecord);
+  }
+
+  /**
+   * @param anoaHandler {@code AnoaHandler} instance to use for exception handling
+   * @param recordClass Avro SpecificRecord class object
+   * @param file        data source, with a record-offset index sidecar file
+   * @param fromRecord  number of the first record to read, inclusive
+   * @param toRecord    number of the last record to read, exclusive
+   * @param <R>         Avro SpecificData record type
+   * @param <M>         Metadata type
+   * @return A stream which can be read in parallel, split along the index entries of the file. When
+   * the file has no index, the records preceding the range are read and discarded instead.
+   */
+  static public <R extends SpecificRecord, M> Stream<Anoa<R, M>> batch(
+      AnoaHandler<M> anoaHandler,
+      Class<R> recordClass,
+      File file,
+      long fromRecord,
+      long toRecord) {
+    return batch(anoaHandler,
+                 file,
+                 () -> new SpecificDatumReader<>(recordClass),
+                 fromRecord,
+                 toRecord);
+  }
+
+  static <R extends IndexedRecord> Stream<R> batch(
+      File file,
+      Supplier<DatumReader<R>> datumReaderSupplier) {
+    return batch(file, datumReaderSupplier, 0L, Long.MAX_VALUE);
+  }
+
+  static <R extends IndexedRecord, M> Stream<Anoa<R, M>> batch(
+      AnoaHandler<M> anoaHandler,
+      File file,
+      Supplier<DatumReader<R>> datumReaderSupplier) {
+    return batch(anoaHandler, file, datumReaderSupplier, 0L, Long.MAX_VALUE);
+  }
+
+  static <R extends IndexedRecord> Stream<R> batch(
+      File file,
+      Supplier<DatumReader<R>> datumReaderSupplier,
+      long fromRecord,
+      long toRecord) {
+    final Function<DataFileReader<R>, R> next = (DataFileReader<R> reader) -> {
+      try {
+        return reader.next(null);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    };
+    final AvroBatchIndex index = AvroBatchIndex.read(file);
+    if (index != null) {
+      return AvroIndexedFileSpliterator.stream(
+          file, index, datumReaderSupplier, next, null, null, fromRecord, toRecord);
+    }
+    return range(AvroFileSpliterator.stream(file, datumReaderSupplier, next, __ -> false),
+                 fromRecord,
+                 toRecord);
+  }
+
+  static <R extends IndexedRecord, M> Stream<Anoa<R, M>> batch(
+      AnoaHandler<M> anoaHandler,
+      File file,
+      Supplier<DatumReader<R>> datumReaderSupplier,
+      long fromRecord,
+      long toRecord) {
+    final Function<DataFileReader<R>, Anoa<R, M>> next =
+        (DataFileReader<R> reader) -> anoaHandler.supplierChecked(() -> reader.next(null)).get();
+    final Predicate<Anoa<R, M>> isLast = (Anoa<R, M> anoa) -> !anoa.isPresent();
+    final Function<Throwable, Anoa<R, M>> failure =
+        (Throwable throwable) -> anoaHandler.<R>supplierChecked(() -> {
+          throw throwable;
+        }).get();
+    final AvroBatchIndex index = AvroBatchIndex.read(file);
+    if (index != null) {
+      return AvroIndexedFileSpliterator.stream(
+          file, index, datumReaderSupplier, next, isLast, failure, fromRecord, toRecord);
+    }
+    return range(AvroFileSpliterator.stream(file, datumReaderSupplier, next, isLast),
+                 fromRecord,
+                 toRecord);
+  }
+
+  static private <T> Stream<T> range(Stream<T> stream, long fromRecord, long toRecord) {
+    if (fromRecord < 0L || toRecord < fromRecord) {
+      throw new IllegalArgumentException(
+          "Invalid record range [" + fromRecord + ", " + toRecord + ")");
+    }
+    return (fromRecord == 0L && toRecord == Long.MAX_VALUE)
+           ? stream
+           : stream.skip(fromRecord).limit(toRecord - fromRecord);
+  }
+
+  /**
+   * @param dataFileStream data source
+   * @param <R>            Avro record type
+   */
+  static public <R extends IndexedRecord> Stream<R> batch(
+      DataFileStream<R> dataFileStream) {
+    return LookAheadIteratorFactory.avro(dataFileStream).asStream();
+  }
+
+  /**
+   * @param schema      Avro record schema
+   * @param inputStream data source
+   * @return A single-use stream which reads each record into the previous one, along with its
+   * nested records, arrays, maps and strings. Each record is therefore only valid until the next
+   * one is read, and must not be retained, e.g. by collecting or sorting the stream. The stream is
+   * sequential and never splits.
+   */
+  static public Stream<GenericRecord> batchReusing(
+      Schema schema,
+      InputStream inputStream) {
+    try {
+      return batchReusing(new DataFileStream<>(inputStream, new GenericDatumReader<>(schema)));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * @param recordClass Avro SpecificRecord class object
+   * @param inputStream data source
+   * @param <R>         Avro SpecificData record type
+   * @return A single-use stream which reads each record into the previous one, along with its
+   * nested records, arrays, maps and strings. Each record is therefore only valid until the next
+   * one is read, and must not be retained, e.g. by collecting or sorting the stream. The stream is
+   * sequential and never splits.
+   */
+  static public <R extends SpecificRecord> Stream<R> batchReusing(
+      Class<R> recordClass,
+      InputStream inputStream) {
+    final DataFileStream<R> dataFileStream;
     try {
-      return batch(anoaHandler, new DataFileReader<>(file, new SpecificDatumReader<>(recordClass)));
+      dataFileStream = new DataFileStream<>(inputStream, new SpecificDatumReader<>(recordClass));
     } catch (IOException e) {
       throw new UncheckedIOException(e);
     }
+    return batchReusing(dataFileStream);
   }
 
   /**
    * @param dataFileStream data source
    * @param <R>            Avro record type
+   * @return A single-use stream which reads each record into the previous one, along with its
+   * nested records, arrays, maps and strings. Each record is therefore only valid until the next
+   * one is read, and must not be retained, e.g. by collecting or sorting the stream. The stream is
+   * sequential and never splits.
    */
-  static public <R extends IndexedRecord> Stream<R> batch(
+  static public <R extends IndexedRecord> Stream<R> batchReusing(
       DataFileStream<R> dataFileStream) {
-    return LookAheadIteratorFactory.avro(dataFileStream).asStream();
+    return LookAheadIteratorFactory.avro(dataFileStream, true).asSingleUseStream();
   }
 
   /**
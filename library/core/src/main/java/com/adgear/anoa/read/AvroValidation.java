@@ -0,0 +1,29 @@
+package com.adgear.anoa.read;
+
+/**
+ * Validation performed on Avro records decoded from Jackson parsers, once all of their fields have
+ * been set. Validation only checks those invariants which decoding can break, namely that values
+ * are not null unless their schema allows it, including the elements of arrays and the values of
+ * maps. A failed validation raises a {@link com.adgear.anoa.AnoaJacksonTypeException}.
+ */
+public enum AvroValidation {
+
+  /**
+   * Validate the record and each of its nested records, each exactly once.
+   */
+  FULL,
+
+  /**
+   * Validate the fields of the record, but not those of its nested records.
+   */
+  TOP_LEVEL,
+
+  /**
+   * Skip validation altogether.
+   */
+  NONE;
+
+  AvroValidation nested() {
+    return (this == FULL) ? FULL : NONE;
+  }
+}
@@ -7,6 +7,7 @@ import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 class EnumReader extends AbstractReader<Enum> {
 
@@ -17,7 +18,7 @@ class EnumReader extends AbstractReader<Enum> {
   @SuppressWarnings("unchecked")
   EnumReader(Class enumClass) {
     this.enumClass = enumClass;
-    labelLookUp = new HashMap<>();
+    labelLookUp = new ConcurrentHashMap<>();
     ordinalLookUp = new HashMap<>();
     try {
       Enum[] values = (Enum[]) enumClass.getMethod("values").invoke(null);
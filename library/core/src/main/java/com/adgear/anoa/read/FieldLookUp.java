@@ -0,0 +1,64 @@
+package com.adgear.anoa.read;
+
+import java.util.Map;
+
+/**
+ * Immutable open-addressing hash table mapping field names to field indices. Built once per record
+ * reader, it resolves names without allocating and without retaining any state about names which
+ * it does not contain, which makes it safe to share between concurrent decoders.
+ */
+final class FieldLookUp {
+
+  static final int UNKNOWN_FIELD = -1;
+
+  final private int mask;
+  final private String[] names;
+  final private int[] hashes;
+  final private int[] indices;
+
+  /**
+   * @param lookUp field indices by name
+   */
+  FieldLookUp(Map<String, Integer> lookUp) {
+    int capacity = 2;
+    while (capacity < 2 * lookUp.size()) {
+      capacity <<= 1;
+    }
+    this.mask = capacity - 1;
+    this.names = new String[capacity];
+    this.hashes = new int[capacity];
+    this.indices = new int[capacity];
+    lookUp.forEach((name, index) -> {
+      final int hash = hash(name);
+      int slot = hash & mask;
+      while (names[slot] != null) {
+        slot = (slot + 1) & mask;
+      }
+      names[slot] = name;
+      hashes[slot] = hash;
+      indices[slot] = index;
+    });
+  }
+
+  /**
+   * @param name field name, preferably canonicalized by the JSON parser
+   * @return field index, or {@link #UNKNOWN_FIELD}
+   */
+  int get(String name) {
+    final int hash = hash(name);
+    int slot = hash & mask;
+    String candidate;
+    while ((candidate = names[slot]) != null) {
+      if (candidate == name || (hashes[slot] == hash && candidate.equals(name))) {
+        return indices[slot];
+      }
+      slot = (slot + 1) & mask;
+    }
+    return UNKNOWN_FIELD;
+  }
+
+  static private int hash(String name) {
+    final int h = name.hashCode();
+    return h ^ (h >>> 16);
+  }
+}
@@ -0,0 +1,94 @@
+package com.adgear.anoa.read;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Utility class for binding generated record accessors to functional interfaces once, such that
+ * invoking them does not involve reflection.
+ */
+final class LambdaFactory {
+
+  private LambdaFactory() {
+  }
+
+  /**
+   * @param recordClass class with a public no-argument constructor
+   * @param <T>         record type
+   * @return A supplier invoking the constructor, or nothing if it cannot be bound
+   */
+  @SuppressWarnings("unchecked")
+  static <T> Optional<Supplier<T>> supplier(Class<T> recordClass) {
+    if (!isVisible(recordClass)) {
+      return Optional.empty();
+    }
+    try {
+      final MethodHandles.Lookup lookup = MethodHandles.lookup();
+      final MethodHandle handle =
+          lookup.findConstructor(recordClass, MethodType.methodType(void.class));
+      final CallSite callSite = LambdaMetafactory.metafactory(
+          lookup,
+          "get",
+          MethodType.methodType(Supplier.class),
+          MethodType.methodType(Object.class),
+          handle,
+          MethodType.methodType(recordClass));
+      return Optional.of((Supplier<T>) callSite.getTarget().invoke());
+    } catch (Throwable e) {
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * @param recordClass class of the instances on which the method is to be invoked
+   * @param method      public single-argument instance method, typically a setter
+   * @param <T>         record type
+   * @return A consumer invoking the method, which unboxes the argument if necessary, or nothing
+   * if the method cannot be bound
+   */
+  @SuppressWarnings("unchecked")
+  static <T> Optional<BiConsumer<T, Object>> biConsumer(Class<T> recordClass, Method method) {
+    if (!isVisible(recordClass) || !isVisible(method.getParameterTypes()[0])) {
+      return Optional.empty();
+    }
+    final Class<?> argumentType = MethodType.methodType(method.getParameterTypes()[0])
+        .wrap()
+        .returnType();
+    try {
+      final MethodHandles.Lookup lookup = MethodHandles.lookup();
+      final MethodHandle handle = lookup.unreflect(method);
+      final CallSite callSite = LambdaMetafactory.metafactory(
+          lookup,
+          "accept",
+          MethodType.methodType(BiConsumer.class),
+          MethodType.methodType(void.class, Object.class, Object.class),
+          handle,
+          MethodType.methodType(void.class, recordClass, argumentType));
+      return Optional.of((BiConsumer<T, Object>) callSite.getTarget().invoke());
+    } catch (Throwable e) {
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Lambdas are defined in this class' class loader, which must therefore resolve the classes they
+   * refer to.
+   */
+  static private boolean isVisible(Class<?> type) {
+    if (type.isPrimitive()) {
+      return true;
+    }
+    try {
+      return Class.forName(type.getName(), false, LambdaFactory.class.getClassLoader()) == type;
+    } catch (ClassNotFoundException e) {
+      return false;
+    }
+  }
+}
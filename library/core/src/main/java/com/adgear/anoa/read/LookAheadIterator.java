@@ -21,6 +21,9 @@ import java.util.stream.StreamSupport;
  */
 final public class LookAheadIterator<T> implements Iterator<T> {
 
+  static final int DEFAULT_BATCH_SIZE = 256;
+  static final int DEFAULT_MAX_BATCH_SIZE = 1 << 16;
+
   final private Supplier<Boolean> noNext;
   final private UnaryOperator<T> next;
   private long counter = 0;
@@ -87,7 +90,7 @@ final public class LookAheadIterator<T> implements Iterator<T> {
         nextValue = next.apply(nextValue);
       }
     }
-    if (!hasNext) {
+    if (!hasNext && closeable != null) {
       try {
         closeable.close();
       } catch (IOException e) {
@@ -108,10 +111,146 @@ final public class LookAheadIterator<T> implements Iterator<T> {
   }
 
   Spliterator<T> asSpliterator() {
-    return Spliterators.spliteratorUnknownSize(this, Spliterator.NONNULL | Spliterator.ORDERED);
+    return asSpliterator(DEFAULT_BATCH_SIZE, DEFAULT_MAX_BATCH_SIZE);
   }
 
   Stream<T> asStream() {
     return StreamSupport.stream(asSpliterator(), false);
   }
+
+  /**
+   * Returns a sequential stream over this iterator which never splits, for iterators which recycle
+   * the values they return: each value is only valid until the next one is read.
+   */
+  Stream<T> asSingleUseStream() {
+    final Iterator<T> iterator = this;
+    return StreamSupport.stream(
+        new Spliterators.AbstractSpliterator<T>(
+            Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+
+          @Override
+          public boolean tryAdvance(Consumer<? super T> action) {
+            if (!iterator.hasNext()) {
+              return false;
+            }
+            action.accept(iterator.next());
+            return true;
+          }
+
+          @Override
+          public void forEachRemaining(Consumer<? super T> action) {
+            iterator.forEachRemaining(action);
+          }
+
+          @Override
+          public Spliterator<T> trySplit() {
+            return null;
+          }
+        },
+        false);
+  }
+
+  /**
+   * Returns a spliterator of unknown size which splits by handing out batches of elements of this
+   * iterator. Batch sizes grow arithmetically, starting at {@code batchSize}.
+   *
+   * @param batchSize    size of the first batch, and increment of subsequent batch sizes
+   * @param maxBatchSize maximum batch size
+   */
+  public Spliterator<T> asSpliterator(int batchSize, int maxBatchSize) {
+    return new BatchSpliterator<>(this, Long.MAX_VALUE, batchSize, maxBatchSize);
+  }
+
+  /**
+   * Returns a SIZED and SUBSIZED spliterator which splits by handing out batches of elements of
+   * this iterator. Batch sizes grow arithmetically, starting at {@code batchSize}.
+   *
+   * @param size         exact number of remaining elements in this iterator
+   * @param batchSize    size of the first batch, and increment of subsequent batch sizes
+   * @param maxBatchSize maximum batch size
+   */
+  public Spliterator<T> asSpliterator(long size, int batchSize, int maxBatchSize) {
+    if (size < 0) {
+      throw new IllegalArgumentException("Size must not be negative: " + size);
+    }
+    return new BatchSpliterator<>(this, size, batchSize, maxBatchSize);
+  }
+
+  static final private class BatchSpliterator<T> implements Spliterator<T> {
+
+    final private Iterator<T> iterator;
+    final private int characteristics;
+    final private int batchIncrement;
+    final private int maxBatchSize;
+    private int batchSize;
+    private long size;
+
+    BatchSpliterator(Iterator<T> iterator, long size, int batchSize, int maxBatchSize) {
+      if (batchSize <= 0 || maxBatchSize < batchSize) {
+        throw new IllegalArgumentException(
+            "Invalid batch sizes: " + batchSize + ", " + maxBatchSize);
+      }
+      this.iterator = iterator;
+      this.size = size;
+      this.batchIncrement = batchSize;
+      this.batchSize = batchSize;
+      this.maxBatchSize = maxBatchSize;
+      this.characteristics = (size == Long.MAX_VALUE)
+                             ? Spliterator.NONNULL | Spliterator.ORDERED
+                             : Spliterator.NONNULL | Spliterator.ORDERED
+                               | Spliterator.SIZED | Spliterator.SUBSIZED;
+    }
+
+    private boolean isSized() {
+      return (characteristics & Spliterator.SIZED) != 0;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+      if (size <= 1 || !iterator.hasNext()) {
+        return null;
+      }
+      final int n = (int) Math.min(batchSize, size);
+      final Object[] batch = new Object[n];
+      int i = 0;
+      do {
+        batch[i++] = iterator.next();
+      } while (i < n && iterator.hasNext());
+      batchSize = Math.min(batchSize + batchIncrement, maxBatchSize);
+      if (isSized()) {
+        size -= i;
+      }
+      return Spliterators.spliterator(batch, 0, i, characteristics);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+      if (!iterator.hasNext()) {
+        return false;
+      }
+      action.accept(iterator.next());
+      if (isSized()) {
+        --size;
+      }
+      return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+      iterator.forEachRemaining(action);
+      if (isSized()) {
+        size = 0;
+      }
+    }
+
+    @Override
+    public long estimateSize() {
+      return size;
+    }
+
+    @Override
+    public int characteristics() {
+      return characteristics;
+    }
+  }
 }
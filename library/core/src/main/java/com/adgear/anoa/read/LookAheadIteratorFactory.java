@@ -1,12 +1,12 @@
 package com.adgear.anoa.read;
 
 import com.google.protobuf.MessageLite;
-import com.google.protobuf.Parser;
 
 import com.adgear.anoa.Anoa;
 import com.adgear.anoa.AnoaHandler;
 import com.adgear.anoa.AnoaReflectionUtils;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.TreeNode;
 
 import org.apache.avro.file.DataFileStream;
@@ -91,13 +91,90 @@ class LookAheadIteratorFactory {
         jacksonParser);
   }
 
+  static <R> LookAheadIterator<R> jackson(
+      JsonParser jacksonParser,
+      AbstractReader<R> reader,
+      boolean strict) {
+    return new LookAheadIterator<>(
+        Unchecked.supplier(jacksonParser::isClosed),
+        (Consumer<Boolean> setHasNext) -> (__ -> {
+          try {
+            if (jacksonParser.nextToken() == null) {
+              setHasNext.accept(false);
+              return null;
+            }
+            return strict ? reader.readStrict(jacksonParser) : reader.read(jacksonParser);
+          } catch (EOFException e) {
+            setHasNext.accept(false);
+            return null;
+          } catch (IOException e) {
+            setHasNext.accept(false);
+            throw new UncheckedIOException(e);
+          }
+        }),
+        jacksonParser);
+  }
+
+  static <R, M> LookAheadIterator<Anoa<R, M>> jackson(
+      AnoaHandler<M> anoaHandler,
+      JsonParser jacksonParser,
+      AbstractReader<R> reader,
+      boolean strict) {
+    return new LookAheadIterator<>(
+        Unchecked.supplier(jacksonParser::isClosed),
+        (Consumer<Boolean> setHasNext) -> (__ -> {
+          try {
+            if (jacksonParser.nextToken() == null) {
+              setHasNext.accept(false);
+              return null;
+            }
+          } catch (IOException e) {
+            closeQuietly(jacksonParser);
+            return anoaHandler.empty(anoaHandler.handle(e));
+          }
+          try {
+            return anoaHandler.ofNullable(
+                strict ? reader.readStrict(jacksonParser) : reader.read(jacksonParser));
+          } catch (IOException e) {
+            // token stream is unusable, end the iteration after this element
+            closeQuietly(jacksonParser);
+            return anoaHandler.empty(anoaHandler.handle(e, jacksonParser));
+          } catch (Throwable t) {
+            // skip remainder of the current top-level value and carry on with the next one
+            try {
+              JsonToken token = jacksonParser.getCurrentToken();
+              while (token != null && !jacksonParser.getParsingContext().inRoot()) {
+                token = jacksonParser.nextToken();
+              }
+            } catch (IOException e) {
+              closeQuietly(jacksonParser);
+            }
+            return anoaHandler.empty(anoaHandler.handle(t, jacksonParser));
+          }
+        }),
+        jacksonParser);
+  }
+
+  static private void closeQuietly(Closeable closeable) {
+    try {
+      closeable.close();
+    } catch (IOException ignored) {
+    }
+  }
+
   static <R extends IndexedRecord> LookAheadIterator<R> avro(
       DataFileStream<R> dfs) {
+    return avro(dfs, false);
+  }
+
+  static <R extends IndexedRecord> LookAheadIterator<R> avro(
+      DataFileStream<R> dfs,
+      boolean reuse) {
     return new LookAheadIterator<>(
         () -> !dfs.hasNext(),
-        (Consumer<Boolean> setHasNext) -> (__ -> {
+        (Consumer<Boolean> setHasNext) -> ((R previous) -> {
           try {
-            return dfs.next(null);
+            return dfs.next(reuse ? previous : null);
           } catch (IOException e) {
             setHasNext.accept(false);
             throw new UncheckedIOException(e);
@@ -121,11 +198,20 @@ class LookAheadIteratorFactory {
       Decoder decoder,
       Supplier<Boolean> eof,
       Closeable closeable) {
+    return avro(reader, decoder, eof, closeable, false);
+  }
+
+  static <R extends IndexedRecord> LookAheadIterator<R> avro(
+      DatumReader<R> reader,
+      Decoder decoder,
+      Supplier<Boolean> eof,
+      Closeable closeable,
+      boolean reuse) {
     return new LookAheadIterator<>(
         eof,
-        (Consumer<Boolean> setHasNext) -> (__ -> {
+        (Consumer<Boolean> setHasNext) -> ((R previous) -> {
           try {
-            return reader.read(null, decoder);
+            return reader.read(reuse ? previous : null, decoder);
           } catch (EOFException e) {
             setHasNext.accept(false);
             return null;
@@ -192,16 +278,18 @@ class LookAheadIteratorFactory {
       InputStream inputStream,
       Class<R> recordClass,
       boolean strict) {
+    return protobuf(new ProtobufDelimitedReader<>(
+        AnoaReflectionUtils.getProtobufParser(recordClass), strict, inputStream));
+  }
 
-    final Parser<R> parser = AnoaReflectionUtils.getProtobufParser(recordClass);
+  static <R extends MessageLite> LookAheadIterator<R> protobuf(
+      ProtobufDelimitedReader<R> reader) {
     return new LookAheadIterator<>(
         () -> false,
         (Consumer<Boolean> setHasNext) -> (__ -> {
           final R value;
           try {
-            value = strict
-                    ? parser.parseDelimitedFrom(inputStream)
-                    : parser.parsePartialDelimitedFrom(inputStream);
+            value = reader.read();
           } catch (IOException e) {
             setHasNext.accept(false);
             throw new UncheckedIOException(e);
@@ -211,7 +299,7 @@ class LookAheadIteratorFactory {
           }
           return value;
         }),
-        inputStream);
+        reader);
   }
 
   static <R extends MessageLite, M> LookAheadIterator<Anoa<R, M>> protobuf(
@@ -219,16 +307,20 @@ class LookAheadIteratorFactory {
       InputStream inputStream,
       Class<R> recordClass,
       boolean strict) {
-    final Parser<R> parser = AnoaReflectionUtils.getProtobufParser(recordClass);
+    return protobuf(anoaHandler, new ProtobufDelimitedReader<>(
+        AnoaReflectionUtils.getProtobufParser(recordClass), strict, inputStream));
+  }
+
+  static <R extends MessageLite, M> LookAheadIterator<Anoa<R, M>> protobuf(
+      AnoaHandler<M> anoaHandler,
+      ProtobufDelimitedReader<R> reader) {
     return new LookAheadIterator<>(
         () -> false,
         (Consumer<Boolean> setHasNext) -> (anoa -> {
           R value = null;
           if (anoa == null || anoa.isPresent()) {
             try {
-              value = strict
-                      ? parser.parseDelimitedFrom(inputStream)
-                      : parser.parsePartialDelimitedFrom(inputStream);
+              value = reader.read();
             } catch (IOException e) {
               setHasNext.accept(false);
               return anoaHandler.empty(anoaHandler.handle(e));
@@ -241,6 +333,6 @@ class LookAheadIteratorFactory {
           }
           return anoaHandler.ofNullable(value);
         }),
-        inputStream);
+        reader);
   }
 }
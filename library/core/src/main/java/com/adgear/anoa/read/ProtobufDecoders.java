@@ -8,10 +8,13 @@ import com.google.protobuf.Parser;
 import com.adgear.anoa.Anoa;
 import com.adgear.anoa.AnoaHandler;
 import com.adgear.anoa.AnoaReflectionUtils;
+import com.adgear.anoa.EncodedBatch;
 import com.fasterxml.jackson.core.JsonParser;
 
 import java.io.UncheckedIOException;
 import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Utility class for generating functions for deserializing Protobuf records. Unless specified
@@ -39,6 +42,25 @@ final public class ProtobufDecoders {
     };
   }
 
+  /**
+   * @param recordClass Protobuf record class object
+   * @param <R>         Protobuf record type
+   * @return A thread-safe function which lazily deserializes each Protobuf record in a batch from
+   * its binary encoding, without copying it out of the batch.
+   * @see EncodedBatch
+   */
+  static public <R extends MessageLite> Function<EncodedBatch, Stream<R>> binaryBatch(
+      Class<R> recordClass) {
+    Parser<R> parser = AnoaReflectionUtils.getProtobufParser(recordClass);
+    return (EncodedBatch batch) -> IntStream.range(0, batch.size()).mapToObj(i -> {
+      try {
+        return parser.parsePartialFrom(batch.bytes(), batch.offset(i), batch.length(i));
+      } catch (InvalidProtocolBufferException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+  }
+
   /**
    * @param recordClass Protobuf record class object
    * @param <R>         Protobuf record type
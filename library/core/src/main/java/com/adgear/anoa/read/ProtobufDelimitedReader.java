@@ -0,0 +1,145 @@
+package com.adgear.anoa.read;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Reads length-delimited Protobuf records, i.e. as written by {@code
+ * MessageLite#writeDelimitedTo(OutputStream)}, through a single {@link CodedInputStream} which
+ * frames each record with a limit.
+ *
+ * <p>Records read from a {@link ByteBuffer} or from a {@link FileChannel} are parsed with aliasing
+ * enabled, meaning that their {@code bytes} fields share the underlying buffer. Files are mapped
+ * into memory in windows of at most {@link #MAX_WINDOW_SIZE} bytes. A window is remapped whenever
+ * the next record extends beyond it.
+ *
+ * @param <R> Protobuf record type
+ */
+final class ProtobufDelimitedReader<R extends MessageLite> implements Closeable {
+
+  static final int MAX_WINDOW_SIZE = 1 << 30;
+
+  static final private int MAX_VARINT32_SIZE = 5;
+
+  final private Parser<R> parser;
+  final private boolean strict;
+  final private Closeable closeable;
+  final private FileChannel channel;
+  private long channelSize;
+  private MappedByteBuffer window;
+  private long windowStart;
+  private int windowOffset;
+  private CodedInputStream codedInputStream;
+
+  ProtobufDelimitedReader(Parser<R> parser, boolean strict, InputStream inputStream) {
+    this.parser = parser;
+    this.strict = strict;
+    this.closeable = inputStream;
+    this.channel = null;
+    this.codedInputStream = CodedInputStream.newInstance(inputStream);
+  }
+
+  ProtobufDelimitedReader(Parser<R> parser, boolean strict, ByteBuffer byteBuffer) {
+    this.parser = parser;
+    this.strict = strict;
+    this.closeable = () -> {
+    };
+    this.channel = null;
+    this.codedInputStream = CodedInputStream.newInstance(byteBuffer);
+    this.codedInputStream.enableAliasing(true);
+  }
+
+  ProtobufDelimitedReader(Parser<R> parser, boolean strict, FileChannel channel)
+      throws IOException {
+    this.parser = parser;
+    this.strict = strict;
+    this.closeable = channel;
+    this.channel = channel;
+    try {
+      this.channelSize = channel.size();
+      map(0L);
+    } catch (IOException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Reads the next record. The input is positioned at the start of the following record even
+   * when this record fails to parse.
+   *
+   * @return the next record, or null if there are none left
+   * @throws IOException on read or parse failure
+   */
+  R read() throws IOException {
+    if (channel != null) {
+      remapIfTruncated();
+    }
+    if (codedInputStream.isAtEnd()) {
+      return null;
+    }
+    final int length = codedInputStream.readRawVarint32();
+    final int oldLimit = codedInputStream.pushLimit(length);
+    try {
+      return strict
+             ? parser.parseFrom(codedInputStream)
+             : parser.parsePartialFrom(codedInputStream);
+    } finally {
+      codedInputStream.skipRawBytes(codedInputStream.getBytesUntilLimit());
+      codedInputStream.popLimit(oldLimit);
+      windowOffset += codedInputStream.getTotalBytesRead();
+      codedInputStream.resetSizeCounter();
+    }
+  }
+
+  private void map(long position) throws IOException {
+    final long size = Math.min(MAX_WINDOW_SIZE, channelSize - position);
+    window = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+    windowStart = position;
+    windowOffset = 0;
+    codedInputStream = CodedInputStream.newInstance(window);
+    codedInputStream.enableAliasing(true);
+  }
+
+  /**
+   * Remaps the window at the start of the next record, unless the window already contains the
+   * whole record or ends with the file.
+   */
+  private void remapIfTruncated() throws IOException {
+    final int windowSize = window.capacity();
+    if (windowStart + windowSize >= channelSize) {
+      return;
+    }
+    int offset = windowOffset;
+    if (windowSize - offset >= MAX_VARINT32_SIZE) {
+      long length = 0L;
+      for (int shift = 0; shift < 7 * MAX_VARINT32_SIZE; shift += 7) {
+        final byte b = window.get(offset++);
+        length |= (long) (b & 0x7F) << shift;
+        if (b >= 0) {
+          if (windowSize - offset >= length) {
+            return;
+          }
+          break;
+        }
+      }
+    }
+    if (windowOffset == 0) {
+      throw new IOException("Record at offset " + windowStart + " exceeds maximum window size.");
+    }
+    map(windowStart + windowOffset);
+  }
+
+  @Override
+  public void close() throws IOException {
+    closeable.close();
+  }
+}
@@ -6,8 +6,8 @@ import com.adgear.anoa.AnoaJacksonTypeException;
 import com.fasterxml.jackson.core.JsonParser;
 
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 class ProtobufEnumReader extends AbstractReader<Descriptors.EnumValueDescriptor> {
 
@@ -19,7 +19,7 @@ class ProtobufEnumReader extends AbstractReader<Descriptors.EnumValueDescriptor>
                      Descriptors.EnumValueDescriptor defaultValue) {
     this.descriptor = descriptor;
     this.defaultValue = defaultValue;
-    labelLookUp = new HashMap<>();
+    labelLookUp = new ConcurrentHashMap<>();
     for (Descriptors.EnumValueDescriptor value : descriptor.getValues()) {
       labelLookUp.put(value.getName(), value);
       labelLookUp.put(value.getName().toLowerCase(), value);
@@ -1,8 +1,12 @@
 package com.adgear.anoa.read;
 
+import com.google.protobuf.ByteString;
 import com.google.protobuf.Descriptors;
 import com.google.protobuf.Message;
 
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.function.BiConsumer;
 import java.util.stream.Stream;
 
 class ProtobufFieldWrapper implements FieldWrapper {
@@ -10,10 +14,12 @@ class ProtobufFieldWrapper implements FieldWrapper {
   final Descriptors.FieldDescriptor field;
   final private Object defaultValue;
   final private AbstractReader<?> reader;
+  final BiConsumer<Message.Builder, Object> setter;
 
   ProtobufFieldWrapper(Descriptors.FieldDescriptor field, Message.Builder parentBuilder) {
     this.field = field;
     this.reader = createReader(field, parentBuilder);
+    this.setter = createSetter(field, parentBuilder);
     this.defaultValue = field.isRepeated()
                         ? null
                         : parentBuilder.getDefaultInstanceForType().getField(field);
@@ -85,6 +91,94 @@ class ProtobufFieldWrapper implements FieldWrapper {
     throw new RuntimeException("Unknown type for " + field);
   }
 
+  /**
+   * Binds the generated builder's setter for a singular field, or its bulk-add method for a
+   * repeated field, falling back on descriptor-based reflection for dynamic messages, enums and
+   * maps.
+   *
+   * @return A consumer which sets a non-null field value in a builder.
+   */
+  @SuppressWarnings("unchecked")
+  static private BiConsumer<Message.Builder, Object> createSetter(
+      Descriptors.FieldDescriptor field,
+      Message.Builder parentBuilder) {
+    final Optional<Class<?>> argumentType = generatedArgumentType(field, parentBuilder);
+    if (argumentType.isPresent()) {
+      final String name = (field.isRepeated() ? "addAll" : "set") + camelCase(field.getName());
+      try {
+        final Method method = parentBuilder.getClass().getMethod(name, argumentType.get());
+        final Optional<BiConsumer<Message.Builder, Object>> setter =
+            LambdaFactory.biConsumer((Class<Message.Builder>) parentBuilder.getClass(), method);
+        if (setter.isPresent()) {
+          return setter.get();
+        }
+      } catch (NoSuchMethodException e) {
+        // fall back on reflection
+      }
+    }
+    if (field.isRepeated()) {
+      return (builder, value) -> {
+        for (Object element : (Iterable<?>) value) {
+          builder.addRepeatedField(field, element);
+        }
+      };
+    }
+    return (builder, value) -> builder.setField(field, value);
+  }
+
+  static private Optional<Class<?>> generatedArgumentType(Descriptors.FieldDescriptor field,
+                                                          Message.Builder parentBuilder) {
+    if (field.isMapField() || field.getJavaType() == Descriptors.FieldDescriptor.JavaType.ENUM) {
+      return Optional.empty();
+    }
+    if (field.isRepeated()) {
+      return Optional.of(Iterable.class);
+    }
+    switch (field.getJavaType()) {
+      case BOOLEAN:
+        return Optional.of(boolean.class);
+      case BYTE_STRING:
+        return Optional.of(ByteString.class);
+      case DOUBLE:
+        return Optional.of(double.class);
+      case FLOAT:
+        return Optional.of(float.class);
+      case INT:
+        return Optional.of(int.class);
+      case LONG:
+        return Optional.of(long.class);
+      case MESSAGE:
+        return Optional.of(parentBuilder.newBuilderForField(field).getDefaultInstanceForType()
+                               .getClass());
+      case STRING:
+        return Optional.of(String.class);
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * @return The field name as it appears in generated accessor names
+   */
+  static private String camelCase(String fieldName) {
+    final StringBuilder sb = new StringBuilder(fieldName.length());
+    boolean capitalizeNext = true;
+    for (char c : fieldName.toCharArray()) {
+      if (c >= 'a' && c <= 'z') {
+        sb.append(capitalizeNext ? Character.toUpperCase(c) : c);
+        capitalizeNext = false;
+      } else if (c >= 'A' && c <= 'Z') {
+        sb.append(c);
+        capitalizeNext = false;
+      } else if (c >= '0' && c <= '9') {
+        sb.append(c);
+        capitalizeNext = true;
+      } else {
+        capitalizeNext = true;
+      }
+    }
+    return sb.toString();
+  }
+
   @Override
   public boolean equalsDefaultValue(Object value) {
     return value == null || value.equals(defaultValue);
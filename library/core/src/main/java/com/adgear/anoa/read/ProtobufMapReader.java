@@ -15,7 +15,7 @@ class ProtobufMapReader extends AbstractReader<List<Object>> {
 
   final Descriptors.FieldDescriptor keyDescriptor;
   final Descriptors.FieldDescriptor valueDescriptor;
-  final Message.Builder mapEntryBuilder;
+  final Message mapEntryDefaultInstance;
   final MapReader mapReader;
 
   ProtobufMapReader(Descriptors.FieldDescriptor keyDescriptor,
@@ -23,7 +23,7 @@ class ProtobufMapReader extends AbstractReader<List<Object>> {
                     Message.Builder mapEntryBuilder,
                     AbstractReader<?> valueElementReader) {
     this.mapReader = new MapReader(valueElementReader);
-    this.mapEntryBuilder = mapEntryBuilder.clone().clear();
+    this.mapEntryDefaultInstance = mapEntryBuilder.getDefaultInstanceForType();
     this.keyDescriptor = keyDescriptor;
     this.valueDescriptor = valueDescriptor;
   }
@@ -31,6 +31,7 @@ class ProtobufMapReader extends AbstractReader<List<Object>> {
   private List<Object> toEntryList(Map<CharSequence, Object> map) {
     ArrayList<Object> result = new ArrayList<>();
     if (map != null) {
+      final Message.Builder mapEntryBuilder = mapEntryDefaultInstance.newBuilderForType();
       for (Map.Entry<CharSequence, Object> entry : map.entrySet()) {
         mapEntryBuilder.clear();
         mapEntryBuilder.setField(keyDescriptor, entry.getKey());
@@ -6,20 +6,25 @@ import com.adgear.anoa.AnoaReflectionUtils;
 
 class ProtobufReader<R extends Message> extends AbstractRecordReader<R, ProtobufFieldWrapper> {
 
-  final private Message.Builder clearBuilderInstance;
+  final private ThreadLocal<Message.Builder> builders;
 
   ProtobufReader(Message.Builder builder) {
     super(builder.clone().clear().getDescriptorForType().getFields().stream()
               .map(field -> new ProtobufFieldWrapper(field, builder)));
-    this.clearBuilderInstance = builder.clone().clear();
+    final Message defaultInstance = builder.getDefaultInstanceForType();
+    this.builders = ThreadLocal.withInitial(defaultInstance::newBuilderForType);
   }
 
   ProtobufReader(Class<R> recordClass) {
     this((Message.Builder) AnoaReflectionUtils.getProtobufBuilder(recordClass));
   }
 
+  /**
+   * Builders are reused across records by each decoding thread, which is safe because building a
+   * message leaves no state in the builder which clearing it does not reset.
+   */
   @Override
   protected RecordWrapper<R, ProtobufFieldWrapper> newWrappedInstance() {
-    return new ProtobufRecordWrapper<>(clearBuilderInstance);
+    return new ProtobufRecordWrapper<>(builders.get().clear());
   }
 }
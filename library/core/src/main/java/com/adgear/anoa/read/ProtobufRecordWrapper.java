@@ -1,6 +1,5 @@
 package com.adgear.anoa.read;
 
-import com.google.protobuf.Descriptors;
 import com.google.protobuf.Message;
 import com.google.protobuf.UninitializedMessageException;
 
@@ -10,8 +9,11 @@ class ProtobufRecordWrapper<R extends Message> implements RecordWrapper<R, Proto
 
   final private Message.Builder builder;
 
-  public ProtobufRecordWrapper(Message.Builder clearBuilderInstance) {
-    builder = clearBuilderInstance.clone();
+  /**
+   * @param builder cleared builder, to be used exclusively by this instance until {@link #get()}
+   */
+  public ProtobufRecordWrapper(Message.Builder builder) {
+    this.builder = builder;
   }
 
   @Override
@@ -25,17 +27,11 @@ class ProtobufRecordWrapper<R extends Message> implements RecordWrapper<R, Proto
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public void put(ProtobufFieldWrapper fieldWrapper, Object value) {
-    Descriptors.FieldDescriptor field = fieldWrapper.field;
-    if (field.isRepeated()) {
-      if (value != null) {
-        for (Object element : (Iterable<Object>) value) {
-          builder.addRepeatedField(field, element);
-        }
-      }
-    } else  {
-      builder.setField(field, (value == null) ? builder.getField(field) : value);
+    if (value != null) {
+      fieldWrapper.setter.accept(builder, value);
+    } else if (!fieldWrapper.field.isRepeated()) {
+      builder.setField(fieldWrapper.field, builder.getField(fieldWrapper.field));
     }
   }
 }
@@ -5,9 +5,16 @@ import com.google.protobuf.MessageLite;
 
 import com.adgear.anoa.Anoa;
 import com.adgear.anoa.AnoaHandler;
+import com.adgear.anoa.AnoaReflectionUtils;
 import com.fasterxml.jackson.core.JsonParser;
 
+import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.stream.Stream;
 
 /**
@@ -88,6 +95,170 @@ final public class ProtobufStreams {
         .asStream();
   }
 
+  /**
+   * Stream from Protobuf delimited binary representations, i.e. as written by {@code
+   * MessageLite#writeDelimitedTo(OutputStream)}. The file is mapped into memory and records share
+   * the mapping for their {@code bytes} fields.
+   *
+   * @param recordClass Protobuf record class object
+   * @param file        file from which to deserialize
+   * @param <R>         Protobuf record type
+   */
+  static public <R extends MessageLite> Stream<R> binary(
+      Class<R> recordClass,
+      File file) {
+    return LookAheadIteratorFactory.protobuf(reader(recordClass, false, file)).asStream();
+  }
+
+  /**
+   * Stream from Protobuf delimited binary representations, i.e. as written by {@code
+   * MessageLite#writeDelimitedTo(OutputStream)}. The file is mapped into memory and records share
+   * the mapping for their {@code bytes} fields. An exception is raised whenever a required field is
+   * missing
+   *
+   * @param recordClass Protobuf record class object
+   * @param file        file from which to deserialize
+   * @param <R>         Protobuf record type
+   */
+  @Deprecated
+  static public <R extends MessageLite> Stream<R> binaryStrict(
+      Class<R> recordClass,
+      File file) {
+    return LookAheadIteratorFactory.protobuf(reader(recordClass, true, file)).asStream();
+  }
+
+  /**
+   * Stream from Protobuf delimited binary representations, i.e. as written by {@code
+   * MessageLite#writeDelimitedTo(OutputStream)}. The file is mapped into memory and records share
+   * the mapping for their {@code bytes} fields.
+   *
+   * @param anoaHandler {@code AnoaHandler} instance to use for exception handling
+   * @param recordClass Protobuf record class object
+   * @param file        file from which to deserialize
+   * @param <R>         Protobuf record type
+   * @param <M>         Metadata type
+   */
+  static public <R extends MessageLite, M> Stream<Anoa<R, M>> binary(
+      AnoaHandler<M> anoaHandler,
+      Class<R> recordClass,
+      File file) {
+    return LookAheadIteratorFactory.protobuf(anoaHandler, reader(recordClass, false, file))
+        .asStream();
+  }
+
+  /**
+   * Stream from Protobuf delimited binary representations, i.e. as written by {@code
+   * MessageLite#writeDelimitedTo(OutputStream)}. The file is mapped into memory and records share
+   * the mapping for their {@code bytes} fields.
+   *
+   * @param anoaHandler {@code AnoaHandler} instance to use for exception handling
+   * @param recordClass Protobuf record class object
+   * @param file        file from which to deserialize
+   * @param <R>         Protobuf record type
+   * @param <M>         Metadata type
+   */
+  @Deprecated
+  static public <R extends MessageLite, M> Stream<Anoa<R, M>> binaryStrict(
+      AnoaHandler<M> anoaHandler,
+      Class<R> recordClass,
+      File file) {
+    return LookAheadIteratorFactory.protobuf(anoaHandler, reader(recordClass, true, file))
+        .asStream();
+  }
+
+  /**
+   * Stream from Protobuf delimited binary representations, i.e. as written by {@code
+   * MessageLite#writeDelimitedTo(OutputStream)}, between the buffer's position and its limit.
+   * Records share the buffer for their {@code bytes} fields.
+   *
+   * @param recordClass Protobuf record class object
+   * @param byteBuffer  buffer from which to deserialize
+   * @param <R>         Protobuf record type
+   */
+  static public <R extends MessageLite> Stream<R> binary(
+      Class<R> recordClass,
+      ByteBuffer byteBuffer) {
+    return LookAheadIteratorFactory.protobuf(reader(recordClass, false, byteBuffer)).asStream();
+  }
+
+  /**
+   * Stream from Protobuf delimited binary representations, i.e. as written by {@code
+   * MessageLite#writeDelimitedTo(OutputStream)}, between the buffer's position and its limit.
+   * Records share the buffer for their {@code bytes} fields. An exception is raised whenever a
+   * required field is missing
+   *
+   * @param recordClass Protobuf record class object
+   * @param byteBuffer  buffer from which to deserialize
+   * @param <R>         Protobuf record type
+   */
+  @Deprecated
+  static public <R extends MessageLite> Stream<R> binaryStrict(
+      Class<R> recordClass,
+      ByteBuffer byteBuffer) {
+    return LookAheadIteratorFactory.protobuf(reader(recordClass, true, byteBuffer)).asStream();
+  }
+
+  /**
+   * Stream from Protobuf delimited binary representations, i.e. as written by {@code
+   * MessageLite#writeDelimitedTo(OutputStream)}, between the buffer's position and its limit.
+   * Records share the buffer for their {@code bytes} fields.
+   *
+   * @param anoaHandler {@code AnoaHandler} instance to use for exception handling
+   * @param recordClass Protobuf record class object
+   * @param byteBuffer  buffer from which to deserialize
+   * @param <R>         Protobuf record type
+   * @param <M>         Metadata type
+   */
+  static public <R extends MessageLite, M> Stream<Anoa<R, M>> binary(
+      AnoaHandler<M> anoaHandler,
+      Class<R> recordClass,
+      ByteBuffer byteBuffer) {
+    return LookAheadIteratorFactory.protobuf(anoaHandler, reader(recordClass, false, byteBuffer))
+        .asStream();
+  }
+
+  /**
+   * Stream from Protobuf delimited binary representations, i.e. as written by {@code
+   * MessageLite#writeDelimitedTo(OutputStream)}, between the buffer's position and its limit.
+   * Records share the buffer for their {@code bytes} fields.
+   *
+   * @param anoaHandler {@code AnoaHandler} instance to use for exception handling
+   * @param recordClass Protobuf record class object
+   * @param byteBuffer  buffer from which to deserialize
+   * @param <R>         Protobuf record type
+   * @param <M>         Metadata type
+   */
+  @Deprecated
+  static public <R extends MessageLite, M> Stream<Anoa<R, M>> binaryStrict(
+      AnoaHandler<M> anoaHandler,
+      Class<R> recordClass,
+      ByteBuffer byteBuffer) {
+    return LookAheadIteratorFactory.protobuf(anoaHandler, reader(recordClass, true, byteBuffer))
+        .asStream();
+  }
+
+  static private <R extends MessageLite> ProtobufDelimitedReader<R> reader(
+      Class<R> recordClass,
+      boolean strict,
+      File file) {
+    try {
+      return new ProtobufDelimitedReader<>(
+          AnoaReflectionUtils.getProtobufParser(recordClass),
+          strict,
+          FileChannel.open(file.toPath(), StandardOpenOption.READ));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  static private <R extends MessageLite> ProtobufDelimitedReader<R> reader(
+      Class<R> recordClass,
+      boolean strict,
+      ByteBuffer byteBuffer) {
+    return new ProtobufDelimitedReader<>(
+        AnoaReflectionUtils.getProtobufParser(recordClass), strict, byteBuffer);
+  }
+
   /**
    * Stream with 'natural' object-mapping from JsonParser instance.
    *
@@ -0,0 +1,153 @@
+package com.adgear.anoa.read;
+
+import org.apache.thrift.transport.TTransport;
+import org.apache.thrift.transport.TTransportException;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A read-only {@link TTransport} over a file mapped into memory, in chunks of at most {@link
+ * #MAX_CHUNK_SIZE} bytes. The mapping is copied in bulk into a buffer exposed through {@link
+ * #getBuffer()}, which lets Thrift protocols decode values in place instead of reading them through
+ * the transport. Protocols wrap binary values in that buffer without copying them, therefore each
+ * refill copies into a new buffer. The transport is deemed closed once all of the file has been
+ * read.
+ */
+class TMappedFileTransport extends TTransport {
+
+  static final int MAX_CHUNK_SIZE = 1 << 30;
+  static final int BUFFER_SIZE = 1 << 16;
+
+  /**
+   * The buffer is refilled whenever fewer bytes than this remain in it, which is enough for the
+   * protocols to decode any fixed-size value or varint in place.
+   */
+  static final private int MIN_BUFFERED = 16;
+
+  final private FileChannel channel;
+  final private long size;
+  private byte[] buffer = new byte[0];
+  private MappedByteBuffer chunk;
+  private long chunkStart;
+  private int bufferPosition;
+  private int bufferLimit;
+  private boolean isOpen;
+
+  TMappedFileTransport(Path path) throws IOException {
+    this.channel = FileChannel.open(path, StandardOpenOption.READ);
+    try {
+      this.size = channel.size();
+      map(0L);
+    } catch (IOException e) {
+      channel.close();
+      throw e;
+    }
+    this.isOpen = true;
+    refill();
+  }
+
+  private void map(long position) throws IOException {
+    chunk = channel.map(FileChannel.MapMode.READ_ONLY,
+                        position,
+                        Math.min(MAX_CHUNK_SIZE, size - position));
+    chunkStart = position;
+  }
+
+  private boolean hasMoreMapped() {
+    return chunk.hasRemaining() || chunkStart + chunk.capacity() < size;
+  }
+
+  private void refill() throws IOException {
+    final int remaining = bufferLimit - bufferPosition;
+    final byte[] previous = buffer;
+    buffer = new byte[BUFFER_SIZE];
+    System.arraycopy(previous, bufferPosition, buffer, 0, remaining);
+    bufferPosition = 0;
+    bufferLimit = remaining;
+    while (bufferLimit < buffer.length && hasMoreMapped()) {
+      if (!chunk.hasRemaining()) {
+        map(chunkStart + chunk.capacity());
+      }
+      final int n = Math.min(buffer.length - bufferLimit, chunk.remaining());
+      chunk.get(buffer, bufferLimit, n);
+      bufferLimit += n;
+    }
+  }
+
+  private void refillIfLow() throws TTransportException {
+    if (bufferLimit - bufferPosition < MIN_BUFFERED && hasMoreMapped()) {
+      try {
+        refill();
+      } catch (IOException e) {
+        throw new TTransportException(e);
+      }
+    }
+  }
+
+  @Override
+  public boolean isOpen() {
+    return isOpen && (bufferPosition < bufferLimit || hasMoreMapped());
+  }
+
+  @Override
+  public void open() throws TTransportException {
+  }
+
+  @Override
+  public void close() {
+    isOpen = false;
+    try {
+      channel.close();
+    } catch (IOException ignored) {
+    }
+  }
+
+  @Override
+  public int read(byte[] bytes, int off, int len) throws TTransportException {
+    if (!isOpen) {
+      throw new TTransportException(TTransportException.NOT_OPEN, "Transport is closed.");
+    }
+    refillIfLow();
+    final int n = Math.min(len, bufferLimit - bufferPosition);
+    if (n <= 0) {
+      throw new TTransportException(TTransportException.END_OF_FILE, "End of file.");
+    }
+    System.arraycopy(buffer, bufferPosition, bytes, off, n);
+    bufferPosition += n;
+    return n;
+  }
+
+  @Override
+  public void write(byte[] bytes, int off, int len) throws TTransportException {
+    throw new TTransportException("Write not supported");
+  }
+
+  @Override
+  public byte[] getBuffer() {
+    return buffer;
+  }
+
+  @Override
+  public int getBufferPosition() {
+    return bufferPosition;
+  }
+
+  @Override
+  public int getBytesRemainingInBuffer() {
+    return bufferLimit - bufferPosition;
+  }
+
+  @Override
+  public void consumeBuffer(int len) {
+    bufferPosition += len;
+    try {
+      refillIfLow();
+    } catch (TTransportException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
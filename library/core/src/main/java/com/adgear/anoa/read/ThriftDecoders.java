@@ -2,6 +2,7 @@ package com.adgear.anoa.read;
 
 import com.adgear.anoa.Anoa;
 import com.adgear.anoa.AnoaHandler;
+import com.adgear.anoa.EncodedBatch;
 import com.fasterxml.jackson.core.JsonParser;
 
 import org.apache.thrift.TBase;
@@ -12,8 +13,14 @@ import org.apache.thrift.protocol.TProtocol;
 import org.apache.thrift.transport.TMemoryInputTransport;
 import org.apache.thrift.transport.TTransport;
 
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Utility class for generating functions for deserializing Thrift records. Unless specified
@@ -48,6 +55,18 @@ final public class ThriftDecoders {
     return fn(anoaHandler, supplier, TCompactProtocol::new);
   }
 
+  /**
+   * @param supplier provides the returned Thrift record instances
+   * @param <T>      Thrift record type
+   * @return A function which lazily deserializes each Thrift record in a batch from its compact
+   * binary encoding, without copying it out of the batch.
+   * @see EncodedBatch
+   */
+  static public <T extends TBase> Function<EncodedBatch, Stream<T>> compactBatch(
+      Supplier<T> supplier) {
+    return batch(supplier, TCompactProtocol::new);
+  }
+
   /**
    * @param supplier provides the returned Thrift record instances
    * @param <T>      Thrift record type
@@ -72,6 +91,18 @@ final public class ThriftDecoders {
     return fn(anoaHandler, supplier, TBinaryProtocol::new);
   }
 
+  /**
+   * @param supplier provides the returned Thrift record instances
+   * @param <T>      Thrift record type
+   * @return A function which lazily deserializes each Thrift record in a batch from its standard
+   * binary encoding, without copying it out of the batch.
+   * @see EncodedBatch
+   */
+  static public <T extends TBase> Function<EncodedBatch, Stream<T>> binaryBatch(
+      Supplier<T> supplier) {
+    return batch(supplier, TBinaryProtocol::new);
+  }
+
   /**
    * @param supplier provides the returned Thrift record instances
    * @param <T>      Thrift record type
@@ -96,6 +127,18 @@ final public class ThriftDecoders {
     return fn(anoaHandler, supplier, TJSONProtocol::new);
   }
 
+  /**
+   * @param supplier provides the returned Thrift record instances
+   * @param <T>      Thrift record type
+   * @return A function which lazily deserializes each Thrift record in a batch from its Thrift JSON
+   * encoding, without copying it out of the batch.
+   * @see EncodedBatch
+   */
+  static public <T extends TBase> Function<EncodedBatch, Stream<T>> jsonBatch(
+      Supplier<T> supplier) {
+    return batch(supplier, TJSONProtocol::new);
+  }
+
   static <T extends TBase> Function<byte[], T> fn(
       Supplier<T> supplier,
       Function<TTransport, TProtocol> protocolFactory) {
@@ -110,6 +153,27 @@ final public class ThriftDecoders {
     };
   }
 
+  /**
+   * Each batch is decoded by its own transport and protocol, through an iterator such that the
+   * records are decoded one at a time even when the stream is parallel.
+   */
+  static <T extends TBase> Function<EncodedBatch, Stream<T>> batch(
+      Supplier<T> supplier,
+      Function<TTransport, TProtocol> protocolFactory) {
+    return (EncodedBatch batch) -> {
+      final TMemoryInputTransport tTransport = new TMemoryInputTransport();
+      final LookAheadIterator<T> lookAheadIterator = LookAheadIteratorFactory
+          .thrift(protocolFactory.apply(tTransport), supplier);
+      final Iterator<T> iterator = IntStream.range(0, batch.size()).mapToObj(i -> {
+        lookAheadIterator.reset(null);
+        tTransport.reset(batch.bytes(), batch.offset(i), batch.length(i));
+        return lookAheadIterator.next();
+      }).iterator();
+      return StreamSupport.stream(
+          Spliterators.spliterator(iterator, batch.size(), Spliterator.ORDERED), false);
+    };
+  }
+
   static <T extends TBase, M> Function<Anoa<byte[], M>, Anoa<T, M>> fn(
       AnoaHandler<M> anoaHandler,
       Supplier<T> supplier,
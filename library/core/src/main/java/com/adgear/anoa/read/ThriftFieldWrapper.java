@@ -1,5 +1,6 @@
 package com.adgear.anoa.read;
 
+import org.apache.thrift.TBase;
 import org.apache.thrift.TFieldIdEnum;
 import org.apache.thrift.TFieldRequirementType;
 import org.apache.thrift.meta_data.EnumMetaData;
@@ -11,6 +12,7 @@ import org.apache.thrift.meta_data.SetMetaData;
 import org.apache.thrift.meta_data.StructMetaData;
 import org.apache.thrift.protocol.TType;
 
+import java.util.function.BiConsumer;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
@@ -20,16 +22,19 @@ class ThriftFieldWrapper<F extends TFieldIdEnum> implements FieldWrapper {
   final boolean isRequired;
   final private Object defaultValue;
   final Supplier<Object> defaultValueSupplier;
+  final BiConsumer<TBase<?, F>, Object> setter;
   final private AbstractReader<?> reader;
 
   ThriftFieldWrapper(F tFieldIdEnum,
                      FieldMetaData fieldMetaData,
-                     Supplier<Object> defaultValueSupplier) {
+                     Supplier<Object> defaultValueSupplier,
+                     BiConsumer<TBase<?, F>, Object> setter) {
     this.tFieldIdEnum = tFieldIdEnum;
     this.isRequired = (fieldMetaData.requirementType == TFieldRequirementType.REQUIRED);
     this.reader = createReader(fieldMetaData.valueMetaData);
     this.defaultValue = defaultValueSupplier.get();
     this.defaultValueSupplier = defaultValueSupplier;
+    this.setter = setter;
   }
 
   @Override
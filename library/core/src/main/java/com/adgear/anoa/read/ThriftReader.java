@@ -9,12 +9,15 @@ import org.apache.thrift.meta_data.StructMetaData;
 import org.apache.thrift.protocol.TType;
 import org.jooq.lambda.Unchecked;
 
+import java.lang.reflect.Method;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiConsumer;
 import java.util.function.Supplier;
 
 class ThriftReader<F extends TFieldIdEnum, T extends TBase<?, F>>
@@ -34,25 +37,48 @@ class ThriftReader<F extends TFieldIdEnum, T extends TBase<?, F>>
     Map<F, ThriftFieldWrapper<F>> map = new LinkedHashMap<>();
     AnoaReflectionUtils.getThriftMetaDataMap(thriftClass).forEach((f, md) -> {
       Supplier<Object> supplier = buildDefaultValueSupplier(thriftClass, f, md.valueMetaData);
-      map.put(f, new ThriftFieldWrapper<>(f, md, supplier));
+      map.put(f, new ThriftFieldWrapper<>(f, md, supplier, buildSetter(thriftClass, f)));
     });
     return map;
   }
 
+  static private <T> Supplier<T> getConstructor(Class<T> thriftClass) {
+    return LambdaFactory.supplier(thriftClass)
+        .orElseGet(() -> Unchecked.supplier(thriftClass::newInstance));
+  }
+
+  /**
+   * Binds the generated setter of a field, which is named after the public member holding its
+   * value, falling back on {@link TBase#setFieldValue(TFieldIdEnum, Object)} for unions and for
+   * classes generated with private members.
+   */
+  @SuppressWarnings("unchecked")
   static private <F extends TFieldIdEnum, T extends TBase<?, F>>
-  Supplier<T> getConstructor(Class<T> thriftClass) {
-    return Unchecked.supplier(thriftClass::newInstance);
+  BiConsumer<TBase<?, F>, Object> buildSetter(Class<T> thriftClass, F f) {
+    final String name = f.getFieldName();
+    try {
+      final Class<?> type = thriftClass.getField(name).getType();
+      final Method method = thriftClass.getMethod(
+          "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1), type);
+      final Optional<BiConsumer<T, Object>> setter = LambdaFactory.biConsumer(thriftClass, method);
+      if (setter.isPresent()) {
+        return (BiConsumer) setter.get();
+      }
+    } catch (NoSuchFieldException | NoSuchMethodException e) {
+      // fall back on reflection
+    }
+    return (record, value) -> record.setFieldValue(f, value);
   }
 
+  /**
+   * Immutable default values are computed once and shared, others are instantiated on demand.
+   */
   @SuppressWarnings("unchecked")
   static private <F extends TFieldIdEnum, T extends TBase<?, F>>
   Supplier<Object> buildDefaultValueSupplier(Class<T> thriftClass, F f, FieldValueMetaData vmd) {
-    Supplier<T> constructor = getConstructor(thriftClass);
-    if (vmd.isBinary()) {
-      return () -> ByteBuffer.wrap((byte[]) constructor.get().getFieldValue(f));
-    } else if (vmd.isStruct()) {
-      final Class<? extends TBase> subClass = ((StructMetaData) vmd).structClass;
-      return Unchecked.supplier(subClass::newInstance);
+    if (vmd.isStruct()) {
+      final Supplier<?> constructor = getConstructor(((StructMetaData) vmd).structClass);
+      return constructor::get;
     } else if (vmd.isContainer()) {
       switch (vmd.type) {
         case TType.LIST:
@@ -63,7 +89,13 @@ class ThriftReader<F extends TFieldIdEnum, T extends TBase<?, F>>
           return HashMap::new;
       }
     }
-    return () -> constructor.get().getFieldValue(f);
+    final Object value = getConstructor(thriftClass).get().getFieldValue(f);
+    if (vmd.isBinary() && value != null) {
+      // shared safely, since generated setters copy binary values
+      final ByteBuffer buffer = ByteBuffer.wrap((byte[]) value);
+      return () -> buffer;
+    }
+    return () -> value;
   }
 
   @SuppressWarnings("unchecked")
@@ -8,7 +8,6 @@ import org.apache.thrift.TBase;
 import org.apache.thrift.protocol.TBinaryProtocol;
 import org.apache.thrift.protocol.TCompactProtocol;
 import org.apache.thrift.protocol.TJSONProtocol;
-import org.apache.thrift.transport.TFileTransport;
 import org.apache.thrift.transport.TIOStreamTransport;
 import org.apache.thrift.transport.TTransport;
 
@@ -16,6 +15,7 @@ import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.nio.file.Paths;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
@@ -60,14 +60,14 @@ final public class ThriftStreams {
    * Stream from Thrift compact binary representations.
    *
    * @param supplier Thrift record instance supplier
-   * @param fileName name of file from which to read
+   * @param fileName name of file from which to read, which is mapped into memory
    * @param <T>      Thrift record type
    */
   static public <T extends TBase> Stream<T> compact(
       Supplier<T> supplier,
       String fileName) {
     try {
-      return compact(supplier, new TFileTransport(fileName, true));
+      return compact(supplier, new TMappedFileTransport(Paths.get(fileName)));
     } catch (IOException e) {
       throw new UncheckedIOException(e);
     }
@@ -78,7 +78,7 @@ final public class ThriftStreams {
    *
    * @param anoaHandler {@code AnoaHandler} instance to use for exception handling
    * @param supplier    Thrift record instance supplier
-   * @param fileName    name of file from which to read
+   * @param fileName    name of file from which to read, which is mapped into memory
    * @param <T>         Thrift record type
    * @param <M>         Metadata type
    */
@@ -87,7 +87,7 @@ final public class ThriftStreams {
       Supplier<T> supplier,
       String fileName) {
     try {
-      return compact(anoaHandler, supplier, new TFileTransport(fileName, true));
+      return compact(anoaHandler, supplier, new TMappedFileTransport(Paths.get(fileName)));
     } catch (IOException e) {
       throw new UncheckedIOException(e);
     }
@@ -159,14 +159,14 @@ final public class ThriftStreams {
    * Stream from Thrift standard binary representations.
    *
    * @param supplier Thrift record instance supplier
-   * @param fileName name of file from which to read
+   * @param fileName name of file from which to read, which is mapped into memory
    * @param <T>      Thrift record type
    */
   static public <T extends TBase> Stream<T> binary(
       Supplier<T> supplier,
       String fileName) {
     try {
-      return binary(supplier, new TFileTransport(fileName, true));
+      return binary(supplier, new TMappedFileTransport(Paths.get(fileName)));
     } catch (IOException e) {
       throw new UncheckedIOException(e);
     }
@@ -177,7 +177,7 @@ final public class ThriftStreams {
    *
    * @param anoaHandler {@code AnoaHandler} instance to use for exception handling
    * @param supplier    Thrift record instance supplier
-   * @param fileName    name of file from which to read
+   * @param fileName    name of file from which to read, which is mapped into memory
    * @param <T>         Thrift record type
    * @param <M>         Metadata type
    */
@@ -186,7 +186,7 @@ final public class ThriftStreams {
       Supplier<T> supplier,
       String fileName) {
     try {
-      return binary(anoaHandler, supplier, new TFileTransport(fileName, true));
+      return binary(anoaHandler, supplier, new TMappedFileTransport(Paths.get(fileName)));
     } catch (IOException e) {
       throw new UncheckedIOException(e);
     }
@@ -257,14 +257,14 @@ final public class ThriftStreams {
    * Stream from Thrift JSON representations.
    *
    * @param supplier Thrift record instance supplier
-   * @param fileName name of file from which to read
+   * @param fileName name of file from which to read, which is mapped into memory
    * @param <T>      Thrift record type
    */
   static public <T extends TBase> Stream<T> json(
       Supplier<T> supplier,
       String fileName) {
     try {
-      return json(supplier, new TFileTransport(fileName, true));
+      return json(supplier, new TMappedFileTransport(Paths.get(fileName)));
     } catch (IOException e) {
       throw new UncheckedIOException(e);
     }
@@ -275,7 +275,7 @@ final public class ThriftStreams {
    *
    * @param anoaHandler {@code AnoaHandler} instance to use for exception handling
    * @param supplier    Thrift record instance supplier
-   * @param fileName    name of file from which to read
+   * @param fileName    name of file from which to read, which is mapped into memory
    * @param <T>         Thrift record type
    * @param <M>         Metadata type
    */
@@ -284,7 +284,7 @@ final public class ThriftStreams {
       Supplier<T> supplier,
       String fileName) {
     try {
-      return json(anoaHandler, supplier, new TFileTransport(fileName, true));
+      return json(anoaHandler, supplier, new TMappedFileTransport(Paths.get(fileName)));
     } catch (IOException e) {
       throw new UncheckedIOException(e);
     }
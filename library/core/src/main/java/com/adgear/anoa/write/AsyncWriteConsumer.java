@@ -0,0 +1,291 @@
+package com.adgear.anoa.write;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@link WriteConsumer} decorator which hands records over to a dedicated writer thread through a
+ * bounded ring buffer, such that the wrapped consumer encodes and writes them off the calling
+ * thread. The writer thread drains the buffer in batches, and also flushes and closes the wrapped
+ * consumer.
+ *
+ * <p>When the buffer is full, the {@link OverflowPolicy} decides whether the caller waits for free
+ * space or whether the record is dropped. Any exception raised on the writer thread stops it, and
+ * is rethrown as an {@link IOException} by every subsequent call to accept, flush or close. The
+ * writer thread is a daemon thread, therefore records which have not been flushed are lost unless
+ * this consumer is closed.
+ *
+ * @param <T> Value type
+ */
+final public class AsyncWriteConsumer<T> implements WriteConsumer<T> {
+
+  /**
+   * Behaviour of accept calls when the buffer is full.
+   */
+  public enum OverflowPolicy {
+
+    /**
+     * Wait for the writer thread to free up space in the buffer.
+     */
+    BLOCK,
+
+    /**
+     * Drop the record, see {@link #dropped()}.
+     */
+    DROP
+  }
+
+  static final public int DEFAULT_CAPACITY = 1 << 12;
+  static final public int DEFAULT_MAX_BATCH_SIZE = 1 << 8;
+
+  static final private AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+  final private WriteConsumer<T> consumer;
+  final private OverflowPolicy overflowPolicy;
+  final private Object[] ring;
+  final private int maxBatchSize;
+  final private ReentrantLock lock = new ReentrantLock();
+  final private Condition notEmpty = lock.newCondition();
+  final private Condition notFull = lock.newCondition();
+  final private Condition flushed = lock.newCondition();
+  final private Thread writerThread;
+  private int head = 0;
+  private int size = 0;
+  private long flushRequests = 0L;
+  private long flushesDone = 0L;
+  private long dropped = 0L;
+  private boolean isClosing = false;
+  private Throwable error = null;
+
+  /**
+   * Wraps a consumer with a buffer of {@link #DEFAULT_CAPACITY} records, drained in batches of at
+   * most {@link #DEFAULT_MAX_BATCH_SIZE} records, which blocks when full.
+   *
+   * @param consumer consumer to write records into, on the writer thread
+   */
+  public AsyncWriteConsumer(WriteConsumer<T> consumer) {
+    this(consumer, DEFAULT_CAPACITY, DEFAULT_MAX_BATCH_SIZE, OverflowPolicy.BLOCK);
+  }
+
+  /**
+   * @param consumer       consumer to write records into, on the writer thread
+   * @param capacity       maximum number of records in the buffer
+   * @param maxBatchSize   maximum number of records taken from the buffer at once
+   * @param overflowPolicy behaviour of accept calls when the buffer is full
+   */
+  public AsyncWriteConsumer(WriteConsumer<T> consumer,
+                            int capacity,
+                            int maxBatchSize,
+                            OverflowPolicy overflowPolicy) {
+    if (capacity <= 0 || maxBatchSize <= 0) {
+      throw new IllegalArgumentException(
+          "Invalid capacity or batch size: " + capacity + ", " + maxBatchSize);
+    }
+    this.consumer = consumer;
+    this.overflowPolicy = overflowPolicy;
+    this.ring = new Object[capacity];
+    this.maxBatchSize = Math.min(capacity, maxBatchSize);
+    this.writerThread = new Thread(this::write,
+                                   "anoa-async-writer-" + THREAD_COUNTER.getAndIncrement());
+    this.writerThread.setDaemon(true);
+    this.writerThread.start();
+  }
+
+  /**
+   * @return number of records dropped so far because the buffer was full
+   */
+  public long dropped() {
+    lock.lock();
+    try {
+      return dropped;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void acceptChecked(T record) throws IOException {
+    lock.lock();
+    try {
+      offer(record);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Hands over a batch of records at once, subject to the overflow policy for each record.
+   *
+   * @param records the records to be written
+   * @throws IOException raised when a previous write failed, or when this consumer is closed
+   */
+  public void acceptAllChecked(Collection<? extends T> records) throws IOException {
+    lock.lock();
+    try {
+      for (T record : records) {
+        offer(record);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void offer(T record) throws IOException {
+    checkOpen();
+    while (size == ring.length) {
+      if (overflowPolicy == OverflowPolicy.DROP) {
+        dropped++;
+        return;
+      }
+      await(notFull);
+      checkOpen();
+    }
+    ring[(head + size) % ring.length] = record;
+    if (size++ == 0) {
+      notEmpty.signal();
+    }
+  }
+
+  /**
+   * Blocks until all records accepted so far have been written and the wrapped consumer has been
+   * flushed.
+   */
+  @Override
+  public void flush() throws IOException {
+    lock.lock();
+    try {
+      checkOpen();
+      final long request = ++flushRequests;
+      notEmpty.signal();
+      while (flushesDone < request) {
+        checkError();
+        await(flushed);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Blocks until all records accepted so far have been written and the wrapped consumer has been
+   * closed.
+   */
+  @Override
+  public void close() throws IOException {
+    lock.lock();
+    try {
+      if (!isClosing) {
+        isClosing = true;
+        notEmpty.signal();
+      }
+    } finally {
+      lock.unlock();
+    }
+    try {
+      writerThread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while closing asynchronous writer.");
+    }
+    lock.lock();
+    try {
+      checkError();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void await(Condition condition) throws InterruptedIOException {
+    try {
+      condition.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for asynchronous writer.");
+    }
+  }
+
+  private void checkError() throws IOException {
+    if (error != null) {
+      throw new IOException("Asynchronous write failed.", error);
+    }
+  }
+
+  private void checkOpen() throws IOException {
+    checkError();
+    if (isClosing) {
+      throw new IOException("Asynchronous writer is closed.");
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void write() {
+    final Object[] batch = new Object[maxBatchSize];
+    try {
+      while (true) {
+        final int n;
+        final long flushRequest;
+        lock.lock();
+        try {
+          while (size == 0 && !isClosing && flushesDone == flushRequests) {
+            notEmpty.await();
+          }
+          n = Math.min(size, maxBatchSize);
+          for (int i = 0; i < n; i++) {
+            batch[i] = ring[head];
+            ring[head] = null;
+            head = (head + 1) % ring.length;
+          }
+          size -= n;
+          if (n > 0) {
+            notFull.signalAll();
+          } else if (isClosing) {
+            break;
+          }
+          flushRequest = (size == 0) ? flushRequests : flushesDone;
+        } finally {
+          lock.unlock();
+        }
+        for (int i = 0; i < n; i++) {
+          consumer.acceptChecked((T) batch[i]);
+          batch[i] = null;
+        }
+        if (flushRequest > flushesDone) {
+          consumer.flush();
+          lock.lock();
+          try {
+            flushesDone = flushRequest;
+            flushed.signalAll();
+          } finally {
+            lock.unlock();
+          }
+        }
+      }
+      consumer.close();
+      lock.lock();
+      try {
+        flushesDone = flushRequests;
+        flushed.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    } catch (Throwable e) {
+      try {
+        consumer.close();
+      } catch (Throwable suppressed) {
+        e.addSuppressed(suppressed);
+      }
+      lock.lock();
+      try {
+        error = e;
+        notFull.signalAll();
+        flushed.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+}
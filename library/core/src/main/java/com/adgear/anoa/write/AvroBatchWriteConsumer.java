@@ -3,29 +3,76 @@ package com.adgear.anoa.write;
 import org.apache.avro.file.DataFileWriter;
 import org.apache.avro.generic.IndexedRecord;
 
+import java.io.DataOutputStream;
 import java.io.IOException;
 
 class AvroBatchWriteConsumer<R extends IndexedRecord> implements WriteConsumer<R> {
 
   final DataFileWriter<R> dataFileWriter;
+  final DataOutputStream index;
+  final int indexInterval;
+  private long count = 0L;
+  private long lastIndexed = -1L;
 
   AvroBatchWriteConsumer(DataFileWriter<R> dataFileWriter) {
+    this(dataFileWriter, null, 0);
+  }
+
+  /**
+   * @param dataFileWriter writer to append records into
+   * @param index          stream into which to write the record-offset index, or null
+   * @param indexInterval  number of records between index entries
+   */
+  AvroBatchWriteConsumer(DataFileWriter<R> dataFileWriter,
+                         DataOutputStream index,
+                         int indexInterval) {
+    if (index != null && indexInterval <= 0) {
+      throw new IllegalArgumentException("Index interval must be positive: " + indexInterval);
+    }
     this.dataFileWriter = dataFileWriter;
+    this.index = index;
+    this.indexInterval = indexInterval;
+  }
+
+  /**
+   * Ends the current block and records its end offset along with the number of the next record,
+   * which will be the first in the following block.
+   */
+  private void writeIndexEntry() throws IOException {
+    if (lastIndexed != count) {
+      final long offset = dataFileWriter.sync();
+      index.writeLong(count);
+      index.writeLong(offset);
+      lastIndexed = count;
+    }
   }
 
   @Override
   public void acceptChecked(R record) throws IOException {
+    if (index != null && count % indexInterval == 0) {
+      writeIndexEntry();
+    }
     dataFileWriter.append(record);
+    count++;
   }
 
   @Override
   public void flush() throws IOException {
     dataFileWriter.flush();
+    if (index != null) {
+      index.flush();
+    }
   }
 
   @Override
   public void close() throws IOException {
+    if (index != null) {
+      writeIndexEntry();
+    }
     flush();
     dataFileWriter.close();
+    if (index != null) {
+      index.close();
+    }
   }
 }
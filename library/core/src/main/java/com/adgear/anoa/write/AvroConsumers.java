@@ -1,21 +1,28 @@
 package com.adgear.anoa.write;
 
+import com.adgear.anoa.read.AvroBatchIndex;
 import com.fasterxml.jackson.core.JsonGenerator;
 
 import org.apache.avro.Schema;
+import org.apache.avro.file.CodecFactory;
 import org.apache.avro.file.DataFileWriter;
 import org.apache.avro.generic.GenericDatumWriter;
 import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.generic.IndexedRecord;
 import org.apache.avro.io.EncoderFactory;
 import org.apache.avro.specific.SpecificData;
 import org.apache.avro.specific.SpecificDatumWriter;
 import org.apache.avro.specific.SpecificRecord;
 
 import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.UncheckedIOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Utility class for generating {@code WriteConsumer} instances to write Avro records.
@@ -65,6 +72,75 @@ final public class AvroConsumers {
     }
   }
 
+  /**
+   * Write as compressed Avro batch file along with a record-offset index, readable with {@code
+   * AvroStreams.batch(file, fromRecord, toRecord)}. The index is written into a sidecar file named
+   * after {@code file} with the {@code .index} suffix. A block ends at every index entry, therefore
+   * short intervals degrade compression.
+   *
+   * @param schema        Avro record schema to accept
+   * @param file          file to write into
+   * @param indexInterval number of records between index entries
+   */
+  static public WriteConsumer<GenericRecord> batch(
+      Schema schema,
+      File file,
+      int indexInterval) {
+    return batch(new DataFileWriter<>(new GenericDatumWriter<GenericRecord>(schema)),
+                 schema,
+                 file,
+                 indexInterval);
+  }
+
+  /**
+   * Write as compressed Avro batch file along with a record-offset index, readable with {@code
+   * AvroStreams.batch(recordClass, file, fromRecord, toRecord)}. The index is written into a
+   * sidecar file named after {@code file} with the {@code .index} suffix. A block ends at every
+   * index entry, therefore short intervals degrade compression.
+   *
+   * @param recordClass   Avro SpecificRecord class to accept
+   * @param file          file to write into
+   * @param indexInterval number of records between index entries
+   * @param <R>           Avro record type
+   */
+  static public <R extends SpecificRecord> WriteConsumer<R> batch(
+      Class<R> recordClass,
+      File file,
+      int indexInterval) {
+    Schema schema = SpecificData.get().getSchema(recordClass);
+    if (schema == null) {
+      throw new IllegalArgumentException("No schema found for class " + recordClass);
+    }
+    return batch(new DataFileWriter<>(new SpecificDatumWriter<R>(schema)),
+                 schema,
+                 file,
+                 indexInterval);
+  }
+
+  static private <R extends IndexedRecord> WriteConsumer<R> batch(
+      DataFileWriter<R> dataFileWriter,
+      Schema schema,
+      File file,
+      int indexInterval) {
+    final DataOutputStream index;
+    try {
+      index = new DataOutputStream(new BufferedOutputStream(
+          new FileOutputStream(file.getPath() + AvroBatchIndex.INDEX_SUFFIX)));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    try {
+      return new AvroBatchWriteConsumer<>(
+          dataFileWriter.create(schema, file), index, indexInterval);
+    } catch (IOException e) {
+      try {
+        index.close();
+      } catch (IOException ignored) {
+      }
+      throw new UncheckedIOException(e);
+    }
+  }
+
   /**
    * Write as compressed Avro batch file, readable with {@link org.apache.avro.file.DataFileStream}
    *
@@ -105,6 +181,230 @@ final public class AvroConsumers {
     }
   }
 
+  /**
+   * Write as compressed Avro batch file, readable with {@link org.apache.avro.file.DataFileStream}.
+   * Blocks are compressed in parallel in the common fork-join pool, and the output is identical to
+   * that of a {@link DataFileWriter} with the same codec and a sync interval of {@code blockSize}.
+   *
+   * @param schema            Avro record schema to accept
+   * @param file              file to write into
+   * @param codec             block compression codec
+   * @param blockSize         minimum size of uncompressed blocks, in bytes
+   * @param maxBlocksInFlight maximum number of blocks being compressed at once
+   */
+  static public WriteConsumer<GenericRecord> batch(
+      Schema schema,
+      File file,
+      CodecFactory codec,
+      int blockSize,
+      int maxBlocksInFlight) {
+    try {
+      return batch(schema, new FileOutputStream(file), codec, blockSize, maxBlocksInFlight);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Write as compressed Avro batch file, readable with {@link org.apache.avro.file.DataFileStream}.
+   * Blocks are compressed in parallel in the common fork-join pool, and the output is identical to
+   * that of a {@link DataFileWriter} with the same codec and a sync interval of {@code blockSize}.
+   *
+   * @param recordClass       Avro SpecificRecord class to accept
+   * @param file              file to write into
+   * @param codec             block compression codec
+   * @param blockSize         minimum size of uncompressed blocks, in bytes
+   * @param maxBlocksInFlight maximum number of blocks being compressed at once
+   * @param <R>               Avro record type
+   */
+  static public <R extends SpecificRecord> WriteConsumer<R> batch(
+      Class<R> recordClass,
+      File file,
+      CodecFactory codec,
+      int blockSize,
+      int maxBlocksInFlight) {
+    try {
+      return batch(recordClass, new FileOutputStream(file), codec, blockSize, maxBlocksInFlight);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Write as compressed Avro batch file, readable with {@link org.apache.avro.file.DataFileStream}.
+   * Blocks are compressed in parallel in the common fork-join pool, and the output is identical to
+   * that of a {@link DataFileWriter} with the same codec and a sync interval of {@code blockSize}.
+   *
+   * @param schema            Avro record schema to accept
+   * @param outputStream      stream to write into
+   * @param codec             block compression codec
+   * @param blockSize         minimum size of uncompressed blocks, in bytes
+   * @param maxBlocksInFlight maximum number of blocks being compressed at once
+   */
+  static public WriteConsumer<GenericRecord> batch(
+      Schema schema,
+      OutputStream outputStream,
+      CodecFactory codec,
+      int blockSize,
+      int maxBlocksInFlight) {
+    return batch(schema,
+                 outputStream,
+                 codec,
+                 blockSize,
+                 maxBlocksInFlight,
+                 ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Write as compressed Avro batch file, readable with {@link org.apache.avro.file.DataFileStream}.
+   * Blocks are compressed in parallel by the executor, and the output is identical to that of a
+   * {@link DataFileWriter} with the same codec and a sync interval of {@code blockSize}.
+   *
+   * @param schema            Avro record schema to accept
+   * @param file              file to write into
+   * @param codec             block compression codec
+   * @param blockSize         minimum size of uncompressed blocks, in bytes
+   * @param maxBlocksInFlight maximum number of blocks being compressed at once
+   * @param executor          used for compressing blocks
+   */
+  static public WriteConsumer<GenericRecord> batch(
+      Schema schema,
+      File file,
+      CodecFactory codec,
+      int blockSize,
+      int maxBlocksInFlight,
+      Executor executor) {
+    try {
+      return batch(
+          schema, new FileOutputStream(file), codec, blockSize, maxBlocksInFlight, executor);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Write as compressed Avro batch file, readable with {@link org.apache.avro.file.DataFileStream}.
+   * Blocks are compressed in parallel by the executor, and the output is identical to that of a
+   * {@link DataFileWriter} with the same codec and a sync interval of {@code blockSize}.
+   *
+   * @param schema            Avro record schema to accept
+   * @param outputStream      stream to write into
+   * @param codec             block compression codec
+   * @param blockSize         minimum size of uncompressed blocks, in bytes
+   * @param maxBlocksInFlight maximum number of blocks being compressed at once
+   * @param executor          used for compressing blocks
+   */
+  static public WriteConsumer<GenericRecord> batch(
+      Schema schema,
+      OutputStream outputStream,
+      CodecFactory codec,
+      int blockSize,
+      int maxBlocksInFlight,
+      Executor executor) {
+    try {
+      return new AvroParallelBatchWriteConsumer<>(new GenericDatumWriter<>(schema),
+                                                  schema,
+                                                  codec,
+                                                  outputStream,
+                                                  executor,
+                                                  blockSize,
+                                                  maxBlocksInFlight);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Write as compressed Avro batch file, readable with {@link org.apache.avro.file.DataFileStream}.
+   * Blocks are compressed in parallel in the common fork-join pool, and the output is identical to
+   * that of a {@link DataFileWriter} with the same codec and a sync interval of {@code blockSize}.
+   *
+   * @param recordClass       Avro SpecificRecord class to accept
+   * @param outputStream      stream to write into
+   * @param codec             block compression codec
+   * @param blockSize         minimum size of uncompressed blocks, in bytes
+   * @param maxBlocksInFlight maximum number of blocks being compressed at once
+   * @param <R>               Avro record type
+   */
+  static public <R extends SpecificRecord> WriteConsumer<R> batch(
+      Class<R> recordClass,
+      OutputStream outputStream,
+      CodecFactory codec,
+      int blockSize,
+      int maxBlocksInFlight) {
+    return batch(recordClass,
+                 outputStream,
+                 codec,
+                 blockSize,
+                 maxBlocksInFlight,
+                 ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Write as compressed Avro batch file, readable with {@link org.apache.avro.file.DataFileStream}.
+   * Blocks are compressed in parallel by the executor, and the output is identical to that of a
+   * {@link DataFileWriter} with the same codec and a sync interval of {@code blockSize}.
+   *
+   * @param recordClass       Avro SpecificRecord class to accept
+   * @param file              file to write into
+   * @param codec             block compression codec
+   * @param blockSize         minimum size of uncompressed blocks, in bytes
+   * @param maxBlocksInFlight maximum number of blocks being compressed at once
+   * @param executor          used for compressing blocks
+   * @param <R>               Avro record type
+   */
+  static public <R extends SpecificRecord> WriteConsumer<R> batch(
+      Class<R> recordClass,
+      File file,
+      CodecFactory codec,
+      int blockSize,
+      int maxBlocksInFlight,
+      Executor executor) {
+    try {
+      return batch(
+          recordClass, new FileOutputStream(file), codec, blockSize, maxBlocksInFlight, executor);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Write as compressed Avro batch file, readable with {@link org.apache.avro.file.DataFileStream}.
+   * Blocks are compressed in parallel by the executor, and the output is identical to that of a
+   * {@link DataFileWriter} with the same codec and a sync interval of {@code blockSize}.
+   *
+   * @param recordClass       Avro SpecificRecord class to accept
+   * @param outputStream      stream to write into
+   * @param codec             block compression codec
+   * @param blockSize         minimum size of uncompressed blocks, in bytes
+   * @param maxBlocksInFlight maximum number of blocks being compressed at once
+   * @param executor          used for compressing blocks
+   * @param <R>               Avro record type
+   */
+  static public <R extends SpecificRecord> WriteConsumer<R> batch(
+      Class<R> recordClass,
+      OutputStream outputStream,
+      CodecFactory codec,
+      int blockSize,
+      int maxBlocksInFlight,
+      Executor executor) {
+    Schema schema = SpecificData.get().getSchema(recordClass);
+    if (schema == null) {
+      throw new IllegalArgumentException("No schema found for class " + recordClass);
+    }
+    try {
+      return new AvroParallelBatchWriteConsumer<>(new SpecificDatumWriter<>(schema),
+                                                  schema,
+                                                  codec,
+                                                  outputStream,
+                                                  executor,
+                                                  blockSize,
+                                                  maxBlocksInFlight);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
   /**
    * Write as Avro binary encoding
    *
@@ -2,6 +2,7 @@ package com.adgear.anoa.write;
 
 import com.adgear.anoa.Anoa;
 import com.adgear.anoa.AnoaHandler;
+import com.adgear.anoa.EncodedBatch;
 import com.fasterxml.jackson.core.JsonGenerator;
 
 import org.apache.avro.Schema;
@@ -16,8 +17,11 @@ import org.apache.avro.specific.SpecificRecord;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.function.ToIntBiFunction;
+import java.util.stream.Stream;
 
 /**
  * Utility class for generating functions for serializing Avro records. Unless specified otherwise,
@@ -79,10 +83,126 @@ final public class AvroEncoders {
       } catch (IOException e) {
         throw new UncheckedIOException(e);
       }
-      return baos.toByteArray();
+      return baos.toByteArrayAndReset();
     };
   }
 
+  /**
+   * @param schema Avro schema of records to serialize
+   * @return A function which writes the record into the buffer at its position, advances the
+   * position past it and returns the encoded length. When the record doesn't fit, the function
+   * raises a {@link java.nio.BufferOverflowException} and leaves the position unchanged.
+   */
+  static public ToIntBiFunction<GenericRecord, ByteBuffer> binaryToBuffer(
+      Schema schema) {
+    return binaryToBuffer(new GenericDatumWriter<>(schema));
+  }
+
+  /**
+   * @param recordClass Class object of Avro records to be serialized
+   * @param <R>         Avro record type
+   * @return A function which writes the record into the buffer at its position, advances the
+   * position past it and returns the encoded length. When the record doesn't fit, the function
+   * raises a {@link java.nio.BufferOverflowException} and leaves the position unchanged.
+   */
+  static public <R extends SpecificRecord> ToIntBiFunction<R, ByteBuffer> binaryToBuffer(
+      Class<R> recordClass) {
+    return binaryToBuffer(new SpecificDatumWriter<>(recordClass));
+  }
+
+  static <R extends IndexedRecord> ToIntBiFunction<R, ByteBuffer> binaryToBuffer(
+      DatumWriter<R> writer) {
+    ByteBufferOutputStream out = new ByteBufferOutputStream();
+    Encoder encoder = EncoderFactory.get().directBinaryEncoder(out, null);
+    return (R record, ByteBuffer buffer) -> {
+      final int start = buffer.position();
+      out.buffer = buffer;
+      try {
+        writer.write(record, encoder);
+      } catch (IOException e) {
+        buffer.position(start);
+        throw new UncheckedIOException(e);
+      } catch (RuntimeException e) {
+        buffer.position(start);
+        throw e;
+      } finally {
+        out.buffer = null;
+      }
+      return buffer.position() - start;
+    };
+  }
+
+  /**
+   * @param schema Avro schema of records to serialize
+   * @return A function which returns a read-only view of the encoded record, which remains valid
+   * until the next call. The view's remaining bytes are the encoded length.
+   */
+  static public Function<GenericRecord, ByteBuffer> binaryView(
+      Schema schema) {
+    return binaryView(new GenericDatumWriter<>(schema));
+  }
+
+  /**
+   * @param recordClass Class object of Avro records to be serialized
+   * @param <R>         Avro record type
+   * @return A function which returns a read-only view of the encoded record, which remains valid
+   * until the next call. The view's remaining bytes are the encoded length.
+   */
+  static public <R extends SpecificRecord> Function<R, ByteBuffer> binaryView(
+      Class<R> recordClass) {
+    return binaryView(new SpecificDatumWriter<>(recordClass));
+  }
+
+  static <R extends IndexedRecord> Function<R, ByteBuffer> binaryView(
+      DatumWriter<R> writer) {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    Encoder encoder = EncoderFactory.get().directBinaryEncoder(baos, null);
+    return (R record) -> {
+      baos.reset();
+      try {
+        writer.write(record, encoder);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      return baos.asReadOnlyByteBuffer();
+    };
+  }
+
+  /**
+   * @param schema           Avro schema of records to serialize
+   * @param isLengthPrefixed whether to precede each record by its length
+   * @return A function which serializes a stream of records into a single contiguous buffer, in
+   * their binary encoding.
+   * @see EncodedBatch
+   */
+  static public Function<Stream<GenericRecord>, EncodedBatch> binaryBatch(
+      Schema schema,
+      boolean isLengthPrefixed) {
+    return binaryBatch(new GenericDatumWriter<>(schema), isLengthPrefixed);
+  }
+
+  /**
+   * @param recordClass      Class object of Avro records to be serialized
+   * @param isLengthPrefixed whether to precede each record by its length
+   * @param <R>              Avro record type
+   * @return A function which serializes a stream of records into a single contiguous buffer, in
+   * their binary encoding.
+   * @see EncodedBatch
+   */
+  static public <R extends SpecificRecord> Function<Stream<R>, EncodedBatch> binaryBatch(
+      Class<R> recordClass,
+      boolean isLengthPrefixed) {
+    return binaryBatch(new SpecificDatumWriter<>(recordClass), isLengthPrefixed);
+  }
+
+  static <R extends IndexedRecord> Function<Stream<R>, EncodedBatch> binaryBatch(
+      DatumWriter<R> writer,
+      boolean isLengthPrefixed) {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    Encoder encoder = EncoderFactory.get().directBinaryEncoder(baos, null);
+    return new BatchEncoder<>(baos, isLengthPrefixed, (R record) -> writer.write(record, encoder));
+  }
+
   static <R extends IndexedRecord, M> Function<Anoa<R, M>, Anoa<byte[], M>> binary(
       AnoaHandler<M> anoaHandler,
       DatumWriter<R> writer) {
@@ -91,7 +211,7 @@ final public class AvroEncoders {
     return anoaHandler.functionChecked((R record) -> {
       baos.reset();
       writer.write(record, encoder);
-      return baos.toByteArray();
+      return baos.toByteArrayAndReset();
     });
   }
 
@@ -155,7 +275,7 @@ final public class AvroEncoders {
       } catch (IOException e) {
         throw new UncheckedIOException(e);
       }
-      return baos.toString();
+      return baos.toStringAndReset();
     };
   }
 
@@ -174,7 +294,7 @@ final public class AvroEncoders {
       baos.reset();
       writer.write(record, encoder);
       encoder.flush();
-      return baos.toString();
+      return baos.toStringAndReset();
     });
   }
 
@@ -0,0 +1,223 @@
+package com.adgear.anoa.write;
+
+import org.apache.avro.Schema;
+import org.apache.avro.file.CodecFactory;
+import org.apache.avro.file.DataFileConstants;
+import org.apache.avro.file.DataFileWriter;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.IndexedRecord;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DatumWriter;
+import org.apache.avro.io.EncoderFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+
+/**
+ * Writes an Avro container file, with block compression performed in parallel by an {@link
+ * Executor}. Records are serialized on the calling thread into a block, which is handed over for
+ * compression once it holds at least {@code blockSize} bytes. Compressed blocks are written in
+ * order on the calling thread, and at most {@code maxBlocksInFlight} blocks are compressed at once.
+ *
+ * <p>Blocks are compressed by {@link DataFileWriter} instances with the same codec, each of which
+ * writes into a block buffer of its own. Since these instances generate their own sync markers, the
+ * marker at the end of each block is overwritten with the marker of the file header. The output is
+ * therefore identical to that of a {@link DataFileWriter} with the same codec, header and sync
+ * interval.
+ *
+ * @param <R> Avro record type
+ */
+class AvroParallelBatchWriteConsumer<R extends IndexedRecord> implements WriteConsumer<R> {
+
+  final private Schema schema;
+  final private CodecFactory codec;
+  final private DatumWriter<R> datumWriter;
+  final private OutputStream outputStream;
+  final private Executor executor;
+  final private int blockSize;
+  final private int maxBlocksInFlight;
+  final private byte[] sync;
+  final private Deque<CompletableFuture<byte[]>> inFlight = new ArrayDeque<>();
+  final private Queue<BlockWriter> idleBlockWriters = new ConcurrentLinkedQueue<>();
+  final private ByteArrayOutputStream block;
+  final private BinaryEncoder encoder;
+  private int[] recordEnds = new int[256];
+  private int recordCount = 0;
+
+  /**
+   * @param datumWriter       used for serializing records on the calling thread
+   * @param schema            Avro record schema
+   * @param codec             block compression codec
+   * @param outputStream      stream to write into
+   * @param executor          used for compressing blocks
+   * @param blockSize         minimum size of uncompressed blocks, in bytes
+   * @param maxBlocksInFlight maximum number of blocks being compressed at once
+   * @throws IOException when the header can't be written
+   */
+  AvroParallelBatchWriteConsumer(DatumWriter<R> datumWriter,
+                                 Schema schema,
+                                 CodecFactory codec,
+                                 OutputStream outputStream,
+                                 Executor executor,
+                                 int blockSize,
+                                 int maxBlocksInFlight) throws IOException {
+    if (blockSize < 32 || blockSize > (1 << 30) || maxBlocksInFlight <= 0) {
+      throw new IllegalArgumentException(
+          "Invalid block size or block count: " + blockSize + ", " + maxBlocksInFlight);
+    }
+    this.schema = schema;
+    this.codec = codec;
+    this.datumWriter = datumWriter;
+    this.outputStream = outputStream;
+    this.executor = executor;
+    this.blockSize = blockSize;
+    this.maxBlocksInFlight = maxBlocksInFlight;
+    final ByteArrayOutputStream header = new ByteArrayOutputStream(1024);
+    new DataFileWriter<>(new GenericDatumWriter<R>())
+        .setCodec(codec)
+        .create(schema, header)
+        .close();
+    final byte[] headerBytes = header.toByteArrayAndReset();
+    this.sync = Arrays.copyOfRange(
+        headerBytes, headerBytes.length - DataFileConstants.SYNC_SIZE, headerBytes.length);
+    outputStream.write(headerBytes);
+    this.block = new ByteArrayOutputStream(blockSize + (blockSize >> 2));
+    this.encoder = EncoderFactory.get().directBinaryEncoder(block, null);
+  }
+
+  @Override
+  public void acceptChecked(R record) throws IOException {
+    final int start = block.size();
+    try {
+      datumWriter.write(record, encoder);
+    } catch (IOException | RuntimeException e) {
+      final byte[] kept = Arrays.copyOf(block.toByteArray(), start);
+      block.reset();
+      block.write(kept, 0, kept.length);
+      throw e;
+    }
+    if (recordCount == recordEnds.length) {
+      recordEnds = Arrays.copyOf(recordEnds, recordCount * 2);
+    }
+    recordEnds[recordCount++] = block.size();
+    if (block.size() >= blockSize) {
+      submitBlock();
+      while (!inFlight.isEmpty() && inFlight.peekFirst().isDone()) {
+        writeNextBlock();
+      }
+    }
+  }
+
+  private void submitBlock() throws IOException {
+    if (recordCount == 0) {
+      return;
+    }
+    final byte[] bytes = block.toByteArrayAndReset();
+    final int[] ends = Arrays.copyOf(recordEnds, recordCount);
+    recordCount = 0;
+    while (inFlight.size() >= maxBlocksInFlight) {
+      writeNextBlock();
+    }
+    inFlight.addLast(CompletableFuture.supplyAsync(() -> compress(bytes, ends), executor));
+  }
+
+  private byte[] compress(byte[] bytes, int[] ends) {
+    BlockWriter blockWriter = idleBlockWriters.poll();
+    try {
+      if (blockWriter == null) {
+        blockWriter = new BlockWriter();
+      }
+      final byte[] compressed = blockWriter.write(bytes, ends);
+      System.arraycopy(sync, 0, compressed, compressed.length - sync.length, sync.length);
+      idleBlockWriters.offer(blockWriter);
+      return compressed;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void writeNextBlock() throws IOException {
+    final byte[] compressed;
+    try {
+      compressed = inFlight.removeFirst().join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof UncheckedIOException) {
+        throw ((UncheckedIOException) e.getCause()).getCause();
+      }
+      throw e;
+    }
+    outputStream.write(compressed);
+  }
+
+  /**
+   * Blocks until all records accepted so far have been compressed and written.
+   */
+  @Override
+  public void flush() throws IOException {
+    submitBlock();
+    while (!inFlight.isEmpty()) {
+      writeNextBlock();
+    }
+    outputStream.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      flush();
+    } finally {
+      outputStream.close();
+    }
+  }
+
+  /**
+   * Compresses blocks of serialized records with a {@link DataFileWriter} of its own, which writes
+   * each block into a buffer of its own, returned to the pool after each block. Its sync interval
+   * is also {@code blockSize}, such that it ends the block on its last record, at the latest when
+   * flushed.
+   */
+  final private class BlockWriter extends OutputStream {
+
+    final private DataFileWriter<R> dataFileWriter;
+    final private ByteArrayOutputStream target = new ByteArrayOutputStream(blockSize);
+
+    BlockWriter() throws IOException {
+      this.dataFileWriter = new DataFileWriter<>(new GenericDatumWriter<R>())
+          .setCodec(codec)
+          .setSyncInterval(blockSize)
+          .create(schema, this);
+      dataFileWriter.flush();
+    }
+
+    byte[] write(byte[] bytes, int[] ends) throws IOException {
+      target.reset();
+      int start = 0;
+      for (int end : ends) {
+        dataFileWriter.appendEncoded(ByteBuffer.wrap(bytes, start, end - start));
+        start = end;
+      }
+      dataFileWriter.flush();
+      return target.toByteArrayAndReset();
+    }
+
+    @Override
+    public void write(int b) {
+      target.write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      target.write(b, off, len);
+    }
+  }
+}
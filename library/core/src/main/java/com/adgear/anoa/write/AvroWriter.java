@@ -1,26 +1,42 @@
 package com.adgear.anoa.write;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
 
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericFixed;
 import org.apache.avro.generic.IndexedRecord;
 import org.apache.avro.specific.SpecificData;
+import org.apache.avro.util.Utf8;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 
 class AvroWriter<R extends IndexedRecord> extends AbstractRecordWriter<R> {
 
-  final Map<Schema.Field, AbstractWriter<Object>> fieldWriters;
-  final Map<Schema.Field, Object> fieldDefaults;
+  static final private int MAX_VERIFIED_SCHEMAS = 8;
+
+  final SerializableString[] fieldNames;
+  final Schema.Type[] fieldTypes;
+  final AbstractWriter<Object>[] fieldWriters;
+  final Predicate<Object>[] fieldIsDefault;
 
   final DefaultValueTester tester;
   final Schema schema;
 
+  /**
+   * Schema instances other than {@code schema} which have already been found equal to it, compared
+   * by reference. The array is replaced instead of being modified, such that the writer remains
+   * safe to share between threads.
+   */
+  private volatile Schema[] verifiedSchemas = new Schema[0];
+
   AvroWriter(Class<R> recordClass) {
     this(new AvroWriterSpecificData(), SpecificData.get().getSchema(recordClass));
   }
@@ -33,14 +49,78 @@ class AvroWriter<R extends IndexedRecord> extends AbstractRecordWriter<R> {
   private AvroWriter(DefaultValueTester tester, Schema schema) {
     this.tester = tester;
     this.schema = schema;
-    this.fieldWriters = new LinkedHashMap<>();
-    this.fieldDefaults = new HashMap<>();
-    schema.getFields().stream().forEach(f -> {
-      fieldWriters.put(f, (AbstractWriter<Object>) createWriter(f.schema()));
-      if (f.defaultValue() != null) {
-        fieldDefaults.put(f, tester.getDefaultValue(f));
-      }
-    });
+    final List<Schema.Field> fields = schema.getFields();
+    final int n = fields.size();
+    this.fieldNames = new SerializableString[n];
+    this.fieldTypes = new Schema.Type[n];
+    this.fieldWriters = (AbstractWriter<Object>[]) new AbstractWriter[n];
+    this.fieldIsDefault = (Predicate<Object>[]) new Predicate[n];
+    for (Schema.Field f : fields) {
+      final int i = f.pos();
+      fieldNames[i] = new SerializedString(f.name());
+      fieldTypes[i] = unwrapNullable(f.schema()).getType();
+      fieldWriters[i] = (AbstractWriter<Object>) createWriter(f.schema());
+      fieldIsDefault[i] = createDefaultPredicate(
+          f.schema(), (f.defaultValue() == null) ? null : tester.getDefaultValue(f));
+    }
+  }
+
+  static private Schema unwrapNullable(Schema schema) {
+    if (schema.getType() == Schema.Type.UNION && schema.getTypes().size() == 2) {
+      final List<Schema> types = schema.getTypes();
+      return types.get((types.get(0).getType() == Schema.Type.NULL) ? 1 : 0);
+    }
+    return schema;
+  }
+
+  /**
+   * @return A predicate which tests whether a non-null field value equals the default value,
+   * without resorting to the generic Avro comparison unless the field type is a complex type.
+   */
+  private Predicate<Object> createDefaultPredicate(Schema fieldSchema, Object defaultValue) {
+    if (defaultValue == null) {
+      return value -> false;
+    }
+    switch (unwrapNullable(fieldSchema).getType()) {
+      case BOOLEAN:
+      case BYTES:
+      case DOUBLE:
+      case FLOAT:
+      case INT:
+      case LONG:
+        return defaultValue::equals;
+      case ENUM:
+        final String symbol = defaultValue.toString();
+        return value -> value == defaultValue || symbol.equals(value.toString());
+      case FIXED:
+        final byte[] bytes = ((GenericFixed) defaultValue).bytes();
+        return value -> Arrays.equals(bytes, ((GenericFixed) value).bytes());
+      case STRING:
+        final String string = defaultValue.toString();
+        final Utf8 utf8 = new Utf8(string);
+        return value -> (value instanceof Utf8)
+                        ? utf8.equals(value)
+                        : string.equals(value.toString());
+      default:
+        return value -> !tester.testInequality(value, defaultValue, fieldSchema);
+    }
+  }
+
+  /**
+   * @return true if the value is null, or an empty array or map according to the field type
+   */
+  static private boolean isNullOrEmpty(Object value, Schema.Type type) {
+    if (value == null) {
+      return true;
+    }
+    switch (type) {
+      case ARRAY:
+        return (value instanceof Collection) && ((Collection) value).isEmpty();
+      case MAP:
+        return (value instanceof Map) && ((Map) value).isEmpty();
+      default:
+        return false;
+    }
   }
 
   private interface DefaultValueTester {
@@ -101,23 +181,38 @@ class AvroWriter<R extends IndexedRecord> extends AbstractRecordWriter<R> {
     throw new RuntimeException("Unsupported Avro schema: " + schema);
   }
 
-  @Override
-  protected void write(R record, JsonGenerator jacksonGenerator) throws IOException {
-    if (!record.getSchema().equals(schema)) {
+  private void checkSchema(R record) throws IOException {
+    final Schema recordSchema = record.getSchema();
+    if (recordSchema == schema) {
+      return;
+    }
+    final Schema[] verified = verifiedSchemas;
+    for (Schema verifiedSchema : verified) {
+      if (recordSchema == verifiedSchema) {
+        return;
+      }
+    }
+    if (!recordSchema.equals(schema)) {
       throw new IOException("Record does not have correct Avro schema:\n"
-                            + record.getSchema().toString(true));
+                            + recordSchema.toString(true));
+    }
+    if (verified.length < MAX_VERIFIED_SCHEMAS) {
+      final Schema[] updated = Arrays.copyOf(verified, verified.length + 1);
+      updated[verified.length] = recordSchema;
+      verifiedSchemas = updated;
     }
+  }
+
+  @Override
+  protected void write(R record, JsonGenerator jacksonGenerator) throws IOException {
+    checkSchema(record);
     jacksonGenerator.writeStartObject();
-    for (Map.Entry<Schema.Field, AbstractWriter<Object>> entry : fieldWriters.entrySet()) {
-      final Schema.Field field = entry.getKey();
-      final Object value = record.get(field.pos());
-      if (!(value == null
-            || (value instanceof Map && ((Map) value).isEmpty())
-            || (value instanceof Collection && ((Collection) value).isEmpty()))) {
-        final Object defaultValue = fieldDefaults.get(field);
-        if (defaultValue == null || tester.testInequality(value, defaultValue, field.schema())) {
-          jacksonGenerator.writeFieldName(field.name());
-          entry.getValue().write(value, jacksonGenerator);
+    for (int i = 0; i < fieldWriters.length; i++) {
+      final Object value = record.get(i);
+      if (!isNullOrEmpty(value, fieldTypes[i])) {
+        if (!fieldIsDefault[i].test(value)) {
+          jacksonGenerator.writeFieldName(fieldNames[i]);
+          fieldWriters[i].write(value, jacksonGenerator);
         }
       }
     }
@@ -126,19 +221,13 @@ class AvroWriter<R extends IndexedRecord> extends AbstractRecordWriter<R> {
 
   @Override
   void writeStrict(R record, JsonGenerator jacksonGenerator) throws IOException {
-    if (!record.getSchema().equals(schema)) {
-      throw new IOException("Record does not have correct Avro schema:\n"
-                            + record.getSchema().toString(true));
-    }
+    checkSchema(record);
     jacksonGenerator.writeStartObject();
-    for (Map.Entry<Schema.Field, AbstractWriter<Object>> entry : fieldWriters.entrySet()) {
-      final Schema.Field field = entry.getKey();
-      final Object value = record.get(field.pos());
-      if (!(value == null
-            || (value instanceof Map && ((Map) value).isEmpty())
-            || (value instanceof Collection && ((Collection) value).isEmpty()))) {
-        jacksonGenerator.writeFieldName(field.name());
-        entry.getValue().writeStrict(value, jacksonGenerator);
+    for (int i = 0; i < fieldWriters.length; i++) {
+      final Object value = record.get(i);
+      if (!isNullOrEmpty(value, fieldTypes[i])) {
+        jacksonGenerator.writeFieldName(fieldNames[i]);
+        fieldWriters[i].writeStrict(value, jacksonGenerator);
       }
     }
     jacksonGenerator.writeEndObject();  }
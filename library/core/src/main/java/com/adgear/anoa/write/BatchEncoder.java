@@ -0,0 +1,79 @@
+package com.adgear.anoa.write;
+
+import com.adgear.anoa.EncodedBatch;
+
+import org.jooq.lambda.fi.util.function.CheckedConsumer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Serializes a stream of records one after the other into a single buffer, and returns a copy of
+ * the buffer along with the record offsets. The buffer is only reset once per batch.
+ *
+ * @param <R> Record type
+ */
+class BatchEncoder<R> implements Function<Stream<R>, EncodedBatch> {
+
+  final private ByteArrayOutputStream baos;
+  final private boolean isLengthPrefixed;
+  final private CheckedConsumer<R> writer;
+  private int[] offsets = new int[256];
+
+  /**
+   * @param baos             buffer into which the writer serializes each record
+   * @param isLengthPrefixed whether to precede each record by its length
+   * @param writer           serializes a record into the buffer
+   */
+  BatchEncoder(ByteArrayOutputStream baos, boolean isLengthPrefixed, CheckedConsumer<R> writer) {
+    this.baos = baos;
+    this.isLengthPrefixed = isLengthPrefixed;
+    this.writer = writer;
+  }
+
+  @Override
+  public EncodedBatch apply(Stream<R> records) {
+    baos.reset();
+    int n = 0;
+    final Iterator<R> iterator = records.iterator();
+    while (iterator.hasNext()) {
+      if (n == offsets.length) {
+        offsets = Arrays.copyOf(offsets, 2 * n);
+      }
+      final int start = baos.size();
+      offsets[n++] = start;
+      if (isLengthPrefixed) {
+        baos.write(0);
+        baos.write(0);
+        baos.write(0);
+        baos.write(0);
+      }
+      write(iterator.next());
+      if (isLengthPrefixed) {
+        baos.putInt(start, baos.size() - start - EncodedBatch.PREFIX_LENGTH);
+      }
+    }
+    if (n == offsets.length) {
+      offsets = Arrays.copyOf(offsets, n + 1);
+    }
+    offsets[n] = baos.size();
+    return new EncodedBatch(baos.toByteArrayAndReset(), Arrays.copyOf(offsets, n + 1),
+                            isLengthPrefixed);
+  }
+
+  private void write(R record) {
+    try {
+      writer.accept(record);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } catch (Throwable e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
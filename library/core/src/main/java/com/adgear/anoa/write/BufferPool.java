@@ -0,0 +1,205 @@
+package com.adgear.anoa.write;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pool of byte arrays backing the buffers into which encoders serialize records. Array sizes are
+ * powers of two, from {@link #MIN_SIZE} to {@link #MAX_POOLED_SIZE} bytes, and each size class is
+ * recycled separately. Released arrays are first cached by the releasing thread, one per size class
+ * up to {@link #MAX_THREAD_LOCAL_SIZE} bytes, and otherwise returned to a global pool holding at
+ * most {@link #MAX_GLOBAL_BYTES_PER_CLASS} bytes per size class. Arrays which fit in neither, or
+ * which exceed the maximum pooled size following a spike, are left to the garbage collector.
+ */
+final public class BufferPool {
+
+  static final public int MIN_SIZE = 1 << 12;
+  static final public int MAX_THREAD_LOCAL_SIZE = 1 << 18;
+  static final public int MAX_POOLED_SIZE = 1 << 20;
+  static final public int MAX_GLOBAL_BYTES_PER_CLASS = 1 << 22;
+
+  static final private int MIN_SHIFT = Integer.numberOfTrailingZeros(MIN_SIZE);
+  static final private int CLASS_COUNT =
+      Integer.numberOfTrailingZeros(MAX_POOLED_SIZE) - MIN_SHIFT + 1;
+  static final private int THREAD_LOCAL_CLASS_COUNT =
+      Integer.numberOfTrailingZeros(MAX_THREAD_LOCAL_SIZE) - MIN_SHIFT + 1;
+
+  static final private ThreadLocal<byte[][]> THREAD_LOCAL =
+      ThreadLocal.withInitial(() -> new byte[THREAD_LOCAL_CLASS_COUNT][]);
+  static final private Queue<byte[]>[] GLOBAL = newGlobalPool();
+  static final private AtomicInteger[] GLOBAL_COUNTS = new AtomicInteger[CLASS_COUNT];
+
+  static final private LongAdder acquired = new LongAdder();
+  static final private LongAdder threadLocalHits = new LongAdder();
+  static final private LongAdder globalHits = new LongAdder();
+  static final private LongAdder released = new LongAdder();
+  static final private LongAdder discarded = new LongAdder();
+  static final private AtomicLong globalBytes = new AtomicLong();
+
+  static {
+    for (int i = 0; i < CLASS_COUNT; i++) {
+      GLOBAL_COUNTS[i] = new AtomicInteger();
+    }
+  }
+
+  private BufferPool() {
+  }
+
+  @SuppressWarnings("unchecked")
+  static private Queue<byte[]>[] newGlobalPool() {
+    final Queue<byte[]>[] pool = new Queue[CLASS_COUNT];
+    for (int i = 0; i < CLASS_COUNT; i++) {
+      pool[i] = new ConcurrentLinkedQueue<>();
+    }
+    return pool;
+  }
+
+  /**
+   * @param size a size no greater than {@link #MAX_POOLED_SIZE}
+   * @return index of the smallest size class holding at least {@code size} bytes
+   */
+  static private int sizeClass(int size) {
+    return (size <= MIN_SIZE) ? 0 : 32 - Integer.numberOfLeadingZeros(size - 1) - MIN_SHIFT;
+  }
+
+  /**
+   * @param minSize minimum array length
+   * @return an array of at least {@code minSize} bytes, with unspecified contents
+   */
+  static byte[] acquire(int minSize) {
+    acquired.increment();
+    if (minSize > MAX_POOLED_SIZE) {
+      return new byte[minSize];
+    }
+    final int sizeClass = sizeClass(minSize);
+    if (sizeClass < THREAD_LOCAL_CLASS_COUNT) {
+      final byte[][] cache = THREAD_LOCAL.get();
+      final byte[] array = cache[sizeClass];
+      if (array != null) {
+        cache[sizeClass] = null;
+        threadLocalHits.increment();
+        return array;
+      }
+    }
+    final byte[] array = GLOBAL[sizeClass].poll();
+    if (array != null) {
+      GLOBAL_COUNTS[sizeClass].decrementAndGet();
+      globalBytes.addAndGet(-array.length);
+      globalHits.increment();
+      return array;
+    }
+    return new byte[MIN_SIZE << sizeClass];
+  }
+
+  /**
+   * Returns an array to the pool, after which it must no longer be used by the caller. Arrays whose
+   * length is not a pooled size are discarded.
+   *
+   * @param array an array obtained from {@link #acquire(int)}
+   */
+  static void release(byte[] array) {
+    released.increment();
+    final int length = array.length;
+    if (length < MIN_SIZE || length > MAX_POOLED_SIZE || Integer.bitCount(length) != 1) {
+      discarded.increment();
+      return;
+    }
+    final int sizeClass = sizeClass(length);
+    if (sizeClass < THREAD_LOCAL_CLASS_COUNT) {
+      final byte[][] cache = THREAD_LOCAL.get();
+      if (cache[sizeClass] == null) {
+        cache[sizeClass] = array;
+        return;
+      }
+    }
+    if (GLOBAL_COUNTS[sizeClass].incrementAndGet() * (long) length > MAX_GLOBAL_BYTES_PER_CLASS) {
+      GLOBAL_COUNTS[sizeClass].decrementAndGet();
+      discarded.increment();
+      return;
+    }
+    globalBytes.addAndGet(length);
+    GLOBAL[sizeClass].offer(array);
+  }
+
+  /**
+   * @return a snapshot of the pool's usage counters
+   */
+  static public Statistics statistics() {
+    return new Statistics(acquired.sum(),
+                          threadLocalHits.sum(),
+                          globalHits.sum(),
+                          released.sum(),
+                          discarded.sum(),
+                          globalBytes.get());
+  }
+
+  /**
+   * Snapshot of the pool's usage counters, cumulative since the class was loaded.
+   */
+  static final public class Statistics {
+
+    /**
+     * Number of arrays handed out.
+     */
+    final public long acquired;
+
+    /**
+     * Number of arrays handed out from the acquiring thread's cache.
+     */
+    final public long threadLocalHits;
+
+    /**
+     * Number of arrays handed out from the global pool.
+     */
+    final public long globalHits;
+
+    /**
+     * Number of arrays returned.
+     */
+    final public long released;
+
+    /**
+     * Number of returned arrays left to the garbage collector.
+     */
+    final public long discarded;
+
+    /**
+     * Total size of the arrays currently held in the global pool, in bytes.
+     */
+    final public long globalBytes;
+
+    Statistics(long acquired,
+               long threadLocalHits,
+               long globalHits,
+               long released,
+               long discarded,
+               long globalBytes) {
+      this.acquired = acquired;
+      this.threadLocalHits = threadLocalHits;
+      this.globalHits = globalHits;
+      this.released = released;
+      this.discarded = discarded;
+      this.globalBytes = globalBytes;
+    }
+
+    /**
+     * @return number of arrays which had to be allocated
+     */
+    public long allocated() {
+      return acquired - threadLocalHits - globalHits;
+    }
+
+    @Override
+    public String toString() {
+      return "BufferPool.Statistics{acquired=" + acquired
+             + ", threadLocalHits=" + threadLocalHits
+             + ", globalHits=" + globalHits
+             + ", released=" + released
+             + ", discarded=" + discarded
+             + ", globalBytes=" + globalBytes + "}";
+    }
+  }
+}
@@ -3,22 +3,32 @@ package com.adgear.anoa.write;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 /**
- * Unsynchronized version of java.io.ByteArrayOutputStream
+ * Unsynchronized version of java.io.ByteArrayOutputStream, backed by arrays from the {@link
+ * BufferPool}. The backing array is returned to the pool upon each reset and a new one is acquired
+ * on the next write, hence encoders share their buffers with all other encoders on the same thread,
+ * and a buffer which grew to accommodate an unusually large record does not outlive it.
  */
 class ByteArrayOutputStream extends java.io.ByteArrayOutputStream {
 
-  private int oldCapacity;
+  static final private byte[] EMPTY = new byte[0];
+
+  final private int initialCapacity;
 
   ByteArrayOutputStream() {
     this(32768);
   }
 
   ByteArrayOutputStream(int size) {
-    super(size);
-    oldCapacity = size;
+    super(0);
+    if (size < 0) {
+      throw new IllegalArgumentException("Negative initial size: " + size);
+    }
+    initialCapacity = size;
+    buf = EMPTY;
   }
 
   private void ensureCapacity(int minCapacity) {
@@ -29,20 +39,22 @@ class ByteArrayOutputStream extends java.io.ByteArrayOutputStream {
   }
 
   private void grow(int minCapacity) {
-    // overflow-conscious code
-    int newCapacity = oldCapacity + buf.length;
-    if (newCapacity - minCapacity < 0) {
-      newCapacity = minCapacity;
+    if (minCapacity < 0) {
+      // overflow
+      throw new OutOfMemoryError();
     }
-    if (newCapacity < 0) {
-      if (minCapacity < 0) {
-        // overflow
-        throw new OutOfMemoryError();
-      }
-      newCapacity = Integer.MAX_VALUE;
+    final long newCapacity = Math.max(minCapacity, Math.max(initialCapacity, 2L * buf.length));
+    final byte[] newBuf = BufferPool.acquire((int) Math.min(newCapacity, Integer.MAX_VALUE));
+    System.arraycopy(buf, 0, newBuf, 0, count);
+    release();
+    buf = newBuf;
+  }
+
+  private void release() {
+    if (buf != EMPTY) {
+      BufferPool.release(buf);
+      buf = EMPTY;
     }
-    oldCapacity = buf.length;
-    buf = Arrays.copyOf(buf, newCapacity);
   }
 
   @Override
@@ -63,11 +75,52 @@ class ByteArrayOutputStream extends java.io.ByteArrayOutputStream {
     count += 1;
   }
 
+  /**
+   * Overwrites four previously written bytes with a big-endian integer.
+   *
+   * @param position offset of the first byte to overwrite
+   * @param value    integer to write
+   */
+  void putInt(int position, int value) {
+    if (position < 0 || position + 4 > count) {
+      throw new IndexOutOfBoundsException();
+    }
+    buf[position] = (byte) (value >>> 24);
+    buf[position + 1] = (byte) (value >>> 16);
+    buf[position + 2] = (byte) (value >>> 8);
+    buf[position + 3] = (byte) value;
+  }
+
   @Override
   public byte toByteArray()[] {
     return Arrays.copyOf(buf, count);
   }
 
+  /**
+   * @return a copy of the contents, after which the stream is reset
+   */
+  byte[] toByteArrayAndReset() {
+    final byte[] bytes = toByteArray();
+    reset();
+    return bytes;
+  }
+
+  /**
+   * @return the contents decoded with the default charset, after which the stream is reset
+   */
+  String toStringAndReset() {
+    final String string = toString();
+    reset();
+    return string;
+  }
+
+  /**
+   * @return a read-only view of the contents, valid until the next write or reset
+   */
+  ByteBuffer asReadOnlyByteBuffer() {
+    return ByteBuffer.wrap(buf, 0, count).asReadOnlyBuffer();
+  }
+
   @Override
   public int size() {
     return count;
@@ -86,6 +139,7 @@ class ByteArrayOutputStream extends java.io.ByteArrayOutputStream {
   @Override
   public void reset() {
     count = 0;
+    release();
   }
 
   @Override
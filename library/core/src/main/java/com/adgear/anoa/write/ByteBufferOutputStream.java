@@ -0,0 +1,23 @@
+package com.adgear.anoa.write;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Writes into a {@link ByteBuffer}, which may be replaced between writes. Writing beyond the
+ * buffer's limit raises a {@link java.nio.BufferOverflowException}.
+ */
+class ByteBufferOutputStream extends OutputStream {
+
+  ByteBuffer buffer;
+
+  @Override
+  public void write(int b) {
+    buffer.put((byte) b);
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) {
+    buffer.put(b, off, len);
+  }
+}
@@ -1,14 +1,22 @@
 package com.adgear.anoa.write;
 
+import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.Message;
 import com.google.protobuf.MessageLite;
 
 import com.adgear.anoa.Anoa;
 import com.adgear.anoa.AnoaHandler;
+import com.adgear.anoa.EncodedBatch;
 import com.fasterxml.jackson.core.JsonGenerator;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.function.ToIntBiFunction;
+import java.util.stream.Stream;
 
 /**
  * Utility class for generating functions for serializing Protobuf records. Unless specified
@@ -36,6 +44,82 @@ final public class ProtobufEncoders {
     return anoaHandler.function(MessageLite::toByteArray);
   }
 
+  /**
+   * Serializes Protobuf records as binary blobs.
+   *
+   * @param <R> Protobuf record type
+   * @return A function which writes the record into the buffer at its position, advances the
+   * position past it and returns the encoded length. When the record doesn't fit, the function
+   * raises a {@link java.nio.BufferOverflowException} and leaves the position unchanged.
+   */
+  static public <R extends MessageLite> ToIntBiFunction<R, ByteBuffer> binaryToBuffer() {
+    return (R record, ByteBuffer buffer) -> {
+      final int size = record.getSerializedSize();
+      if (buffer.remaining() < size) {
+        throw new BufferOverflowException();
+      }
+      final int start = buffer.position();
+      try {
+        final CodedOutputStream cos = CodedOutputStream.newInstance(buffer);
+        record.writeTo(cos);
+        cos.flush();
+      } catch (IOException e) {
+        buffer.position(start);
+        throw new UncheckedIOException(e);
+      }
+      return size;
+    };
+  }
+
+  /**
+   * Serializes Protobuf records as binary blobs.
+   *
+   * @param <R> Protobuf record type
+   * @return A function which returns a read-only view of the encoded record, which remains valid
+   * until the next call. The view's remaining bytes are the encoded length. The view is backed by
+   * an array from the {@link BufferPool}, which is returned to the pool upon the next call.
+   */
+  static public <R extends MessageLite> Function<R, ByteBuffer> binaryView() {
+    return new Function<R, ByteBuffer>() {
+      private byte[] buffer = null;
+
+      @Override
+      public ByteBuffer apply(R record) {
+        final int size = record.getSerializedSize();
+        if (buffer != null) {
+          BufferPool.release(buffer);
+        }
+        buffer = BufferPool.acquire(size);
+        try {
+          final CodedOutputStream cos = CodedOutputStream.newInstance(buffer, 0, size);
+          record.writeTo(cos);
+          cos.checkNoSpaceLeft();
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+        return ByteBuffer.wrap(buffer, 0, size).asReadOnlyBuffer();
+      }
+    };
+  }
+
+  /**
+   * Serializes Protobuf records as binary blobs.
+   *
+   * @param isLengthPrefixed whether to precede each record by its length
+   * @param <R>              Protobuf record type
+   * @return A function which serializes a stream of records into a single contiguous buffer.
+   * @see EncodedBatch
+   */
+  static public <R extends MessageLite> Function<Stream<R>, EncodedBatch> binaryBatch(
+      boolean isLengthPrefixed) {
+    final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    final CodedOutputStream cos = CodedOutputStream.newInstance(baos);
+    return new BatchEncoder<>(baos, isLengthPrefixed, (R record) -> {
+      record.writeTo(cos);
+      cos.flush();
+    });
+  }
+
   /**
    * @param recordClass Protobuf record class object
    * @param supplier    called for each new record serialization
@@ -6,8 +6,6 @@ import com.google.protobuf.Message;
 import com.fasterxml.jackson.core.JsonGenerator;
 
 import java.io.IOException;
-import java.util.Iterator;
-import java.util.Map;
 
 class ProtobufMapEntryWriter<R extends Message> extends ProtobufWriter<R> {
 
@@ -17,12 +15,9 @@ class ProtobufMapEntryWriter<R extends Message> extends ProtobufWriter<R> {
 
   ProtobufMapEntryWriter(Message.Builder builder) {
     super(builder);
-    Iterator<Map.Entry<Descriptors.FieldDescriptor, AbstractWriter<Object>>> iterator =
-        fieldWriters.entrySet().iterator();
-    this.keyField = iterator.next().getKey();
-    Map.Entry<Descriptors.FieldDescriptor, AbstractWriter<Object>> valueEntry = iterator.next();
-    this.valueField = valueEntry.getKey();
-    this.valueWriter = valueEntry.getValue();
+    this.keyField = fields[0];
+    this.valueField = fields[1];
+    this.valueWriter = fieldWriters[1];
   }
 
   @Override
@@ -2,19 +2,24 @@ package com.adgear.anoa.write;
 
 import com.google.protobuf.Descriptors;
 import com.google.protobuf.Message;
+import com.google.protobuf.MessageLite;
 
 import com.adgear.anoa.AnoaReflectionUtils;
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
 
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.List;
+import java.util.function.Predicate;
 
 class ProtobufWriter<R extends Message> extends AbstractRecordWriter<R> {
 
-  final Map<Descriptors.FieldDescriptor, AbstractWriter<Object>> fieldWriters;
-  final Map<Descriptors.FieldDescriptor, Object> fieldDefaults;
+  final Descriptors.FieldDescriptor[] fields;
+  final SerializableString[] fieldNames;
+  final AbstractWriter<Object>[] fieldWriters;
+  final Predicate<Object>[] fieldIsDefault;
+  final boolean[] isFieldMap;
 
   final boolean isMapEntry;
   final Message.Builder builder;
@@ -22,11 +27,18 @@ class ProtobufWriter<R extends Message> extends AbstractRecordWriter<R> {
   @SuppressWarnings("unchecked")
   protected ProtobufWriter(Message.Builder builder) {
     this.builder = builder;
-    fieldWriters = new LinkedHashMap<>();
-    fieldDefaults = new HashMap<>();
     Descriptors.Descriptor descriptor = builder.getDescriptorForType();
     isMapEntry = descriptor.getOptions().getMapEntry();
-    descriptor.getFields().forEach(this::updateMapsWithField);
+    final List<Descriptors.FieldDescriptor> fieldList = descriptor.getFields();
+    final int n = fieldList.size();
+    fields = fieldList.toArray(new Descriptors.FieldDescriptor[n]);
+    fieldNames = new SerializableString[n];
+    fieldWriters = (AbstractWriter<Object>[]) new AbstractWriter[n];
+    fieldIsDefault = (Predicate<Object>[]) new Predicate[n];
+    isFieldMap = new boolean[n];
+    for (int i = 0; i < n; i++) {
+      initField(i);
+    }
   }
 
   ProtobufWriter(Class<R> recordClass) {
@@ -69,42 +81,58 @@ class ProtobufWriter<R extends Message> extends AbstractRecordWriter<R> {
   }
 
   @SuppressWarnings("unchecked")
-  private void updateMapsWithField(Descriptors.FieldDescriptor field) {
-    fieldWriters.put(field, (AbstractWriter<Object>) createWriter(field));
-    if (!field.isRepeated()) {
-      if (field.getType() == Descriptors.FieldDescriptor.Type.MESSAGE) {
-        fieldDefaults.put(field, builder.newBuilderForField(field).getDefaultInstanceForType());
-      } else {
-        fieldDefaults.put(field, builder.getField(field));
-      }
+  private void initField(int i) {
+    final Descriptors.FieldDescriptor field = fields[i];
+    fieldNames[i] = new SerializedString(field.getName());
+    fieldWriters[i] = (AbstractWriter<Object>) createWriter(field);
+    isFieldMap[i] = (fieldWriters[i] instanceof ProtobufWriter)
+                    && ((ProtobufWriter) fieldWriters[i]).isMapEntry;
+    fieldIsDefault[i] = field.isRepeated() ? (value -> false) : createDefaultPredicate(field);
+  }
+
+  /**
+   * @return A predicate which tests whether a non-null field value equals the default value. Enum
+   * defaults are compared by reference, and messages are default if and only if they serialize to
+   * nothing, which only costs a look-up of their memoized serialized size.
+   */
+  private Predicate<Object> createDefaultPredicate(Descriptors.FieldDescriptor field) {
+    switch (field.getJavaType()) {
+      case MESSAGE:
+        final Object defaultMessage = builder.newBuilderForField(field).getDefaultInstanceForType();
+        return value -> value == defaultMessage || ((MessageLite) value).getSerializedSize() == 0;
+      case ENUM:
+        final Object defaultEnum = builder.getField(field);
+        return value -> value == defaultEnum;
+      default:
+        final Object defaultValue = builder.getField(field);
+        return defaultValue::equals;
     }
   }
 
   @Override
   void write(R msg, JsonGenerator jacksonGenerator) throws IOException {
     jacksonGenerator.writeStartObject();
-    for (Map.Entry<Descriptors.FieldDescriptor, AbstractWriter<Object>> e : fieldWriters.entrySet()) {
-      Descriptors.FieldDescriptor field = e.getKey();
-      AbstractWriter<Object> writer = e.getValue();
+    for (int i = 0; i < fields.length; i++) {
+      final Descriptors.FieldDescriptor field = fields[i];
+      final AbstractWriter<Object> writer = fieldWriters[i];
       if (field.isRepeated()) {
         int n = msg.getRepeatedFieldCount(field);
         if (n > 0) {
-          jacksonGenerator.writeFieldName(field.getName());
-          boolean isFieldMap = (writer instanceof ProtobufWriter)
-                               && ((ProtobufWriter) writer).isMapEntry;
-          if (isFieldMap) {
+          jacksonGenerator.writeFieldName(fieldNames[i]);
+          if (isFieldMap[i]) {
             jacksonGenerator.writeStartObject();
           } else {
             jacksonGenerator.writeStartArray(n);
           }
-          for (int i = 0; i < n; i++) {
-            Object value = msg.getRepeatedField(field, i);
+          for (int j = 0; j < n; j++) {
+            Object value = msg.getRepeatedField(field, j);
             if (value == null) {
               jacksonGenerator.writeNull();
             } else {
               writer.write(value, jacksonGenerator);
-            }            }
-          if (isFieldMap) {
+            }
+          }
+          if (isFieldMap[i]) {
             jacksonGenerator.writeEndObject();
           } else {
             jacksonGenerator.writeEndArray();
@@ -112,8 +140,8 @@ class ProtobufWriter<R extends Message> extends AbstractRecordWriter<R> {
         }
       } else if (msg.hasField(field)) {
         Object value = msg.getField(field);
-        if (value != null && !value.equals(fieldDefaults.get(field))) {
-          jacksonGenerator.writeFieldName(field.getName());
+        if (value != null && !fieldIsDefault[i].test(value)) {
+          jacksonGenerator.writeFieldName(fieldNames[i]);
           writer.write(value, jacksonGenerator);
         }
       }
@@ -124,29 +152,27 @@ class ProtobufWriter<R extends Message> extends AbstractRecordWriter<R> {
   @Override
   void writeStrict(R msg, JsonGenerator jacksonGenerator) throws IOException {
     jacksonGenerator.writeStartObject();
-    for (Map.Entry<Descriptors.FieldDescriptor, AbstractWriter<Object>> e : fieldWriters.entrySet()) {
-      Descriptors.FieldDescriptor field = e.getKey();
-      AbstractWriter<Object> writer = e.getValue();
+    for (int i = 0; i < fields.length; i++) {
+      final Descriptors.FieldDescriptor field = fields[i];
+      final AbstractWriter<Object> writer = fieldWriters[i];
       if (field.isRepeated()) {
         int n = msg.getRepeatedFieldCount(field);
         if (n > 0) {
-          jacksonGenerator.writeFieldName(field.getName());
-          boolean isFieldMap = (writer instanceof ProtobufWriter)
-                               && ((ProtobufWriter) writer).isMapEntry;
-          if (isFieldMap) {
+          jacksonGenerator.writeFieldName(fieldNames[i]);
+          if (isFieldMap[i]) {
             jacksonGenerator.writeStartObject();
           } else {
             jacksonGenerator.writeStartArray(n);
           }
-          for (int i = 0; i < n; i++) {
-            Object value = msg.getRepeatedField(field, i);
+          for (int j = 0; j < n; j++) {
+            Object value = msg.getRepeatedField(field, j);
             if (value == null) {
               jacksonGenerator.writeNull();
             } else {
               writer.writeStrict(value, jacksonGenerator);
             }
           }
-          if (isFieldMap) {
+          if (isFieldMap[i]) {
             jacksonGenerator.writeEndObject();
           } else {
             jacksonGenerator.writeEndArray();
@@ -154,10 +180,10 @@ class ProtobufWriter<R extends Message> extends AbstractRecordWriter<R> {
         }
       } else if (msg.hasField(field)) {
         Object value = msg.getField(field);
-        jacksonGenerator.writeFieldName(field.getName());
+        jacksonGenerator.writeFieldName(fieldNames[i]);
         if (value == null
             || (field.getType() == Descriptors.FieldDescriptor.Type.MESSAGE
-                && value.equals(fieldDefaults.get(field)))) {
+                && fieldIsDefault[i].test(value))) {
           jacksonGenerator.writeNull();
         } else {
           writer.writeStrict(value, jacksonGenerator);
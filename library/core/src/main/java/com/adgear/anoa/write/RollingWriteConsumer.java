@@ -0,0 +1,333 @@
+package com.adgear.anoa.write;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * A {@link WriteConsumer} which writes into a sequence of files, moving on to the next file once
+ * the current one reaches a given size or age. Any format is supported, by way of a function which
+ * wraps each file's output stream into a consumer, e.g. {@code os -> AvroConsumers.batch(schema,
+ * os)}.
+ *
+ * <p>A background thread opens the next file ahead of time, and finishes, fsyncs and closes the
+ * previous file once the consumer has moved on, such that rolling over is cheap for the calling
+ * thread. Any exception raised on the background thread is rethrown as an {@link IOException} by
+ * every subsequent call to accept, flush or close. When closed, the file opened ahead of time is
+ * deleted.
+ *
+ * <p>The next file is opened under a hidden temporary name in the directory of the current file,
+ * and is renamed as named by the {@link NamingPolicy} when it becomes current. The rename is
+ * atomic, hence all files must be named on the same file system.
+ *
+ * <p>File sizes are measured in bytes which have reached the output stream, hence wrapped consumers
+ * which buffer records may overshoot the size limit. File ages are only checked in accept and flush
+ * calls, therefore a file may outlive its age limit while no records are written.
+ *
+ * @param <T> Value type
+ */
+final public class RollingWriteConsumer<T> implements WriteConsumer<T> {
+
+  /**
+   * Names each file in the sequence.
+   */
+  @FunctionalInterface
+  public interface NamingPolicy {
+
+    /**
+     * @param sequence  position of the file in the sequence, starting at zero
+     * @param timestamp time at which the file becomes current, in milliseconds since the epoch
+     * @return the file to write into
+     */
+    File name(long sequence, long timestamp);
+
+    /**
+     * @param directory directory in which to create the files
+     * @param prefix    file name prefix
+     * @param suffix    file name suffix
+     * @return A policy naming files in the form {@code <prefix><sequence><suffix>}, with the
+     * sequence number padded to ten digits such that file names sort in sequence order.
+     */
+    static NamingPolicy sequential(File directory, String prefix, String suffix) {
+      return (long sequence, long timestamp) ->
+          new File(directory, String.format("%s%010d%s", prefix, sequence, suffix));
+    }
+  }
+
+  static final private AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+  final private Function<OutputStream, WriteConsumer<T>> consumerFactory;
+  final private NamingPolicy namingPolicy;
+  final private long maxBytes;
+  final private long maxMillis;
+  final private ExecutorService background;
+  private long sequence = 0L;
+  private RollingFile<T> current;
+  private Future<RollingFile<T>> next;
+  private volatile Throwable error = null;
+  private boolean isClosed = false;
+
+  /**
+   * @param consumerFactory wraps the output stream of each file
+   * @param namingPolicy    names each file
+   * @param maxBytes        size in bytes at which to move on to the next file
+   * @param maxMillis       age in milliseconds at which to move on to the next file
+   */
+  public RollingWriteConsumer(Function<OutputStream, WriteConsumer<T>> consumerFactory,
+                              NamingPolicy namingPolicy,
+                              long maxBytes,
+                              long maxMillis) {
+    if (maxBytes <= 0L || maxMillis <= 0L) {
+      throw new IllegalArgumentException(
+          "Invalid size or age limits: " + maxBytes + ", " + maxMillis);
+    }
+    this.consumerFactory = consumerFactory;
+    this.namingPolicy = namingPolicy;
+    this.maxBytes = maxBytes;
+    this.maxMillis = maxMillis;
+    this.background = Executors.newSingleThreadExecutor(runnable -> {
+      final Thread thread = new Thread(
+          runnable, "anoa-rolling-writer-" + THREAD_COUNTER.getAndIncrement());
+      thread.setDaemon(true);
+      return thread;
+    });
+    try {
+      final long now = System.currentTimeMillis();
+      final File file = namingPolicy.name(sequence, now);
+      this.current = open(sequence++, file).start(file, now);
+    } catch (IOException e) {
+      background.shutdown();
+      throw new UncheckedIOException(e);
+    }
+    this.next = preOpen();
+  }
+
+  private RollingFile<T> open(long n, File file) throws IOException {
+    final SyncingOutputStream outputStream = new SyncingOutputStream(new FileOutputStream(file));
+    try {
+      return new RollingFile<>(n, file, outputStream, consumerFactory.apply(outputStream));
+    } catch (RuntimeException e) {
+      outputStream.close();
+      throw e;
+    }
+  }
+
+  private Future<RollingFile<T>> preOpen() {
+    final long n = sequence++;
+    final File directory = current.file.getAbsoluteFile().getParentFile();
+    return background.submit(
+        () -> open(n, File.createTempFile(".anoa-rolling-", ".tmp", directory)));
+  }
+
+  private RollingFile<T> start(RollingFile<T> rollingFile) throws IOException {
+    final long now = System.currentTimeMillis();
+    return rollingFile.start(namingPolicy.name(rollingFile.sequence, now), now);
+  }
+
+  private void checkError() throws IOException {
+    if (error != null) {
+      throw new IOException("Background file operation failed.", error);
+    }
+  }
+
+  private void checkOpen() throws IOException {
+    checkError();
+    if (isClosed) {
+      throw new IOException("Rolling writer is closed.");
+    }
+  }
+
+  private boolean isTooOld() {
+    return System.currentTimeMillis() - current.startTime >= maxMillis;
+  }
+
+  private boolean isTooLarge() {
+    return current.outputStream.count >= maxBytes;
+  }
+
+  private void roll() throws IOException {
+    final RollingFile<T> previous = current;
+    current = start(get(next));
+    next = preOpen();
+    background.execute(() -> {
+      try {
+        previous.close();
+      } catch (Throwable e) {
+        error = e;
+      }
+    });
+  }
+
+  static private <T> RollingFile<T> get(Future<RollingFile<T>> future) throws IOException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while opening next file.");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException("Failed to open next file.", e.getCause());
+    }
+  }
+
+  @Override
+  public void acceptChecked(T record) throws IOException {
+    checkOpen();
+    if (isTooOld()) {
+      roll();
+    }
+    current.consumer.acceptChecked(record);
+    if (isTooLarge()) {
+      roll();
+    }
+  }
+
+  @Override
+  public void flush() throws IOException {
+    checkOpen();
+    current.consumer.flush();
+    if (isTooOld() || isTooLarge()) {
+      roll();
+    }
+  }
+
+  /**
+   * Closes the current file and deletes the file opened ahead of time, after waiting for all
+   * background operations to complete.
+   */
+  @Override
+  public void close() throws IOException {
+    if (isClosed) {
+      checkError();
+      return;
+    }
+    isClosed = true;
+    try {
+      current.close();
+    } finally {
+      background.execute(() -> {
+        try {
+          final RollingFile<T> unused = next.get();
+          unused.outputStream.discard();
+          if (!unused.file.delete()) {
+            throw new IOException("Failed to delete unused file " + unused.file);
+          }
+        } catch (Throwable e) {
+          if (error == null) {
+            error = e;
+          }
+        }
+      });
+      background.shutdown();
+      try {
+        background.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while closing rolling writer.");
+      }
+    }
+    checkError();
+  }
+
+  static final private class RollingFile<T> {
+
+    final long sequence;
+    final SyncingOutputStream outputStream;
+    final WriteConsumer<T> consumer;
+    File file;
+    long startTime;
+
+    RollingFile(long sequence,
+                File file,
+                SyncingOutputStream outputStream,
+                WriteConsumer<T> consumer) {
+      this.sequence = sequence;
+      this.file = file;
+      this.outputStream = outputStream;
+      this.consumer = consumer;
+    }
+
+    /**
+     * Renames the file, unless it already has the given name, and starts its age.
+     */
+    RollingFile<T> start(File name, long time) throws IOException {
+      if (!name.equals(file)) {
+        Files.move(file.toPath(), name.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        file = name;
+      }
+      startTime = time;
+      return this;
+    }
+
+    /**
+     * Closes the consumer, then the file in case the consumer left it open.
+     */
+    void close() throws IOException {
+      try {
+        consumer.close();
+      } finally {
+        outputStream.close();
+      }
+    }
+  }
+
+  /**
+   * Counts the bytes written into a file, and fsyncs the file before closing it.
+   */
+  static final private class SyncingOutputStream extends FilterOutputStream {
+
+    final private FileOutputStream fileOutputStream;
+    private long count = 0L;
+    private boolean isClosed = false;
+
+    SyncingOutputStream(FileOutputStream fileOutputStream) {
+      super(fileOutputStream);
+      this.fileOutputStream = fileOutputStream;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      out.write(b);
+      count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+      count += len;
+    }
+
+    void discard() throws IOException {
+      isClosed = true;
+      fileOutputStream.close();
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (!isClosed) {
+        isClosed = true;
+        try {
+          out.flush();
+          fileOutputStream.getChannel().force(true);
+        } finally {
+          fileOutputStream.close();
+        }
+      }
+    }
+  }
+}
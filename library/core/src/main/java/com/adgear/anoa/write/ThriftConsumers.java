@@ -6,11 +6,11 @@ import org.apache.thrift.TBase;
 import org.apache.thrift.protocol.TBinaryProtocol;
 import org.apache.thrift.protocol.TCompactProtocol;
 import org.apache.thrift.protocol.TJSONProtocol;
-import org.apache.thrift.transport.TFileTransport;
 import org.apache.thrift.transport.TIOStreamTransport;
 import org.apache.thrift.transport.TTransport;
 
 import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.UncheckedIOException;
@@ -43,7 +43,7 @@ final public class ThriftConsumers {
   static public <T extends TBase> WriteConsumer<T> compact(
       String fileName) {
     try {
-      return compact(new TFileTransport(fileName, false));
+      return compact(fileTransport(fileName));
     } catch (IOException e) {
       throw new UncheckedIOException(e);
     }
@@ -80,7 +80,7 @@ final public class ThriftConsumers {
   static public <T extends TBase> WriteConsumer<T> binary(
       String fileName) {
     try {
-      return binary(new TFileTransport(fileName, false));
+      return binary(fileTransport(fileName));
     } catch (IOException e) {
       throw new UncheckedIOException(e);
     }
@@ -117,7 +117,7 @@ final public class ThriftConsumers {
   static public <T extends TBase> WriteConsumer<T> json(
       String fileName) {
     try {
-      return json(new TFileTransport(fileName, false));
+      return json(fileTransport(fileName));
     } catch (IOException e) {
       throw new UncheckedIOException(e);
     }
@@ -159,4 +159,8 @@ final public class ThriftConsumers {
       JsonGenerator jacksonGenerator) {
     return new ThriftWriter<>(recordClass).writeConsumerStrict(jacksonGenerator);
   }
+
+  static private TTransport fileTransport(String fileName) throws IOException {
+    return new TIOStreamTransport(new BufferedOutputStream(new FileOutputStream(fileName)));
+  }
 }
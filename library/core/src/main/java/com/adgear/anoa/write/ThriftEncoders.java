@@ -2,6 +2,7 @@ package com.adgear.anoa.write;
 
 import com.adgear.anoa.Anoa;
 import com.adgear.anoa.AnoaHandler;
+import com.adgear.anoa.EncodedBatch;
 import com.fasterxml.jackson.core.JsonGenerator;
 
 import org.apache.thrift.TBase;
@@ -10,10 +11,14 @@ import org.apache.thrift.protocol.TBinaryProtocol;
 import org.apache.thrift.protocol.TCompactProtocol;
 import org.apache.thrift.protocol.TJSONProtocol;
 import org.apache.thrift.protocol.TProtocol;
+import org.apache.thrift.transport.TIOStreamTransport;
 import org.apache.thrift.transport.TTransport;
 
+import java.nio.ByteBuffer;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.function.ToIntBiFunction;
+import java.util.stream.Stream;
 
 
 /**
@@ -82,6 +87,114 @@ final public class ThriftEncoders {
     return fn(anoaHandler, TJSONProtocol::new);
   }
 
+  /**
+   * Serializes Thrift records as compact binary blobs.
+   *
+   * @param <T> Thrift record type
+   * @return A function which writes the record into the buffer at its position, advances the
+   * position past it and returns the encoded length. When the record doesn't fit, the function
+   * raises a {@link java.nio.BufferOverflowException} and leaves the position unchanged.
+   */
+  static public <T extends TBase> ToIntBiFunction<T, ByteBuffer> compactToBuffer() {
+    return toBuffer(TCompactProtocol::new);
+  }
+
+  /**
+   * Serializes Thrift records as compact binary blobs.
+   *
+   * @param <T> Thrift record type
+   * @return A function which returns a read-only view of the encoded record, which remains valid
+   * until the next call. The view's remaining bytes are the encoded length.
+   */
+  static public <T extends TBase> Function<T, ByteBuffer> compactView() {
+    return view(TCompactProtocol::new);
+  }
+
+  /**
+   * Serializes Thrift records as compact binary blobs.
+   *
+   * @param isLengthPrefixed whether to precede each record by its length
+   * @param <T>              Thrift record type
+   * @return A function which serializes a stream of records into a single contiguous buffer.
+   * @see EncodedBatch
+   */
+  static public <T extends TBase> Function<Stream<T>, EncodedBatch> compactBatch(
+      boolean isLengthPrefixed) {
+    return batch(isLengthPrefixed, TCompactProtocol::new);
+  }
+
+  /**
+   * Serializes Thrift records as standard binary blobs.
+   *
+   * @param <T> Thrift record type
+   * @return A function which writes the record into the buffer at its position, advances the
+   * position past it and returns the encoded length. When the record doesn't fit, the function
+   * raises a {@link java.nio.BufferOverflowException} and leaves the position unchanged.
+   */
+  static public <T extends TBase> ToIntBiFunction<T, ByteBuffer> binaryToBuffer() {
+    return toBuffer(TBinaryProtocol::new);
+  }
+
+  /**
+   * Serializes Thrift records as standard binary blobs.
+   *
+   * @param <T> Thrift record type
+   * @return A function which returns a read-only view of the encoded record, which remains valid
+   * until the next call. The view's remaining bytes are the encoded length.
+   */
+  static public <T extends TBase> Function<T, ByteBuffer> binaryView() {
+    return view(TBinaryProtocol::new);
+  }
+
+  /**
+   * Serializes Thrift records as standard binary blobs.
+   *
+   * @param isLengthPrefixed whether to precede each record by its length
+   * @param <T>              Thrift record type
+   * @return A function which serializes a stream of records into a single contiguous buffer.
+   * @see EncodedBatch
+   */
+  static public <T extends TBase> Function<Stream<T>, EncodedBatch> binaryBatch(
+      boolean isLengthPrefixed) {
+    return batch(isLengthPrefixed, TBinaryProtocol::new);
+  }
+
+  /**
+   * Serializes Thrift records as Thrift JSON format.
+   *
+   * @param <T> Thrift record type
+   * @return A function which writes the record into the buffer at its position, advances the
+   * position past it and returns the encoded length. When the record doesn't fit, the function
+   * raises a {@link java.nio.BufferOverflowException} and leaves the position unchanged.
+   */
+  static public <T extends TBase> ToIntBiFunction<T, ByteBuffer> jsonToBuffer() {
+    return toBuffer(TJSONProtocol::new);
+  }
+
+  /**
+   * Serializes Thrift records as Thrift JSON format.
+   *
+   * @param <T> Thrift record type
+   * @return A function which returns a read-only view of the encoded record, which remains valid
+   * until the next call. The view's remaining bytes are the encoded length.
+   */
+  static public <T extends TBase> Function<T, ByteBuffer> jsonView() {
+    return view(TJSONProtocol::new);
+  }
+
+  /**
+   * Serializes Thrift records as Thrift JSON format.
+   *
+   * @param isLengthPrefixed whether to precede each record by its length
+   * @param <T>              Thrift record type
+   * @return A function which serializes a stream of records into a single contiguous buffer.
+   * @see EncodedBatch
+   */
+  static public <T extends TBase> Function<Stream<T>, EncodedBatch> jsonBatch(
+      boolean isLengthPrefixed) {
+    return batch(isLengthPrefixed, TJSONProtocol::new);
+  }
+
   static <T extends TBase> Function<T, byte[]> fn(
       Function<TTransport, TProtocol> protocolFactory) {
     TMemoryOutputTransport tTransport = new TMemoryOutputTransport();
@@ -93,7 +206,7 @@ final public class ThriftEncoders {
       } catch (TException e) {
         throw new RuntimeException(e);
       }
-      return tTransport.baos.toByteArray();
+      return tTransport.baos.toByteArrayAndReset();
     };
   }
 
@@ -105,10 +218,57 @@ final public class ThriftEncoders {
     return anoaHandler.functionChecked((T record) -> {
       tTransport.baos.reset();
       record.write(tProtocol);
-      return tTransport.baos.toByteArray();
+      return tTransport.baos.toByteArrayAndReset();
     });
   }
 
+  static <T extends TBase> ToIntBiFunction<T, ByteBuffer> toBuffer(
+      Function<TTransport, TProtocol> protocolFactory) {
+    ByteBufferOutputStream out = new ByteBufferOutputStream();
+    TProtocol tProtocol = protocolFactory.apply(new TIOStreamTransport(out));
+    return (T t, ByteBuffer buffer) -> {
+      final int start = buffer.position();
+      out.buffer = buffer;
+      try {
+        t.write(tProtocol);
+      } catch (TException e) {
+        buffer.position(start);
+        tProtocol.reset();
+        throw new RuntimeException(e);
+      } catch (RuntimeException e) {
+        buffer.position(start);
+        tProtocol.reset();
+        throw e;
+      } finally {
+        out.buffer = null;
+      }
+      return buffer.position() - start;
+    };
+  }
+
+  static <T extends TBase> Function<Stream<T>, EncodedBatch> batch(
+      boolean isLengthPrefixed,
+      Function<TTransport, TProtocol> protocolFactory) {
+    TMemoryOutputTransport tTransport = new TMemoryOutputTransport();
+    TProtocol tProtocol = protocolFactory.apply(tTransport);
+    return new BatchEncoder<>(tTransport.baos, isLengthPrefixed, (T t) -> t.write(tProtocol));
+  }
+
+  static <T extends TBase> Function<T, ByteBuffer> view(
+      Function<TTransport, TProtocol> protocolFactory) {
+    TMemoryOutputTransport tTransport = new TMemoryOutputTransport();
+    TProtocol tProtocol = protocolFactory.apply(tTransport);
+    return (T t) -> {
+      tTransport.baos.reset();
+      try {
+        t.write(tProtocol);
+      } catch (TException e) {
+        throw new RuntimeException(e);
+      }
+      return tTransport.baos.asReadOnlyByteBuffer();
+    };
+  }
+
   /**
    * @param recordClass Thrift record class object
    * @param supplier    called for each new record serialization
@@ -2,9 +2,12 @@ package com.adgear.anoa.write;
 
 import com.adgear.anoa.AnoaReflectionUtils;
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
 
 import org.apache.thrift.TBase;
 import org.apache.thrift.TFieldIdEnum;
+import org.apache.thrift.meta_data.FieldMetaData;
 import org.apache.thrift.meta_data.FieldValueMetaData;
 import org.apache.thrift.meta_data.ListMetaData;
 import org.apache.thrift.meta_data.MapMetaData;
@@ -15,25 +18,63 @@ import org.jooq.lambda.Unchecked;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.function.Predicate;
 
 class ThriftWriter<F extends TFieldIdEnum, T extends TBase<?, F>> extends AbstractRecordWriter<T> {
 
-  final Map<F, AbstractWriter<Object>> fieldWriters;
-  final Map<F, Object> fieldDefaults;
+  final F[] fields;
+  final SerializableString[] fieldNames;
+  final AbstractWriter<Object>[] fieldWriters;
+  final Predicate<Object>[] fieldIsDefault;
 
   @SuppressWarnings("unchecked")
   ThriftWriter(Class<T> thriftClass) {
-    fieldWriters = new LinkedHashMap<>();
-    fieldDefaults = new HashMap<>();
+    final Map<F, FieldMetaData> metaDataMap = AnoaReflectionUtils.getThriftMetaDataMap(thriftClass);
+    final int n = metaDataMap.size();
+    fields = (F[]) new TFieldIdEnum[n];
+    fieldNames = new SerializableString[n];
+    fieldWriters = (AbstractWriter<Object>[]) new AbstractWriter[n];
+    fieldIsDefault = (Predicate<Object>[]) new Predicate[n];
     T defaultInstance = createDefaultValue(thriftClass);
-    AnoaReflectionUtils.getThriftMetaDataMap(thriftClass).forEach((f, md) -> {
-      fieldWriters.put(f, (AbstractWriter<Object>) createWriter(md.valueMetaData));
-      fieldDefaults.put(f, defaultInstance.getFieldValue(f));
-    });
+    int i = 0;
+    for (Map.Entry<F, FieldMetaData> entry : metaDataMap.entrySet()) {
+      final F f = entry.getKey();
+      fields[i] = f;
+      fieldNames[i] = new SerializedString(f.getFieldName());
+      fieldWriters[i] = (AbstractWriter<Object>) createWriter(entry.getValue().valueMetaData);
+      fieldIsDefault[i] = createDefaultPredicate(defaultInstance.getFieldValue(f));
+      i++;
+    }
+  }
+
+  /**
+   * @return A predicate which tests whether a non-null field value equals the default value. Enum
+   * defaults are compared by reference, empty container defaults only require the value to be
+   * empty, and struct defaults rely on the field-by-field comparison of the generated code.
+   */
+  static private Predicate<Object> createDefaultPredicate(Object defaultValue) {
+    if (defaultValue == null) {
+      return value -> false;
+    }
+    if (defaultValue instanceof Enum) {
+      return value -> value == defaultValue;
+    }
+    if (defaultValue instanceof Collection && ((Collection) defaultValue).isEmpty()) {
+      return value -> ((Collection) value).isEmpty();
+    }
+    if (defaultValue instanceof Map && ((Map) defaultValue).isEmpty()) {
+      return value -> ((Map) value).isEmpty();
+    }
+    if (defaultValue instanceof byte[]) {
+      final byte[] bytes = (byte[]) defaultValue;
+      return value -> (value instanceof byte[]) && Arrays.equals(bytes, (byte[]) value);
+    }
+    return value -> value == defaultValue || defaultValue.equals(value);
   }
 
   static private <F extends TFieldIdEnum, T extends TBase<?, F>>
@@ -98,13 +139,13 @@ class ThriftWriter<F extends TFieldIdEnum, T extends TBase<?, F>> extends Abstra
   @Override
   protected void write(T t, JsonGenerator jacksonGenerator) throws IOException {
     jacksonGenerator.writeStartObject();
-    for (Map.Entry<F, AbstractWriter<Object>> entry : fieldWriters.entrySet()) {
-      F f = entry.getKey();
+    for (int i = 0; i < fields.length; i++) {
+      final F f = fields[i];
       if (t.isSet(f)) {
         Object value = t.getFieldValue(f);
-        if (value != null && !value.equals(fieldDefaults.get(f))) {
-          jacksonGenerator.writeFieldName(f.getFieldName());
-          entry.getValue().write(value, jacksonGenerator);
+        if (value != null && !fieldIsDefault[i].test(value)) {
+          jacksonGenerator.writeFieldName(fieldNames[i]);
+          fieldWriters[i].write(value, jacksonGenerator);
         }
       }
     }
@@ -114,15 +155,15 @@ class ThriftWriter<F extends TFieldIdEnum, T extends TBase<?, F>> extends Abstra
   @Override
   void writeStrict(T t, JsonGenerator jacksonGenerator) throws IOException {
     jacksonGenerator.writeStartObject();
-    for (Map.Entry<F, AbstractWriter<Object>> entry : fieldWriters.entrySet()) {
-      F f = entry.getKey();
+    for (int i = 0; i < fields.length; i++) {
+      final F f = fields[i];
       if (t.isSet(f)) {
-        jacksonGenerator.writeFieldName(f.getFieldName());
+        jacksonGenerator.writeFieldName(fieldNames[i]);
         Object value = t.getFieldValue(f);
         if (value == null) {
           jacksonGenerator.writeNull();
         } else {
-          entry.getValue().writeStrict(value, jacksonGenerator);
+          fieldWriters[i].writeStrict(value, jacksonGenerator);
         }
       }
     }
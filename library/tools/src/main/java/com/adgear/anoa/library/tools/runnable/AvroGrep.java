@@ -42,7 +42,7 @@ public class AvroGrep<R extends SpecificRecord> implements Runnable {
   public void run() {
     AnoaSqlWhereFilter<R> predicate = new AnoaSqlWhereFilter<>(recordClass, filterExpression);
     try (WriteConsumer<R> consumer = AvroConsumers.batch(recordClass, outputStream)) {
-      AvroStreams.batch(recordClass, inputStream)
+      AvroStreams.batchReusing(recordClass, inputStream)
           .filter(predicate)
           .forEach(consumer);
     } catch (IOException e) {
@@ -17,6 +17,7 @@ import com.adgear.anoa.read.AvroDecoders;
 import com.adgear.anoa.read.AvroStreams;
 import com.adgear.anoa.read.CborStreams;
 import com.adgear.anoa.read.CsvStreams;
+import com.adgear.anoa.read.JdbcRangeStreams;
 import com.adgear.anoa.read.JdbcStreams;
 import com.adgear.anoa.read.JsonStreams;
 import com.adgear.anoa.read.ProtobufDecoders;
@@ -71,6 +72,10 @@ public class DataTool<T extends TBase<?, TFieldIdEnum>, M extends Message> imple
   final private List<String> jdbcInitStatements;
   final private String jdbcQuery;
   final private int jdbcFetchSize;
+  final private String jdbcUrl;
+  final private String jdbcPartitionColumn;
+  final private int jdbcPartitions;
+  final private boolean jdbcPreserveOrder;
 
   private Schema avroSchema = null;
 
@@ -106,6 +111,56 @@ public class DataTool<T extends TBase<?, TFieldIdEnum>, M extends Message> imple
     this.jdbcInitStatements = jdbcInitStatements;
     this.jdbcQuery = jdbcQuery;
     this.jdbcFetchSize = jdbcFetchSize;
+    this.jdbcUrl = null;
+    this.jdbcPartitionColumn = null;
+    this.jdbcPartitions = 1;
+    this.jdbcPreserveOrder = true;
+  }
+
+  /**
+   * Constructor for when reading parser JDBC source in parallel, by splitting the query into ranges
+   * of a partition column, each of which is read on its own connection.
+   *
+   * @param avroSchema          Declared Avro record schema (optional).
+   * @param thriftClass         Declared Thrift record class (optional for some input formats).
+   * @param outFormat           Declared output serialization format.
+   * @param out                 Stream to write records to.
+   * @param jdbcUrl             JDBC URL used to open each session.
+   * @param jdbcInitStatements  Array of individual statements to be executed before each query.
+   * @param jdbcQuery           SQL query to submit.
+   * @param jdbcFetchSize       JDBC result set fetch size.
+   * @param jdbcPartitionColumn Numeric or temporal column by which to split the query.
+   * @param jdbcPartitions      Number of ranges, i.e. of concurrent sessions.
+   * @param jdbcPreserveOrder   Whether to write records sorted by the partition column.
+   * @see JdbcRangeStreams
+   */
+  public DataTool(Schema avroSchema,
+                  Class<T> thriftClass,
+                  Class<M> protobufClass,
+                  Format outFormat,
+                  OutputStream out,
+                  String jdbcUrl,
+                  List<String> jdbcInitStatements,
+                  String jdbcQuery,
+                  int jdbcFetchSize,
+                  String jdbcPartitionColumn,
+                  int jdbcPartitions,
+                  boolean jdbcPreserveOrder) {
+    this.avroSchema = this.declaredAvroSchema = avroSchema;
+    this.thriftClass = thriftClass;
+    this.protobufClass = protobufClass;
+    this.inFormat = Format.JDBC;
+    this.outFormat = outFormat;
+    this.in = null;
+    this.out = out;
+    this.jdbcConnection = null;
+    this.jdbcInitStatements = jdbcInitStatements;
+    this.jdbcQuery = jdbcQuery;
+    this.jdbcFetchSize = jdbcFetchSize;
+    this.jdbcUrl = jdbcUrl;
+    this.jdbcPartitionColumn = jdbcPartitionColumn;
+    this.jdbcPartitions = jdbcPartitions;
+    this.jdbcPreserveOrder = jdbcPreserveOrder;
   }
 
   /**
@@ -136,6 +191,10 @@ public class DataTool<T extends TBase<?, TFieldIdEnum>, M extends Message> imple
     this.jdbcInitStatements = null;
     this.jdbcQuery = null;
     this.jdbcFetchSize = -1;
+    this.jdbcUrl = null;
+    this.jdbcPartitionColumn = null;
+    this.jdbcPartitions = 1;
+    this.jdbcPreserveOrder = true;
   }
 
   static public void main(String[] args) throws Exception {
@@ -172,18 +231,35 @@ public class DataTool<T extends TBase<?, TFieldIdEnum>, M extends Message> imple
         final String jdbcUrl = System.getProperty("url");
         final String jdbcQuery = System.getProperty("query");
         final String initPath = System.getProperty("initScript", "");
+        final String partitionColumn = System.getProperty("partitionColumn", "");
         Stream<String> initStream = initPath.isEmpty()
                                     ? Stream.<String>empty()
                                     : new BufferedReader(new FileReader(initPath)).lines();
-        instance = new DataTool<>(avroSchema,
-                                  thriftRecordClass,
-                                  protobufRecordClass,
-                                  outFormat,
-                                  out,
-                                  DriverManager.getConnection(jdbcUrl),
-                                  initStream.collect(Collectors.toList()),
-                                  jdbcQuery,
-                                  4096);
+        if (partitionColumn.isEmpty()) {
+          instance = new DataTool<>(avroSchema,
+                                    thriftRecordClass,
+                                    protobufRecordClass,
+                                    outFormat,
+                                    out,
+                                    DriverManager.getConnection(jdbcUrl),
+                                    initStream.collect(Collectors.toList()),
+                                    jdbcQuery,
+                                    4096);
+        } else {
+          instance = new DataTool<>(avroSchema,
+                                    thriftRecordClass,
+                                    protobufRecordClass,
+                                    outFormat,
+                                    out,
+                                    jdbcUrl,
+                                    initStream.collect(Collectors.toList()),
+                                    jdbcQuery,
+                                    4096,
+                                    partitionColumn,
+                                    Integer.getInteger("partitions",
+                                                       Runtime.getRuntime().availableProcessors()),
+                                    Boolean.getBoolean("preserveOrder"));
+        }
       } else {
         InputStream in = inFilePath.isEmpty() ? System.in : new FileInputStream(inFilePath);
         instance = new DataTool<>(avroSchema,
@@ -215,7 +291,7 @@ public class DataTool<T extends TBase<?, TFieldIdEnum>, M extends Message> imple
     }
     switch (inFormat) {
       case JDBC:
-        if (jdbcConnection == null || jdbcQuery == null) {
+        if ((jdbcConnection == null && jdbcUrl == null) || jdbcQuery == null) {
           throw new IllegalStateException("JDBC connection and query must be valid.");
         }
         return;
@@ -510,6 +586,25 @@ public class DataTool<T extends TBase<?, TFieldIdEnum>, M extends Message> imple
         runProtobuf(ProtobufStreams.binary(protobufClass, in));
         return;
       case JDBC:
+        if (jdbcUrl != null) {
+          final JdbcRangeStreams jdbcRangeStreams =
+              new JdbcRangeStreams(jdbcUrl, jdbcInitStatements, jdbcFetchSize);
+          try {
+            if (avroSchema == null) {
+              avroSchema = jdbcRangeStreams.induceSchema(jdbcQuery);
+            }
+            try (Stream<GenericRecord> stream = jdbcRangeStreams.avro(jdbcQuery,
+                                                                      avroSchema,
+                                                                      jdbcPartitionColumn,
+                                                                      jdbcPartitions,
+                                                                      jdbcPreserveOrder)) {
+              runAvro(stream);
+            }
+          } catch (SQLException e) {
+            throw new RuntimeException(e);
+          }
+          return;
+        }
         try (Statement statement = jdbcConnection.createStatement()) {
           statement.setFetchSize(jdbcFetchSize);
           for (String initStatement : jdbcInitStatements) {
@@ -519,9 +614,7 @@ public class DataTool<T extends TBase<?, TFieldIdEnum>, M extends Message> imple
           if (avroSchema == null) {
             avroSchema = JdbcStreams.induceSchema(resultSet.getMetaData());
           }
-          runAvro(new JdbcStreams().resultSet(resultSet)
-                      .map(ObjectNode::traverse)
-                      .map(AvroDecoders.jackson(avroSchema)));
+          runAvro(JdbcStreams.avro(resultSet, avroSchema));
         } catch (SQLException e) {
           throw new RuntimeException(e);
         }
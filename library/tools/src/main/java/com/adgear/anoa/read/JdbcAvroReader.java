@@ -0,0 +1,221 @@
+package com.adgear.anoa.read;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.jooq.lambda.fi.util.function.CheckedFunction;
+
+import java.nio.ByteBuffer;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Reads the current row of a JDBC result set into an Avro record, by calling the typed getter
+ * matching each field type. Columns are matched to fields by label, ignoring case, against the
+ * field's name and then its aliases. Fields without such a match fall back to comparing only the
+ * letters and digits, which must then identify a single column. Fields without a matching column,
+ * and non-nullable fields whose column is NULL, are set to their default value.
+ *
+ * <p>Date and timestamp columns are read as milliseconds since the epoch, into string or numeric
+ * fields alike.
+ */
+final class JdbcAvroReader implements CheckedFunction<ResultSet, GenericRecord> {
+
+  @FunctionalInterface
+  private interface ColumnReader {
+
+    Object read(ResultSet resultSet, int column) throws SQLException;
+  }
+
+  static final private int AMBIGUOUS = -1;
+
+  final private Schema schema;
+  final private Schema[] fieldSchemas;
+  final private boolean[] nullable;
+  final private int[] columns;
+  final private ColumnReader[] readers;
+  final private Object[] defaults;
+
+  /**
+   * @param rsmd   metadata of the result set to read from
+   * @param schema Avro record schema
+   */
+  JdbcAvroReader(ResultSetMetaData rsmd, Schema schema) throws SQLException {
+    this.schema = schema;
+    final Map<String, Integer> labelLookUp = new HashMap<>();
+    final Map<String, Integer> normalizedLookUp = new HashMap<>();
+    for (int c = 1; c <= rsmd.getColumnCount(); c++) {
+      final String label = rsmd.getColumnLabel(c);
+      labelLookUp.putIfAbsent(label.toLowerCase(), c);
+      normalizedLookUp.merge(normalize(label), c, (a, b) -> AMBIGUOUS);
+    }
+    final List<Schema.Field> fields = schema.getFields();
+    this.fieldSchemas = new Schema[fields.size()];
+    this.nullable = new boolean[fields.size()];
+    this.columns = new int[fields.size()];
+    this.readers = new ColumnReader[fields.size()];
+    this.defaults = new Object[fields.size()];
+    for (Schema.Field field : fields) {
+      final int i = field.pos();
+      final int column = Stream.concat(Stream.of(field.name()), field.aliases().stream())
+          .map(String::toLowerCase)
+          .filter(labelLookUp::containsKey)
+          .findFirst()
+          .map(labelLookUp::get)
+          .orElseGet(() -> findNormalized(field, normalizedLookUp));
+      fieldSchemas[i] = field.schema();
+      nullable[i] = isNullable(field.schema());
+      columns[i] = column;
+      if (column > 0) {
+        readers[i] = createReader(field.schema(), rsmd.getColumnType(column));
+      }
+      if (field.defaultValue() != null) {
+        defaults[i] = GenericData.get().getDefaultValue(field);
+      }
+    }
+  }
+
+  static private int findNormalized(Schema.Field field, Map<String, Integer> normalizedLookUp) {
+    final int column = Stream.concat(Stream.of(field.name()), field.aliases().stream())
+        .map(JdbcAvroReader::normalize)
+        .filter(normalizedLookUp::containsKey)
+        .findFirst()
+        .map(normalizedLookUp::get)
+        .orElse(0);
+    if (column == AMBIGUOUS) {
+      throw new IllegalArgumentException(
+          "Several columns match field '" + field.name() + "' when ignoring non-alphanumerics.");
+    }
+    return column;
+  }
+
+  static private String normalize(String name) {
+    final StringBuilder sb = new StringBuilder(name.length());
+    for (char character : name.toCharArray()) {
+      if (Character.isLetterOrDigit(character)) {
+        sb.append(Character.toLowerCase(character));
+      }
+    }
+    return sb.toString();
+  }
+
+  static private boolean isNullable(Schema schema) {
+    return schema.getType() == Schema.Type.UNION
+           && schema.getTypes().stream().anyMatch(s -> s.getType() == Schema.Type.NULL);
+  }
+
+  static private Schema unwrapNullable(Schema schema) {
+    if (schema.getType() == Schema.Type.UNION && schema.getTypes().size() == 2) {
+      final List<Schema> types = schema.getTypes();
+      return types.get((types.get(0).getType() == Schema.Type.NULL) ? 1 : 0);
+    }
+    return schema;
+  }
+
+  static private boolean isTemporal(int sqlType) {
+    switch (sqlType) {
+      case Types.DATE:
+      case Types.TIMESTAMP:
+      case Types.TIMESTAMP_WITH_TIMEZONE:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  static private Long readMillis(ResultSet resultSet, int column) throws SQLException {
+    final Timestamp timestamp = resultSet.getTimestamp(column);
+    return (timestamp == null) ? null : timestamp.getTime();
+  }
+
+  static private byte[] readBytes(ResultSet resultSet, int column) throws SQLException {
+    return resultSet.getBytes(column);
+  }
+
+  static private ColumnReader createReader(Schema fieldSchema, int sqlType) {
+    final Schema schema = unwrapNullable(fieldSchema);
+    switch (schema.getType()) {
+      case BOOLEAN:
+        return (rs, c) -> {
+          final boolean value = rs.getBoolean(c);
+          return rs.wasNull() ? null : value;
+        };
+      case INT:
+        return (rs, c) -> {
+          final int value = rs.getInt(c);
+          return rs.wasNull() ? null : value;
+        };
+      case LONG:
+        if (isTemporal(sqlType)) {
+          return JdbcAvroReader::readMillis;
+        }
+        return (rs, c) -> {
+          final long value = rs.getLong(c);
+          return rs.wasNull() ? null : value;
+        };
+      case FLOAT:
+        return (rs, c) -> {
+          final float value = rs.getFloat(c);
+          return rs.wasNull() ? null : value;
+        };
+      case DOUBLE:
+        return (rs, c) -> {
+          final double value = rs.getDouble(c);
+          return rs.wasNull() ? null : value;
+        };
+      case STRING:
+        if (isTemporal(sqlType)) {
+          return (rs, c) -> {
+            final Long millis = readMillis(rs, c);
+            return (millis == null) ? null : millis.toString();
+          };
+        }
+        return ResultSet::getString;
+      case BYTES:
+        return (rs, c) -> {
+          final byte[] bytes = readBytes(rs, c);
+          return (bytes == null) ? null : ByteBuffer.wrap(bytes);
+        };
+      case ENUM:
+        return (rs, c) -> {
+          final String symbol = rs.getString(c);
+          return (symbol == null) ? null : new GenericData.EnumSymbol(schema, symbol);
+        };
+      case FIXED:
+        return (rs, c) -> {
+          final byte[] bytes = readBytes(rs, c);
+          return (bytes == null) ? null : new GenericData.Fixed(schema, bytes);
+        };
+      case NULL:
+        return (rs, c) -> null;
+      default:
+        throw new IllegalArgumentException("Unsupported Avro schema for JDBC column: " + schema);
+    }
+  }
+
+  @Override
+  public GenericRecord apply(ResultSet resultSet) throws SQLException {
+    final GenericData.Record record = new GenericData.Record(schema);
+    for (int i = 0; i < columns.length; i++) {
+      Object value = null;
+      if (columns[i] > 0) {
+        value = readers[i].read(resultSet, columns[i]);
+        if (value == null && nullable[i]) {
+          continue;
+        }
+      }
+      if (value == null && defaults[i] != null) {
+        value = GenericData.get().deepCopy(fieldSchemas[i], defaults[i]);
+      }
+      record.put(i, value);
+    }
+    return record;
+  }
+}
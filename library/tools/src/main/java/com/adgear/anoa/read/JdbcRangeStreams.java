@@ -0,0 +1,318 @@
+package com.adgear.anoa.read;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericRecord;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Utility class for streaming Avro records from a JDBC query in parallel. The query is split into
+ * contiguous ranges of a numeric or temporal partition column, each of which is read on its own
+ * connection and thread, and the rows are merged into a single stream.
+ *
+ * <p>The range bounds are evenly spaced between the minimum and maximum values of the partition
+ * column. Rows in which the partition column is NULL belong to the first range. When order is
+ * preserved, each range is sorted by the partition column and the stream yields the ranges one
+ * after the other; otherwise, rows are yielded as soon as they are read.
+ *
+ * <p>The rows read by each thread are buffered in a bounded queue. The streams returned by this
+ * class should be closed, which interrupts threads left blocked on a full queue and thereby closes
+ * their connections.
+ */
+final public class JdbcRangeStreams {
+
+  static final public int DEFAULT_CAPACITY = 1 << 12;
+
+  static final private AtomicInteger THREAD_COUNTER = new AtomicInteger();
+  static final private Object END = new Object();
+
+  static final private class Failure {
+
+    final Throwable throwable;
+
+    Failure(Throwable throwable) {
+      this.throwable = throwable;
+    }
+  }
+
+  final private String url;
+  final private List<String> initStatements;
+  final private int fetchSize;
+  final private int capacity;
+
+  /**
+   * Create with buffers of {@link #DEFAULT_CAPACITY} records.
+   *
+   * @param url            JDBC URL, for {@link DriverManager#getConnection(String)}
+   * @param initStatements statements executed on each connection before any query
+   * @param fetchSize      JDBC result set fetch size
+   */
+  public JdbcRangeStreams(String url, List<String> initStatements, int fetchSize) {
+    this(url, initStatements, fetchSize, DEFAULT_CAPACITY);
+  }
+
+  /**
+   * @param url            JDBC URL, for {@link DriverManager#getConnection(String)}
+   * @param initStatements statements executed on each connection before any query
+   * @param fetchSize      JDBC result set fetch size
+   * @param capacity       maximum number of rows buffered, per range when order is preserved
+   */
+  public JdbcRangeStreams(String url, List<String> initStatements, int fetchSize, int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Invalid capacity: " + capacity);
+    }
+    this.url = url;
+    this.initStatements = initStatements;
+    this.fetchSize = fetchSize;
+    this.capacity = capacity;
+  }
+
+  private Connection connect() throws SQLException {
+    final Connection connection = DriverManager.getConnection(url);
+    try (Statement statement = connection.createStatement()) {
+      for (String initStatement : initStatements) {
+        statement.execute(initStatement);
+      }
+    } catch (SQLException e) {
+      connection.close();
+      throw e;
+    }
+    return connection;
+  }
+
+  static private String subQuery(String query) {
+    return "(" + query + ") anoa_range_q";
+  }
+
+  /**
+   * @param query SQL query to submit
+   * @return Avro schema induced from the query's result set metadata
+   * @see JdbcStreams#induceSchema(java.sql.ResultSetMetaData)
+   */
+  public Schema induceSchema(String query) throws SQLException {
+    try (Connection connection = connect();
+         Statement statement = connection.createStatement();
+         ResultSet resultSet = statement.executeQuery(
+             "SELECT * FROM " + subQuery(query) + " WHERE 1 = 0")) {
+      return JdbcStreams.induceSchema(resultSet.getMetaData());
+    }
+  }
+
+  /**
+   * Splits the query into ranges and starts reading them in parallel.
+   *
+   * @param query           SQL query to submit
+   * @param schema          Avro record schema, either declared or induced by {@link
+   *                        #induceSchema}
+   * @param partitionColumn numeric or temporal column in the query's result set
+   * @param partitions      number of ranges, each read on its own connection
+   * @param preserveOrder   whether to sort the rows by the partition column
+   * @return A stream of Avro records which map to the query's result set rows.
+   */
+  public Stream<GenericRecord> avro(String query,
+                                    Schema schema,
+                                    String partitionColumn,
+                                    int partitions,
+                                    boolean preserveOrder) throws SQLException {
+    if (partitions <= 0) {
+      throw new IllegalArgumentException("Invalid number of partitions: " + partitions);
+    }
+    final List<Object> bounds = bounds(query, partitionColumn, partitions);
+    final int n = bounds.size() + 1;
+    final String sql = "SELECT * FROM " + subQuery(query);
+    final String orderBy = preserveOrder ? " ORDER BY " + partitionColumn : "";
+    final ExecutorService executor = Executors.newFixedThreadPool(n, runnable -> {
+      final Thread thread = new Thread(
+          runnable, "anoa-jdbc-range-" + THREAD_COUNTER.getAndIncrement());
+      thread.setDaemon(true);
+      return thread;
+    });
+    final BlockingQueue<Object> shared = preserveOrder ? null : new ArrayBlockingQueue<>(capacity);
+    final List<BlockingQueue<Object>> queues = new ArrayList<>(n);
+    for (int i = 0; i < n; i++) {
+      final BlockingQueue<Object> queue = preserveOrder
+                                          ? new ArrayBlockingQueue<>(capacity)
+                                          : shared;
+      queues.add(queue);
+      final List<Object> parameters = new ArrayList<>(2);
+      final String where;
+      if (n == 1) {
+        where = "";
+      } else if (i == 0) {
+        where = " WHERE " + partitionColumn + " IS NULL OR " + partitionColumn + " < ?";
+        parameters.add(bounds.get(0));
+      } else if (i == n - 1) {
+        where = " WHERE " + partitionColumn + " >= ?";
+        parameters.add(bounds.get(i - 1));
+      } else {
+        where = " WHERE " + partitionColumn + " >= ? AND " + partitionColumn + " < ?";
+        parameters.add(bounds.get(i - 1));
+        parameters.add(bounds.get(i));
+      }
+      executor.execute(() -> read(sql + where + orderBy, parameters, schema, queue));
+    }
+    executor.shutdown();
+    return StreamSupport.stream(
+        Spliterators.spliteratorUnknownSize(
+            new MergingIterator(queues),
+            Spliterator.NONNULL | (preserveOrder ? Spliterator.ORDERED : 0)),
+        false)
+        .onClose(executor::shutdownNow);
+  }
+
+  /**
+   * @return the interior range bounds, as JDBC parameters; empty when the query has no rows
+   */
+  private List<Object> bounds(String query,
+                              String partitionColumn,
+                              int partitions) throws SQLException {
+    final Object min, max;
+    try (Connection connection = connect();
+         Statement statement = connection.createStatement();
+         ResultSet resultSet = statement.executeQuery(
+             "SELECT MIN(" + partitionColumn + "), MAX(" + partitionColumn + ") FROM "
+             + subQuery(query))) {
+      resultSet.next();
+      min = resultSet.getObject(1);
+      max = resultSet.getObject(2);
+    }
+    final List<Object> bounds = new ArrayList<>(partitions - 1);
+    if (min == null || max == null) {
+      return bounds;
+    }
+    final BigDecimal lower, upper;
+    final Function<BigDecimal, Object> toParameter;
+    if (min instanceof Number && max instanceof Number) {
+      lower = toBigDecimal((Number) min);
+      upper = toBigDecimal((Number) max);
+      toParameter = b -> b;
+    } else if (min instanceof Date && max instanceof Date) {
+      lower = BigDecimal.valueOf(((Date) min).getTime());
+      upper = BigDecimal.valueOf(((Date) max).getTime());
+      toParameter = b -> new Timestamp(b.longValue());
+    } else {
+      throw new IllegalArgumentException(
+          "Partition column must be numeric or temporal: " + partitionColumn);
+    }
+    final BigDecimal width = upper.subtract(lower);
+    final BigDecimal divisor = BigDecimal.valueOf(partitions);
+    for (int i = 1; i < partitions; i++) {
+      bounds.add(toParameter.apply(lower.add(
+          width.multiply(BigDecimal.valueOf(i)).divide(divisor, MathContext.DECIMAL128))));
+    }
+    return bounds;
+  }
+
+  static private BigDecimal toBigDecimal(Number number) {
+    if (number instanceof BigDecimal) {
+      return (BigDecimal) number;
+    } else if (number instanceof BigInteger) {
+      return new BigDecimal((BigInteger) number);
+    } else if (number instanceof Double || number instanceof Float) {
+      return new BigDecimal(number.doubleValue());
+    } else {
+      return BigDecimal.valueOf(number.longValue());
+    }
+  }
+
+  private void read(String sql,
+                    List<Object> parameters,
+                    Schema schema,
+                    BlockingQueue<Object> queue) {
+    try {
+      try (Connection connection = connect();
+           PreparedStatement statement = connection.prepareStatement(sql)) {
+        statement.setFetchSize(fetchSize);
+        for (int p = 0; p < parameters.size(); p++) {
+          statement.setObject(p + 1, parameters.get(p));
+        }
+        try (ResultSet resultSet = statement.executeQuery()) {
+          final JdbcAvroReader reader = new JdbcAvroReader(resultSet.getMetaData(), schema);
+          while (resultSet.next()) {
+            queue.put(reader.apply(resultSet));
+          }
+        }
+      } catch (SQLException | RuntimeException e) {
+        queue.put(new Failure(e));
+        return;
+      }
+      queue.put(END);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Takes records from each range's queue in turn, until the end of that range. When order is not
+   * preserved, all ranges share the same queue, and the end of any range moves on to the next.
+   */
+  static private class MergingIterator implements Iterator<GenericRecord> {
+
+    final private List<BlockingQueue<Object>> queues;
+    private int current = 0;
+    private GenericRecord next = null;
+
+    MergingIterator(List<BlockingQueue<Object>> queues) {
+      this.queues = queues;
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (next == null && current < queues.size()) {
+        final Object element;
+        try {
+          element = queues.get(current).take();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new RuntimeException(e);
+        }
+        if (element == END) {
+          current++;
+        } else if (element instanceof Failure) {
+          current = queues.size();
+          final Throwable throwable = ((Failure) element).throwable;
+          throw (throwable instanceof RuntimeException)
+                ? (RuntimeException) throwable
+                : new RuntimeException(throwable);
+        } else {
+          next = (GenericRecord) element;
+        }
+      }
+      return next != null;
+    }
+
+    @Override
+    public GenericRecord next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      final GenericRecord record = next;
+      next = null;
+      return record;
+    }
+  }
+}
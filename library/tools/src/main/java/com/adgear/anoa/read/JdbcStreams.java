@@ -10,6 +10,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.util.TokenBuffer;
 
 import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericRecord;
 import org.apache.commons.codec.digest.DigestUtils;
 import org.codehaus.jackson.node.JsonNodeFactory;
 import org.jooq.lambda.SQL;
@@ -28,7 +29,7 @@ import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 /**
- * Utility class for streaming Jackson records from a JDBC result set.
+ * Utility class for streaming Jackson or Avro records from a JDBC result set.
  */
 public class JdbcStreams {
 
@@ -159,6 +160,49 @@ public class JdbcStreams {
     return SQL.seq(resultSet, fn.compose(anoaHandler::ofNullable));
   }
 
+  /**
+   * Reads the rows directly into Avro records, using the typed getter matching each field's type.
+   * Columns are matched to fields by name or alias ignoring case, or failing that, by their letters
+   * and digits alone.
+   *
+   * @param resultSet the JDBC result set to scan
+   * @param schema    Avro record schema, either declared or induced by {@link #induceSchema}
+   * @return A stream of Avro records which map to the result set rows.
+   */
+  static public Stream<GenericRecord> avro(ResultSet resultSet, Schema schema) {
+    final Function<ResultSet, GenericRecord> fn;
+    try {
+      fn = Unchecked.function(new JdbcAvroReader(resultSet.getMetaData(), schema));
+    } catch (SQLException e) {
+      throw new RuntimeException(e);
+    }
+    return SQL.seq(resultSet, fn);
+  }
+
+  /**
+   * Reads the rows directly into Avro records, using the typed getter matching each field's type.
+   * Columns are matched to fields by name or alias ignoring case, or failing that, by their letters
+   * and digits alone.
+   *
+   * @param anoaHandler {@code AnoaHandler} instance to use for exception handling
+   * @param resultSet   the JDBC result set to scan
+   * @param schema      Avro record schema, either declared or induced by {@link #induceSchema}
+   * @param <M>         Metadata type
+   * @return A stream of Avro records which map to the result set rows.
+   */
+  static public <M> Stream<Anoa<GenericRecord, M>> avro(
+      AnoaHandler<M> anoaHandler,
+      ResultSet resultSet,
+      Schema schema) {
+    final Function<Anoa<ResultSet, M>, Anoa<GenericRecord, M>> fn;
+    try {
+      fn = anoaHandler.functionChecked(new JdbcAvroReader(resultSet.getMetaData(), schema));
+    } catch (SQLException e) {
+      throw new RuntimeException(e);
+    }
+    return SQL.seq(resultSet, fn.compose(anoaHandler::ofNullable));
+  }
+
   protected CheckedFunction<ResultSet, ObjectNode> rowFn(
       ResultSetMetaData rsmd) throws SQLException {
     int n = rsmd.getColumnCount();
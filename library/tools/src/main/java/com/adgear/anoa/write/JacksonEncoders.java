@@ -5,7 +5,9 @@ import com.adgear.anoa.AnoaHandler;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.dataformat.csv.CsvSchema;
 
+import java.nio.ByteBuffer;
 import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
 
 /**
  * Utility class for generating functions for serializing Jackson ObjectNode records. Unless
@@ -33,6 +35,24 @@ public class JacksonEncoders {
     return toBytes(anoaHandler, new JsonConsumers()::to);
   }
 
+  /**
+   * @return A function which writes the JSON encoding of an ObjectNode into the buffer at its
+   * position, advances the position past it and returns the encoded length. When the record doesn't
+   * fit, the function raises a {@link java.nio.BufferOverflowException} and leaves the position
+   * unchanged.
+   */
+  static public ToIntBiFunction<ObjectNode, ByteBuffer> jsonToBuffer() {
+    return toBuffer(new JsonConsumers()::to);
+  }
+
+  /**
+   * @return A function which returns a read-only view of the JSON encoding of an ObjectNode, which
+   * remains valid until the next call. The view's remaining bytes are the encoded length.
+   */
+  static public Function<ObjectNode, ByteBuffer> jsonView() {
+    return view(new JsonConsumers()::to);
+  }
+
   /**
    * @return A function which serializes an ObjectNode into its CBOR encoding
    */
@@ -50,6 +70,24 @@ public class JacksonEncoders {
     return toBytes(anoaHandler, new CborConsumers()::to);
   }
 
+  /**
+   * @return A function which writes the CBOR encoding of an ObjectNode into the buffer at its
+   * position, advances the position past it and returns the encoded length. When the record doesn't
+   * fit, the function raises a {@link java.nio.BufferOverflowException} and leaves the position
+   * unchanged.
+   */
+  static public ToIntBiFunction<ObjectNode, ByteBuffer> cborToBuffer() {
+    return toBuffer(new CborConsumers()::to);
+  }
+
+  /**
+   * @return A function which returns a read-only view of the CBOR encoding of an ObjectNode, which
+   * remains valid until the next call. The view's remaining bytes are the encoded length.
+   */
+  static public Function<ObjectNode, ByteBuffer> cborView() {
+    return view(new CborConsumers()::to);
+  }
+
   /**
    * @param csvSchema CSV schema specification (separator, etc.)
    * @return A function which serializes an ObjectNode into a CSV encoding
@@ -70,6 +108,26 @@ public class JacksonEncoders {
     return toBytes(anoaHandler, new CsvConsumers(csvSchema)::to);
   }
 
+  /**
+   * @param csvSchema CSV schema specification (separator, etc.)
+   * @return A function which writes a CSV encoding of an ObjectNode into the buffer at its
+   * position, advances the position past it and returns the encoded length. When the record doesn't
+   * fit, the function raises a {@link java.nio.BufferOverflowException} and leaves the position
+   * unchanged.
+   */
+  static public ToIntBiFunction<ObjectNode, ByteBuffer> csvToBuffer(CsvSchema csvSchema) {
+    return toBuffer(new CsvConsumers(csvSchema)::to);
+  }
+
+  /**
+   * @param csvSchema CSV schema specification (separator, etc.)
+   * @return A function which returns a read-only view of a CSV encoding of an ObjectNode, which
+   * remains valid until the next call. The view's remaining bytes are the encoded length.
+   */
+  static public Function<ObjectNode, ByteBuffer> csvView(CsvSchema csvSchema) {
+    return view(new CsvConsumers(csvSchema)::to);
+  }
+
   static protected Function<ObjectNode, byte[]> toBytes(
       Function<ByteArrayOutputStream, WriteConsumer<ObjectNode>> fn) {
     ByteArrayOutputStream baos = new ByteArrayOutputStream();
@@ -78,7 +136,7 @@ public class JacksonEncoders {
       baos.reset();
       wc.accept(node);
       wc.flushUnchecked();
-      return baos.toByteArray();
+      return baos.toByteArrayAndReset();
     };
   }
 
@@ -91,7 +149,38 @@ public class JacksonEncoders {
       baos.reset();
       wc.acceptChecked(node);
       wc.flush();
-      return baos.toByteArray();
+      return baos.toByteArrayAndReset();
     });
   }
+
+  static protected ToIntBiFunction<ObjectNode, ByteBuffer> toBuffer(
+      Function<ByteArrayOutputStream, WriteConsumer<ObjectNode>> fn) {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    WriteConsumer<ObjectNode> wc = fn.apply(baos);
+    // Jackson generators can't be rolled back mid-record, hence the record is encoded in full
+    // before being copied, which either succeeds or leaves the buffer untouched.
+    return (ObjectNode node, ByteBuffer buffer) -> {
+      baos.reset();
+      wc.accept(node);
+      wc.flushUnchecked();
+      try {
+        buffer.put(baos.asReadOnlyByteBuffer());
+        return baos.size();
+      } finally {
+        baos.reset();
+      }
+    };
+  }
+
+  static protected Function<ObjectNode, ByteBuffer> view(
+      Function<ByteArrayOutputStream, WriteConsumer<ObjectNode>> fn) {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    WriteConsumer<ObjectNode> wc = fn.apply(baos);
+    return node -> {
+      baos.reset();
+      wc.accept(node);
+      wc.flushUnchecked();
+      return baos.asReadOnlyByteBuffer();
+    };
+  }
 }
@@ -0,0 +1,106 @@
+package com.adgear.anoa.library;
+
+import com.adgear.anoa.AnoaCodecs;
+import com.adgear.anoa.test.AnoaTestSample;
+import com.adgear.anoa.test.ad_exchange.LogEventThrift;
+import com.fasterxml.jackson.core.TreeNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import org.apache.avro.generic.GenericRecord;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class AnoaCodecsTest {
+
+  final static AnoaTestSample ATS = new AnoaTestSample();
+
+  final AnoaCodecs codecs = new AnoaCodecs()
+      .register(ATS.avroSchema)
+      .register(ATS.avroClass)
+      .register(ATS.protobufClass)
+      .warmUp();
+
+  @Test
+  public void testCache() {
+    Assert.assertSame(codecs.avroBinaryDecoder(ATS.avroSchema),
+                      codecs.avroBinaryDecoder(ATS.avroSchema));
+    Assert.assertSame(codecs.avroJacksonDecoder(ATS.avroClass),
+                      codecs.avroJacksonDecoder(ATS.avroClass));
+    Assert.assertNotSame(codecs.avroJacksonDecoder(ATS.avroClass),
+                         codecs.avroJacksonStrictDecoder(ATS.avroClass));
+    Assert.assertSame(codecs.protobufJacksonDecoder(ATS.protobufClass),
+                      codecs.protobufJacksonDecoder(ATS.protobufClass));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRegister() {
+    codecs.register(String.class);
+  }
+
+  @Test
+  public void testAvro() {
+    final List<GenericRecord> records = ATS.avroGeneric().collect(Collectors.toList());
+    ATS.assertAvroGenerics(
+        records.parallelStream()
+            .map(codecs.avroBinaryEncoder(ATS.avroSchema))
+            .map(codecs.avroBinaryDecoder(ATS.avroSchema)));
+    ATS.assertAvroGenerics(
+        records.parallelStream()
+            .map(codecs.avroJsonEncoder(ATS.avroSchema))
+            .map(codecs.avroJsonDecoder(ATS.avroSchema)));
+    ATS.assertAvroGenerics(
+        records.parallelStream()
+            .map(codecs.avroJacksonStrictEncoder(
+                ATS.avroSchema,
+                () -> new TokenBuffer(AnoaTestSample.OBJECT_MAPPER, false)))
+            .map(TokenBuffer::asParser)
+            .map(codecs.avroJacksonStrictDecoder(ATS.avroSchema)));
+    ATS.assertAvroSpecifics(
+        ATS.avroSpecific().collect(Collectors.toList()).parallelStream()
+            .map(codecs.avroBinaryEncoder(ATS.avroClass))
+            .map(codecs.avroBinaryDecoder(ATS.avroClass)));
+    ATS.assertAvroSpecifics(
+        ATS.jsonObjects().collect(Collectors.toList()).parallelStream()
+            .map(TreeNode::traverse)
+            .map(codecs.avroJacksonDecoder(ATS.avroClass)));
+  }
+
+  @Test
+  public void testProtobuf() {
+    ATS.assertProtobufObjects(
+        ATS.protobuf().collect(Collectors.toList()).parallelStream()
+            .map(codecs.protobufBinaryEncoder(ATS.protobufClass))
+            .map(codecs.protobufBinaryDecoder(ATS.protobufClass)));
+    ATS.assertProtobufObjects(
+        ATS.protobuf().collect(Collectors.toList()).parallelStream()
+            .map(codecs.protobufJacksonStrictEncoder(
+                ATS.protobufClass,
+                () -> new TokenBuffer(AnoaTestSample.OBJECT_MAPPER, false)))
+            .map(TokenBuffer::asParser)
+            .map(codecs.protobufJacksonStrictDecoder(ATS.protobufClass)));
+  }
+
+  @Test
+  public void testThrift() {
+    codecs.register(ATS.thriftClass).warmUp();
+    final List<LogEventThrift> records = ATS.thrift().collect(Collectors.toList());
+    ATS.assertThriftObjects(
+        records.parallelStream()
+            .map(codecs.thriftBinaryEncoder(ATS.thriftClass))
+            .map(codecs.thriftBinaryDecoder(ATS.thriftClass)));
+    ATS.assertThriftObjects(
+        records.parallelStream()
+            .map(codecs.thriftCompactEncoder(ATS.thriftClass))
+            .map(codecs.thriftCompactDecoder(ATS.thriftClass)));
+    ATS.assertThriftObjects(
+        records.parallelStream()
+            .map(codecs.thriftJacksonStrictEncoder(
+                ATS.thriftClass,
+                () -> new TokenBuffer(AnoaTestSample.OBJECT_MAPPER, false)))
+            .map(TokenBuffer::asParser)
+            .map(codecs.thriftJacksonStrictDecoder(ATS.thriftClass)));
+  }
+}
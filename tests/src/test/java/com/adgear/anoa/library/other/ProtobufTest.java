@@ -32,7 +32,7 @@ public class ProtobufTest {
             .map(ProtobufDecoders.binaryStrict(anoaHandler, ATS.protobufClass))
             .map(anoaHandler.consumer(collected::add))
             .count();
-        Assert.assertEquals(ATS.n + 1, total);
+        Assert.assertEquals(ATS.n, total);
       }
     }
     Assert.assertEquals(ATS.n, collected.stream().filter(ATS.protobufClass::isInstance).count());
@@ -33,7 +33,7 @@ public class ThriftTest {
             .map(ThriftDecoders.binary(anoaHandler, ATS.thriftSupplier))
             .map(anoaHandler.consumer(collected::add))
             .count();
-        Assert.assertEquals(ATS.n + 1, total);
+        Assert.assertEquals(ATS.n, total);
       }
     }
     Assert.assertEquals(ATS.n, collected.stream().filter(ATS.thriftClass::isInstance).count());
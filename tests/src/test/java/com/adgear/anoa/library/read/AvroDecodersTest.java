@@ -2,19 +2,34 @@ package com.adgear.anoa.library.read;
 
 import com.adgear.anoa.Anoa;
 import com.adgear.anoa.AnoaHandler;
+import com.adgear.anoa.AnoaJacksonTypeException;
 import com.adgear.anoa.read.AvroDecoders;
+import com.adgear.anoa.read.AvroValidation;
 import com.adgear.anoa.test.AnoaTestSample;
 import com.adgear.anoa.test.ad_exchange.LogEvent;
 import com.adgear.anoa.test.ad_exchange.LogEventAvro;
 import com.adgear.anoa.test.ad_exchange.LogEventType;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.TreeNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.specific.SpecificData;
+import org.apache.avro.util.Utf8;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public class AvroDecodersTest {
 
@@ -28,6 +43,21 @@ public class AvroDecodersTest {
     ATS.assertAvroSpecifics(ATS.avroBinary().map(AvroDecoders.binary(ATS.avroClass)));
   }
 
+  @Test
+  public void testBinaryReusing() {
+    final List<byte[]> binaries = ATS.avroBinary().collect(Collectors.toList());
+    final Function<byte[], LogEventAvro> decoder = AvroDecoders.binaryReusing(ATS.avroClass);
+    Assert.assertSame(decoder.apply(binaries.get(0)), decoder.apply(binaries.get(1)));
+    ATS.assertAvroGenerics(
+        ATS.avroBinary()
+            .map(AvroDecoders.binaryReusing(ATS.avroSchema))
+            .map(record -> GenericData.get().deepCopy(ATS.avroSchema, record)));
+    ATS.assertAvroSpecifics(
+        ATS.avroBinary()
+            .map(AvroDecoders.binaryReusing(ATS.avroClass))
+            .map(record -> SpecificData.get().deepCopy(ATS.avroSchema, record)));
+  }
+
   @Test
   public void testJson() {
     ATS.assertAvroGenerics(ATS.avroJson().map(AvroDecoders.json(ATS.avroSchema)));
@@ -47,6 +77,63 @@ public class AvroDecodersTest {
             .map(AvroDecoders.jacksonStrict(ATS.avroClass)));
   }
 
+  @Test
+  public void testJacksonUnknownFieldsConcurrently() {
+    final List<ObjectNode> objects = ATS.jsonObjects().collect(Collectors.toList());
+    final Function<JsonParser, GenericRecord> decoder = AvroDecoders.jackson(ATS.avroSchema);
+    ATS.assertAvroGenerics(
+        IntStream.range(0, objects.size())
+            .parallel()
+            .mapToObj(i -> objects.get(i).deepCopy().put("unknown_" + i, i))
+            .map(TreeNode::traverse)
+            .map(decoder));
+  }
+
+  @Test
+  public void testJacksonValidation() throws IOException {
+    final Schema schema = new Schema.Parser().parse(
+        "{\"type\":\"record\",\"name\":\"Outer\",\"fields\":["
+        + "{\"name\":\"name\",\"type\":\"string\"},"
+        + "{\"name\":\"tags\",\"type\":{\"type\":\"array\",\"items\":\"string\"},\"default\":[]},"
+        + "{\"name\":\"inner\",\"type\":{\"type\":\"record\",\"name\":\"Inner\",\"fields\":["
+        + "{\"name\":\"s\",\"type\":[\"null\",\"string\"]},"
+        + "{\"name\":\"t\",\"type\":\"string\"}]}}]}");
+    final String valid = "{\"name\":\"a\",\"tags\":[\"x\"],\"inner\":{\"s\":null,\"t\":\"b\"}}";
+    final String invalidTopLevel = "{\"name\":{},\"inner\":{\"t\":\"b\"}}";
+    final String invalidElement = "{\"name\":\"a\",\"tags\":[\"x\",{}],\"inner\":{\"t\":\"b\"}}";
+    final String invalidNested = "{\"name\":\"a\",\"inner\":{\"t\":{}}}";
+
+    for (AvroValidation validation : AvroValidation.values()) {
+      Assert.assertNotNull(decode(schema, validation, valid));
+    }
+    Assert.assertNotNull(decode(schema, AvroValidation.NONE, invalidTopLevel));
+    Assert.assertNotNull(decode(schema, AvroValidation.NONE, invalidElement));
+    Assert.assertNotNull(decode(schema, AvroValidation.NONE, invalidNested));
+    Assert.assertNotNull(decode(schema, AvroValidation.TOP_LEVEL, invalidNested));
+    for (AvroValidation validation : new AvroValidation[]{AvroValidation.TOP_LEVEL,
+                                                          AvroValidation.FULL}) {
+      for (String json : new String[]{invalidTopLevel, invalidElement}) {
+        try {
+          decode(schema, validation, json);
+          Assert.fail(validation + ": " + json);
+        } catch (AnoaJacksonTypeException e) {
+          // expected
+        }
+      }
+    }
+    try {
+      decode(schema, AvroValidation.FULL, invalidNested);
+      Assert.fail();
+    } catch (AnoaJacksonTypeException e) {
+      // expected
+    }
+  }
+
+  static private GenericRecord decode(Schema schema, AvroValidation validation, String json)
+      throws IOException {
+    return AvroDecoders.jackson(schema, validation).apply(new JsonFactory().createParser(json));
+  }
+
   @Test
   public void testAnoaBinary() {
     ATS.assertAvroGenerics(
@@ -94,6 +181,42 @@ public class AvroDecodersTest {
             .map(Anoa::get));
   }
 
+  @Test
+  public void testJacksonDefaults() throws IOException {
+    final Function<JsonParser, LogEventAvro> decoder = AvroDecoders.jackson(ATS.avroClass);
+    final LogEventAvro first = decoder.apply(new JsonFactory().createParser("{}"));
+    final LogEventAvro second = decoder.apply(new JsonFactory().createParser("{}"));
+    Assert.assertEquals(LogEventAvro.newBuilder().build(), first);
+    Assert.assertEquals(first, second);
+    for (String name : new String[]{"uuid", "request", "properties"}) {
+      final int pos = ATS.avroSchema.getField(name).pos();
+      Assert.assertNotSame(name, first.get(pos), second.get(pos));
+    }
+    Assert.assertSame(first.get(ATS.avroSchema.getField("type").pos()),
+                      second.get(ATS.avroSchema.getField("type").pos()));
+  }
+
+  @Test
+  public void testJacksonStringDefaults() throws IOException {
+    final Schema schema = SchemaBuilder.record("strings").fields()
+        .name("s").type().stringType().stringDefault("default")
+        .name("m").type().map().values().stringType().mapDefault(
+            Collections.singletonMap("key", "value"))
+        .endRecord();
+    final Function<JsonParser, GenericRecord> decoder = AvroDecoders.jackson(schema);
+    final GenericRecord first = decoder.apply(new JsonFactory().createParser("{}"));
+    final GenericRecord second = decoder.apply(new JsonFactory().createParser("{}"));
+    Assert.assertEquals(new Utf8("default"), first.get("s"));
+    Assert.assertEquals(first, second);
+    Assert.assertNotSame(first.get("s"), second.get("s"));
+    final Map<?, ?> firstMap = (Map<?, ?>) first.get("m");
+    final Map<?, ?> secondMap = (Map<?, ?>) second.get("m");
+    Assert.assertNotSame(firstMap.keySet().iterator().next(),
+                         secondMap.keySet().iterator().next());
+    Assert.assertNotSame(firstMap.values().iterator().next(),
+                         secondMap.values().iterator().next());
+  }
+
   @Test
   public void testJacksonStrictness() {
     LogEvent<?> strict = LogEvent.avro(AvroDecoders.jacksonStrict(ATS.avroClass)
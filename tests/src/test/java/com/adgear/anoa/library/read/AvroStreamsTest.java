@@ -2,11 +2,35 @@ package com.adgear.anoa.library.read;
 
 import com.adgear.anoa.Anoa;
 import com.adgear.anoa.AnoaHandler;
+import com.adgear.anoa.read.AvroBatchIndex;
 import com.adgear.anoa.read.AvroStreams;
 import com.adgear.anoa.test.AnoaTestSample;
+import com.adgear.anoa.test.ad_exchange.LogEventAvro;
+import com.adgear.anoa.write.AvroConsumers;
+import com.adgear.anoa.write.WriteConsumer;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import org.apache.avro.file.DataFileWriter;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.specific.SpecificData;
+import org.apache.avro.specific.SpecificDatumWriter;
+import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
 public class AvroStreamsTest {
 
   final public AnoaHandler<Throwable> anoaHandler = AnoaHandler.NO_OP_HANDLER;
@@ -17,6 +41,116 @@ public class AvroStreamsTest {
     ATS.assertAvroGenerics(AvroStreams.batch(ATS.avroBatch()));
   }
 
+  @Test
+  public void testBatchFile() throws IOException {
+    final File file = File.createTempFile("anoa", ".avro");
+    file.deleteOnExit();
+    try (DataFileWriter<LogEventAvro> writer =
+             new DataFileWriter<>(new SpecificDatumWriter<>(ATS.avroClass))) {
+      writer.setSyncInterval(1024);
+      writer.create(ATS.avroSchema, file);
+      for (int i = 0; i < 10; i++) {
+        ATS.avroSpecific().forEach(record -> {
+          try {
+            writer.append(record);
+          } catch (IOException e) {
+            throw new RuntimeException(e);
+          }
+        });
+      }
+    }
+    final Spliterator<GenericRecord> spliterator = AvroStreams.batch(file).spliterator();
+    Assert.assertNotNull(spliterator.trySplit());
+    final List<GenericRecord> expected = ATS.avroGeneric().collect(Collectors.toList());
+    final List<GenericRecord> actual = AvroStreams.batch(file).parallel()
+        .collect(Collectors.toList());
+    Assert.assertEquals(10 * ATS.n, actual.size());
+    for (int i = 0; i < actual.size(); i++) {
+      Assert.assertEquals(expected.get(i % ATS.n), actual.get(i));
+    }
+    Assert.assertEquals(10 * ATS.nl,
+                        AvroStreams.batch(anoaHandler, ATS.avroClass, file).parallel()
+                            .filter(Anoa::isPresent)
+                            .count());
+  }
+
+  @Test
+  public void testBatchFileRange() throws IOException {
+    final File file = File.createTempFile("anoa", ".avro");
+    file.deleteOnExit();
+    new File(file.getPath() + AvroBatchIndex.INDEX_SUFFIX).deleteOnExit();
+    try (WriteConsumer<LogEventAvro> consumer = AvroConsumers.batch(ATS.avroClass, file, 100)) {
+      for (int i = 0; i < 3; i++) {
+        ATS.avroSpecific().forEach(consumer);
+      }
+    }
+    final List<LogEventAvro> expected = ATS.avroSpecific().collect(Collectors.toList());
+    final Spliterator<LogEventAvro> spliterator =
+        AvroStreams.batch(ATS.avroClass, file, 0L, Long.MAX_VALUE).spliterator();
+    Assert.assertEquals(3 * ATS.nl, spliterator.getExactSizeIfKnown());
+    Assert.assertEquals(1500L, spliterator.trySplit().getExactSizeIfKnown());
+    final List<LogEventAvro> actual = AvroStreams.batch(ATS.avroClass, file, 950L, 2050L)
+        .parallel()
+        .collect(Collectors.toList());
+    Assert.assertEquals(1100, actual.size());
+    for (int i = 0; i < actual.size(); i++) {
+      Assert.assertEquals(expected.get((950 + i) % ATS.n), actual.get(i));
+    }
+    Assert.assertEquals(3 * ATS.nl, AvroStreams.batch(file).parallel().count());
+    Assert.assertEquals(50L,
+                        AvroStreams.batch(anoaHandler, ATS.avroClass, file, 2950L, 3050L)
+                            .filter(Anoa::isPresent)
+                            .count());
+    Assert.assertTrue(new File(file.getPath() + AvroBatchIndex.INDEX_SUFFIX).delete());
+    Assert.assertEquals(expected.subList(950, 1000),
+                        AvroStreams.batch(ATS.avroClass, file, 950L, 1000L)
+                            .collect(Collectors.toList()));
+  }
+
+  @Test
+  public void testBatchFileRangeOpenFailure() throws IOException {
+    final File file = File.createTempFile("anoa", ".avro");
+    file.deleteOnExit();
+    final File indexFile = new File(file.getPath() + AvroBatchIndex.INDEX_SUFFIX);
+    indexFile.deleteOnExit();
+    try (WriteConsumer<LogEventAvro> consumer = AvroConsumers.batch(ATS.avroClass, file, 100)) {
+      ATS.avroSpecific().forEach(consumer);
+    }
+    // Point the entry of record 500 at the end of the file, so that skipping to 505 fails.
+    try (RandomAccessFile index = new RandomAccessFile(indexFile, "rw")) {
+      index.seek(5 * 16 + 8);
+      index.writeLong(file.length());
+    }
+    final List<Anoa<LogEventAvro, Throwable>> anoas =
+        AvroStreams.batch(anoaHandler, ATS.avroClass, file, 505L, 510L)
+            .collect(Collectors.toList());
+    Assert.assertEquals(1, anoas.size());
+    Assert.assertFalse(anoas.get(0).isPresent());
+    try {
+      AvroStreams.batch(ATS.avroClass, file, 505L, 510L).count();
+      Assert.fail();
+    } catch (NoSuchElementException e) {
+      Assert.assertEquals(50L, AvroStreams.batch(ATS.avroClass, file, 450L, 500L).count());
+    }
+  }
+
+  @Test
+  public void testReusing() {
+    final Spliterator<LogEventAvro> spliterator =
+        AvroStreams.batchReusing(ATS.avroClass, ATS.avroBatchInputStream(-1)).spliterator();
+    Assert.assertNull(spliterator.trySplit());
+    final List<LogEventAvro> records = new ArrayList<>();
+    spliterator.forEachRemaining(records::add);
+    Assert.assertEquals(ATS.n, records.size());
+    Assert.assertSame(records.get(0), records.get(ATS.n - 1));
+    ATS.assertAvroSpecifics(
+        AvroStreams.batchReusing(ATS.avroClass, ATS.avroBatchInputStream(-1))
+            .map(record -> SpecificData.get().deepCopy(ATS.avroSchema, record)));
+    ATS.assertAvroGenerics(
+        AvroStreams.binaryReusing(ATS.avroSchema, ATS.avroBinaryInputStream(-1))
+            .map(record -> GenericData.get().deepCopy(ATS.avroSchema, record)));
+  }
+
   @Test
   public void testBinary() {
     ATS.assertAvroGenerics(
@@ -81,5 +215,48 @@ public class AvroStreamsTest {
             .flatMap(Anoa::asStream));
   }
 
+  @Test
+  public void testAnoaJacksonResync() throws IOException {
+    final List<String> json = ATS.json().limit(3).collect(Collectors.toList());
+    json.set(1, "{\"timestamp\":{\"foo\":[1,{\"bar\":2}]},\"uuid\":null}");
+    final List<Anoa<GenericRecord, Throwable>> anoas = AvroStreams
+        .jacksonStrict(anoaHandler,
+                       ATS.avroSchema,
+                       new JsonFactory().createParser(String.join("\n", json)))
+        .collect(Collectors.toList());
+    Assert.assertEquals(3, anoas.size());
+    Assert.assertFalse(anoas.get(1).isPresent());
+    final List<GenericRecord> expected = ATS.avroGeneric().limit(3).collect(Collectors.toList());
+    Assert.assertEquals(expected.get(0), anoas.get(0).get());
+    Assert.assertEquals(expected.get(2), anoas.get(2).get());
+  }
 
+  @Test
+  public void testJacksonFieldOrder() throws IOException {
+    final String json = ATS.jsonNodes()
+        .map(AvroStreamsTest::reverse)
+        .map(node -> (ObjectNode) node)
+        .map(node -> node.put("unknown_last", "x"))
+        .map(JsonNode::toString)
+        .map(s -> "{\"unknown_first\":[1,{\"x\":null}]," + s.substring(1))
+        .collect(Collectors.joining("\n"));
+    ATS.assertAvroGenerics(
+        AvroStreams.jacksonStrict(
+            ATS.avroSchema,
+            new JsonFactory().createParser(new ByteArrayInputStream(json.getBytes()))));
+    ATS.assertAvroSpecifics(
+        AvroStreams.jacksonStrict(ATS.avroClass, new JsonFactory().createParser(json)));
+  }
+
+  static private JsonNode reverse(JsonNode node) {
+    if (!node.isObject()) {
+      return node;
+    }
+    final List<String> names = new ArrayList<>();
+    node.fieldNames().forEachRemaining(names::add);
+    Collections.reverse(names);
+    final ObjectNode result = AnoaTestSample.OBJECT_MAPPER.createObjectNode();
+    names.forEach(name -> result.set(name, reverse(node.get(name))));
+    return result;
+  }
 }
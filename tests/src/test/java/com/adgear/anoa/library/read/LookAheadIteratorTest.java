@@ -0,0 +1,63 @@
+package com.adgear.anoa.library.read;
+
+import com.adgear.anoa.read.AvroStreams;
+import com.adgear.anoa.read.LookAheadIterator;
+import com.adgear.anoa.test.AnoaTestSample;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+public class LookAheadIteratorTest {
+
+  final static AnoaTestSample ATS = new AnoaTestSample();
+
+  static private LookAheadIterator<Integer> range(int n) {
+    final AtomicInteger counter = new AtomicInteger();
+    return new LookAheadIterator<>(
+        () -> counter.get() >= n,
+        (Consumer<Boolean> setHasNext) -> (__ -> counter.getAndIncrement()),
+        () -> {
+        });
+  }
+
+  @Test
+  public void testBatches() {
+    final Spliterator<Integer> spliterator = range(100).asSpliterator(10, 25);
+    Assert.assertFalse(spliterator.hasCharacteristics(Spliterator.SIZED));
+    Assert.assertEquals(10, spliterator.trySplit().estimateSize());
+    Assert.assertEquals(20, spliterator.trySplit().estimateSize());
+    Assert.assertEquals(25, spliterator.trySplit().estimateSize());
+    Assert.assertEquals(25, spliterator.trySplit().estimateSize());
+    Assert.assertEquals(20, spliterator.trySplit().estimateSize());
+    Assert.assertNull(spliterator.trySplit());
+  }
+
+  @Test
+  public void testSized() {
+    final Spliterator<Integer> spliterator = range(100).asSpliterator(100, 10, 25);
+    Assert.assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED));
+    Assert.assertTrue(spliterator.hasCharacteristics(Spliterator.SUBSIZED));
+    Assert.assertEquals(10, spliterator.trySplit().getExactSizeIfKnown());
+    Assert.assertEquals(90, spliterator.getExactSizeIfKnown());
+    Assert.assertEquals(
+        IntStream.range(0, 100).boxed().collect(Collectors.toList()),
+        StreamSupport.stream(range(100).asSpliterator(100, 3, 7), true)
+            .collect(Collectors.toList()));
+  }
+
+  @Test
+  public void testParallel() {
+    ATS.assertAvroGenerics(
+        AvroStreams.binary(ATS.avroSchema, ATS.avroBinaryInputStream(-1)).parallel());
+    Assert.assertNotNull(
+        AvroStreams.binary(ATS.avroSchema, ATS.avroBinaryInputStream(-1)).spliterator()
+            .trySplit());
+  }
+}
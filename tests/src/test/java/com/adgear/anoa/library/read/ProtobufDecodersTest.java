@@ -6,12 +6,17 @@ import com.adgear.anoa.AnoaHandler;
 import com.adgear.anoa.read.ProtobufDecoders;
 import com.adgear.anoa.test.AnoaTestSample;
 import com.adgear.anoa.test.ad_exchange.AdExchangeProtobuf;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.TreeNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import open_rtb.OpenRtbProtobuf;
 
@@ -35,6 +40,17 @@ public class ProtobufDecodersTest {
             .map(ProtobufDecoders.jacksonStrict(ATS.protobufClass)));
   }
 
+  @Test
+  public void testJacksonConcurrently() {
+    final List<ObjectNode> objects = ATS.jsonObjects().collect(Collectors.toList());
+    final Function<JsonParser, AdExchangeProtobuf.LogEvent> decoder =
+        ProtobufDecoders.jacksonStrict(ATS.protobufClass);
+    ATS.assertProtobufObjects(
+        objects.parallelStream()
+            .map(TreeNode::traverse)
+            .map(decoder));
+  }
+
   @Test
   public void testJacksonStrictness() throws IOException {
     AdExchangeProtobuf.LogEvent strict = ProtobufDecoders.jacksonStrict(ATS.protobufClass)
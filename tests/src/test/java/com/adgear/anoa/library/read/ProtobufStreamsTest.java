@@ -9,6 +9,12 @@ import com.adgear.anoa.test.ad_exchange.AdExchangeProtobuf;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
@@ -32,6 +38,49 @@ public class ProtobufStreamsTest {
         ProtobufStreams.binaryStrict(ATS.protobufClass, ATS.protoBinaryInputStream(-1)));
   }
 
+  @Test
+  public void testBinaryFile() throws IOException {
+    final File file = File.createTempFile("anoa", ".pb");
+    file.deleteOnExit();
+    try (OutputStream outputStream = new FileOutputStream(file)) {
+      for (AdExchangeProtobuf.LogEvent record : ATS.protobuf().collect(Collectors.toList())) {
+        record.writeDelimitedTo(outputStream);
+      }
+    }
+    ATS.assertProtobufObjects(ProtobufStreams.binary(ATS.protobufClass, file));
+    ATS.assertProtobufObjects(ProtobufStreams.binaryStrict(ATS.protobufClass, file));
+    Assert.assertEquals(
+        ATS.nl,
+        ProtobufStreams.binary(anoaHandler, ATS.protobufClass, file)
+            .filter(Anoa::isPresent)
+            .count());
+    Assert.assertEquals(
+        ATS.nl,
+        ProtobufStreams.binaryStrict(anoaHandler, ATS.protobufClass, file)
+            .filter(Anoa::isPresent)
+            .count());
+  }
+
+  @Test
+  public void testBinaryByteBuffer() throws IOException {
+    final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    for (AdExchangeProtobuf.LogEvent record : ATS.protobuf().collect(Collectors.toList())) {
+      record.writeDelimitedTo(baos);
+    }
+    final byte[] bytes = baos.toByteArray();
+    ATS.assertProtobufObjects(ProtobufStreams.binary(ATS.protobufClass, ByteBuffer.wrap(bytes)));
+    final ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+    direct.put(bytes).flip();
+    ATS.assertProtobufObjects(ProtobufStreams.binary(ATS.protobufClass, direct));
+    ATS.assertProtobufObjects(
+        ProtobufStreams.binaryStrict(ATS.protobufClass, ByteBuffer.wrap(bytes)));
+    Assert.assertEquals(
+        ATS.nl,
+        ProtobufStreams.binaryStrict(anoaHandler, ATS.protobufClass, ByteBuffer.wrap(bytes))
+            .filter(Anoa::isPresent)
+            .count());
+  }
+
   @Test
   public void testJackson() {
     ATS.assertProtobufObjects(
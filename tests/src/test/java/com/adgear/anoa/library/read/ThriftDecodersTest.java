@@ -6,6 +6,7 @@ import com.adgear.anoa.read.ThriftDecoders;
 import com.adgear.anoa.test.AnoaTestSample;
 import com.adgear.anoa.test.ad_exchange.LogEventThrift;
 import com.adgear.anoa.test.ad_exchange.LogEventTypeThrift;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.TreeNode;
 
 import org.junit.Assert;
@@ -13,6 +14,7 @@ import org.junit.Test;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class ThriftDecodersTest {
@@ -60,6 +62,18 @@ public class ThriftDecodersTest {
             .map(ThriftDecoders.jacksonStrict(ATS.thriftClass)));
   }
 
+  @Test
+  public void testJacksonConcurrently() {
+    final Function<JsonParser, LogEventThrift> decoder =
+        ThriftDecoders.jacksonStrict(ATS.thriftClass);
+    ATS.assertThriftObjects(
+        ATS.jsonObjects()
+            .collect(Collectors.toList())
+            .parallelStream()
+            .map(TreeNode::traverse)
+            .map(decoder));
+  }
+
   @Test
   public void testJacksonStrictness() {
     LogEventThrift strict = ThriftDecoders.jacksonStrict(ATS.thriftClass)
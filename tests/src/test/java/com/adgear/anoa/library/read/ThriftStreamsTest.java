@@ -5,10 +5,14 @@ import com.adgear.anoa.AnoaHandler;
 import com.adgear.anoa.read.ThriftStreams;
 import com.adgear.anoa.test.AnoaTestSample;
 import com.adgear.anoa.test.ad_exchange.LogEventThrift;
+import com.adgear.anoa.write.ThriftConsumers;
+import com.adgear.anoa.write.WriteConsumer;
 
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.List;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
@@ -44,6 +48,28 @@ public class ThriftStreamsTest {
         ThriftStreams.json(ATS.thriftSupplier, ATS.thriftJsonInputStream(-1)));
   }
 
+  @Test
+  public void testFile() throws IOException {
+    final File binary = File.createTempFile("anoa", ".thrift");
+    binary.deleteOnExit();
+    try (WriteConsumer<LogEventThrift> consumer = ThriftConsumers.binary(binary.getPath())) {
+      ATS.thrift().forEach(consumer);
+    }
+    ATS.assertThriftObjects(ThriftStreams.binary(ATS.thriftSupplier, binary.getPath()));
+    Assert.assertEquals(
+        ATS.nl,
+        ThriftStreams.binary(anoaHandler, ATS.thriftSupplier, binary.getPath())
+            .filter(Anoa::isPresent)
+            .count());
+
+    final File compact = File.createTempFile("anoa", ".thrift");
+    compact.deleteOnExit();
+    try (WriteConsumer<LogEventThrift> consumer = ThriftConsumers.compact(compact.getPath())) {
+      ATS.thrift().forEach(consumer);
+    }
+    ATS.assertThriftObjects(ThriftStreams.compact(ATS.thriftSupplier, compact.getPath()));
+  }
+
   @Test
   public void testJackson() {
     ATS.assertThriftObjects(
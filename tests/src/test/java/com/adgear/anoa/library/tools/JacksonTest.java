@@ -31,10 +31,12 @@ import org.junit.Test;
 
 import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
+import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Scanner;
 import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
 import java.util.stream.Collectors;
 
 import junitx.framework.ListAssert;
@@ -55,6 +57,49 @@ public class JacksonTest {
     Assert.assertEquals(ATS.nl, n);
   }
 
+  @Test
+  public void testToBufferAndView() throws Exception {
+    List<ObjectNode> expected = ATS.json()
+        .map(String::getBytes)
+        .map(JacksonDecoders.json())
+        .collect(Collectors.toList());
+
+    ToIntBiFunction<ObjectNode, ByteBuffer> toBuffer = JacksonEncoders.jsonToBuffer();
+    ByteBuffer small = ByteBuffer.allocate(8);
+    small.position(2);
+    try {
+      toBuffer.applyAsInt(expected.get(0), small);
+      Assert.fail();
+    } catch (BufferOverflowException e) {
+      Assert.assertEquals(2, small.position());
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(1 << 22);
+    List<Integer> lengths = expected.stream()
+        .map(node -> toBuffer.applyAsInt(node, buffer))
+        .collect(Collectors.toList());
+    buffer.flip();
+    Assert.assertEquals(expected, lengths.stream()
+        .map(length -> {
+          byte[] bytes = new byte[length];
+          buffer.get(bytes);
+          return bytes;
+        })
+        .map(JacksonDecoders.json())
+        .collect(Collectors.toList()));
+    Assert.assertFalse(buffer.hasRemaining());
+
+    Assert.assertEquals(expected, expected.stream()
+        .map(JacksonEncoders.cborView())
+        .map(view -> {
+          Assert.assertTrue(view.isReadOnly());
+          byte[] bytes = new byte[view.remaining()];
+          view.get(bytes);
+          return bytes;
+        })
+        .map(JacksonDecoders.cbor())
+        .collect(Collectors.toList()));
+  }
+
   @Test
   public void testCsv() throws Exception {
     CsvSchema schema = CsvSchema.builder()
@@ -10,6 +10,7 @@ import com.adgear.anoa.read.AvroDecoders;
 import com.adgear.anoa.read.AvroStreams;
 import com.adgear.anoa.read.CsvStreams;
 import com.adgear.anoa.read.JdbcStreams;
+import com.adgear.anoa.read.ProtobufDecoders;
 import com.adgear.anoa.read.ThriftDecoders;
 import com.adgear.anoa.test.simple.SimpleAvro;
 import com.adgear.anoa.test.simple.SimpleThrift;
@@ -18,6 +19,7 @@ import com.fasterxml.jackson.core.TreeNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.commons.codec.binary.Hex;
 import org.junit.Assert;
@@ -27,19 +29,58 @@ import org.junit.Test;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 public class JdbcTest {
 
+  static final String URL = "jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1";
+
   static protected Connection openDBConnection() throws SQLException {
-    return DriverManager.getConnection("jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1");
+    return DriverManager.getConnection(URL);
+  }
+
+  static private void insertRows(int n) throws SQLException {
+    try (Connection conn = openDBConnection()) {
+      try (PreparedStatement stmt =
+               conn.prepareStatement("INSERT INTO simple VALUES (?, ?, ?, ?)")) {
+        for (int i = 0; i < n; i++) {
+          stmt.setInt(1, i);
+          stmt.setBytes(2, new byte[]{(byte) i});
+          stmt.setDouble(3, 0.5 * i);
+          stmt.setBoolean(4, i % 2 == 0);
+          stmt.executeUpdate();
+        }
+      }
+    }
+  }
+
+  static private List<SimpleAvro> runPartitioned(String partitionColumn,
+                                                 boolean preserveOrder) throws Exception {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    new DataTool<>(SimpleAvro.getClassSchema(),
+                   null,
+                   null,
+                   Format.AVRO_BINARY,
+                   baos,
+                   URL,
+                   Collections.emptyList(),
+                   "SELECT * FROM simple",
+                   64,
+                   partitionColumn,
+                   4,
+                   preserveOrder).run();
+    return AvroStreams.binary(SimpleAvro.class, new ByteArrayInputStream(baos.toByteArray()))
+        .collect(Collectors.toList());
   }
 
   @BeforeClass
@@ -148,6 +189,64 @@ public class JdbcTest {
     }
   }
 
+  @Test
+  public void testAvro() throws Exception {
+    try (Connection connection = openDBConnection()) {
+      try (Statement statement = connection.createStatement()) {
+        try (ResultSet resultSet = statement.executeQuery("SELECT * FROM simple")) {
+          List<GenericRecord> simples = JdbcStreams.avro(resultSet, SimpleAvro.getClassSchema())
+              .collect(Collectors.toList());
+
+          Assert.assertEquals(2, simples.size());
+          Assert.assertEquals(101L, simples.get(0).get("from_3p"));
+          Assert.assertEquals(ByteBuffer.wrap(Hex.decodeHex("FEEB".toCharArray())),
+                              simples.get(0).get("bar"));
+          Assert.assertEquals(789.1, (Double) simples.get(0).get("baz"), 0.0000001);
+          Assert.assertEquals(true, simples.get(0).get("flag_3p"));
+          Assert.assertEquals(-102L, simples.get(1).get("from_3p"));
+          Assert.assertEquals(false, simples.get(1).get("flag_3p"));
+        }
+        try (ResultSet resultSet = statement.executeQuery("SELECT * FROM simple")) {
+          Schema induced = JdbcStreams.induceSchema(resultSet.getMetaData());
+          List<GenericRecord> simples = JdbcStreams.avro(resultSet, induced)
+              .collect(Collectors.toList());
+
+          Assert.assertEquals(2, simples.size());
+          Assert.assertEquals(101, simples.get(0).get("from_3p"));
+          Assert.assertEquals(543.2, (Double) simples.get(1).get("baz"), 0.0000001);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testAvroColumnMatching() throws Exception {
+    Schema schema = SchemaBuilder.record("matching").fields()
+        .optionalInt("a_b")
+        .optionalInt("ab")
+        .optionalInt("Baz")
+        .endRecord();
+    try (Connection connection = openDBConnection()) {
+      try (Statement statement = connection.createStatement()) {
+        try (ResultSet resultSet = statement.executeQuery(
+            "SELECT 1 AS a_b, 2 AS ab, 3 AS \"b_a_z\"")) {
+          GenericRecord record = JdbcStreams.avro(resultSet, schema).findFirst().get();
+          Assert.assertEquals(1, record.get("a_b"));
+          Assert.assertEquals(2, record.get("ab"));
+          Assert.assertEquals(3, record.get("Baz"));
+        }
+        try (ResultSet resultSet = statement.executeQuery("SELECT 1 AS a_b, 2 AS ab")) {
+          JdbcStreams.avro(resultSet, SchemaBuilder.record("ambiguous").fields()
+              .optionalInt("a__b")
+              .endRecord());
+          Assert.fail();
+        } catch (IllegalArgumentException e) {
+          Assert.assertTrue(e.getMessage().contains("a__b"));
+        }
+      }
+    }
+  }
+
   @Test
   public void testDataToolCsv() throws Exception {
     final byte[] bytes;
@@ -194,4 +293,31 @@ public class JdbcTest {
         .filter(x -> x != null)
         .count());
   }
+
+  @Test
+  public void testDataToolPartitioned() throws Exception {
+    insertRows(1000);
+    List<Long> expected = LongStream.range(0, 1000).boxed().collect(Collectors.toList());
+    expected.add(0, -102L);
+    expected.add(102, 101L);
+    Assert.assertEquals(expected, runPartitioned("from_3p", true).stream()
+        .map(x -> (Long) x.get(0))
+        .collect(Collectors.toList()));
+  }
+
+  @Test
+  public void testDataToolPartitionedUnordered() throws Exception {
+    insertRows(1000);
+    try (Connection conn = openDBConnection()) {
+      try (Statement stmt = conn.createStatement()) {
+        stmt.executeUpdate("INSERT INTO simple VALUES ('7', 'BEEF', NULL, TRUE)");
+      }
+    }
+    List<SimpleAvro> simples = runPartitioned("baz", false);
+    Assert.assertEquals(1003, simples.size());
+    Assert.assertEquals(1003, simples.stream()
+        .map(x -> x.get(0) + ":" + x.get(2))
+        .distinct()
+        .count());
+  }
 }
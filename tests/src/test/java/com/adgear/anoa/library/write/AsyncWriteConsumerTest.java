@@ -0,0 +1,120 @@
+package com.adgear.anoa.library.write;
+
+import com.adgear.anoa.read.AvroStreams;
+import com.adgear.anoa.test.AnoaTestSample;
+import com.adgear.anoa.test.ad_exchange.LogEventAvro;
+import com.adgear.anoa.write.AsyncWriteConsumer;
+import com.adgear.anoa.write.AvroConsumers;
+import com.adgear.anoa.write.WriteConsumer;
+
+import org.apache.avro.generic.GenericRecord;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+
+public class AsyncWriteConsumerTest {
+
+  final static AnoaTestSample ATS = new AnoaTestSample();
+
+  @Test
+  public void testAsync() {
+    ATS.assertAvroGenerics(AvroStreams.batch(ATS.allAsInputStream(
+        os -> {
+          try (WriteConsumer<GenericRecord> wc = new AsyncWriteConsumer<>(
+              AvroConsumers.batch(ATS.avroSchema, os),
+              16,
+              4,
+              AsyncWriteConsumer.OverflowPolicy.BLOCK)) {
+            ATS.avroGeneric().forEach(wc);
+          }
+        })));
+  }
+
+  @Test
+  public void testBatch() {
+    final List<LogEventAvro> records = ATS.avroSpecific().collect(Collectors.toList());
+    ATS.assertAvroSpecifics(AvroStreams.binary(ATS.avroClass, ATS.allAsInputStream(
+        os -> {
+          try (AsyncWriteConsumer<LogEventAvro> wc =
+                   new AsyncWriteConsumer<>(AvroConsumers.binary(ATS.avroClass, os))) {
+            wc.acceptAllChecked(records.subList(0, ATS.n / 2));
+            wc.flush();
+            wc.acceptAllChecked(records.subList(ATS.n / 2, ATS.n));
+          }
+        })));
+  }
+
+  @Test
+  public void testDrop() throws Exception {
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final List<Integer> written = new ArrayList<>();
+    final WriteConsumer<Integer> blocking = new WriteConsumer<Integer>() {
+      @Override
+      public void acceptChecked(Integer record) throws IOException {
+        started.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          throw new IOException(e);
+        }
+        written.add(record);
+      }
+
+      @Override
+      public void flush() {
+      }
+    };
+    final AsyncWriteConsumer<Integer> wc =
+        new AsyncWriteConsumer<>(blocking, 2, 1, AsyncWriteConsumer.OverflowPolicy.DROP);
+    wc.accept(0);
+    started.await();
+    for (int i = 1; i < 10; i++) {
+      wc.accept(i);
+    }
+    Assert.assertEquals(7L, wc.dropped());
+    release.countDown();
+    wc.close();
+    Assert.assertEquals(Arrays.asList(0, 1, 2), written);
+  }
+
+  @Test
+  public void testError() throws Exception {
+    final WriteConsumer<Integer> failing = new WriteConsumer<Integer>() {
+      @Override
+      public void acceptChecked(Integer record) throws IOException {
+        throw new IOException("fail " + record);
+      }
+
+      @Override
+      public void flush() {
+      }
+    };
+    final AsyncWriteConsumer<Integer> wc = new AsyncWriteConsumer<>(failing);
+    wc.accept(1);
+    try {
+      wc.flush();
+      Assert.fail();
+    } catch (IOException e) {
+      Assert.assertEquals("fail 1", e.getCause().getMessage());
+    }
+    try {
+      wc.acceptChecked(2);
+      Assert.fail();
+    } catch (IOException e) {
+      Assert.assertEquals("fail 1", e.getCause().getMessage());
+    }
+    try {
+      wc.close();
+      Assert.fail();
+    } catch (IOException e) {
+      Assert.assertEquals("fail 1", e.getCause().getMessage());
+    }
+  }
+}
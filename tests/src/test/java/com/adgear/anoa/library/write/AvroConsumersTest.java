@@ -7,10 +7,25 @@ import com.adgear.anoa.write.AvroConsumers;
 import com.adgear.anoa.write.WriteConsumer;
 import com.fasterxml.jackson.databind.util.TokenBuffer;
 
+import org.apache.avro.file.CodecFactory;
+import org.apache.avro.file.DataFileWriter;
+import org.apache.avro.file.SeekableByteArrayInput;
 import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.specific.SpecificDatumWriter;
+import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 public class AvroConsumersTest {
 
@@ -26,6 +41,79 @@ public class AvroConsumersTest {
         })));
   }
 
+  @Test
+  public void testParallelBatch() throws IOException {
+    final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    try (WriteConsumer<LogEventAvro> wc = AvroConsumers.batch(
+        ATS.avroClass, baos, CodecFactory.fromString("deflate"), 4096, 3)) {
+      for (int i = 0; i < 5; i++) {
+        ATS.avroSpecific().forEach(wc);
+      }
+    }
+    final byte[] actual = baos.toByteArray();
+    final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+    try (DataFileWriter<LogEventAvro> writer =
+             new DataFileWriter<>(new SpecificDatumWriter<>(ATS.avroClass))) {
+      writer.setSyncInterval(4096);
+      writer.appendTo(new SeekableByteArrayInput(actual), expected);
+      for (int i = 0; i < 5; i++) {
+        for (LogEventAvro record : ATS.avroSpecific().collect(Collectors.toList())) {
+          writer.append(record);
+        }
+      }
+    }
+    Assert.assertTrue(expected.size() < actual.length);
+    Assert.assertArrayEquals(
+        expected.toByteArray(),
+        Arrays.copyOfRange(actual, actual.length - expected.size(), actual.length));
+    Assert.assertEquals(
+        5 * ATS.nl,
+        AvroStreams.batch(ATS.avroClass, new ByteArrayInputStream(actual)).count());
+  }
+
+  @Test
+  public void testParallelBatchExecutor() throws IOException {
+    final ExecutorService executor = Executors.newFixedThreadPool(2);
+    final AtomicInteger blocks = new AtomicInteger();
+    final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    try {
+      try (WriteConsumer<GenericRecord> wc = AvroConsumers.batch(
+          ATS.avroSchema, baos, CodecFactory.fromString("deflate"), 4096, 3, runnable -> {
+            blocks.incrementAndGet();
+            executor.execute(runnable);
+          })) {
+        ATS.avroGeneric().forEach(wc);
+      }
+    } finally {
+      executor.shutdown();
+    }
+    Assert.assertTrue(blocks.get() > 1);
+    ATS.assertAvroGenerics(
+        AvroStreams.batch(ATS.avroSchema, new ByteArrayInputStream(baos.toByteArray())));
+  }
+
+  @Test
+  public void testParallelBatchCloseOnFailure() throws IOException {
+    final AtomicBoolean closed = new AtomicBoolean(false);
+    final OutputStream out = new ByteArrayOutputStream() {
+      @Override
+      public void close() {
+        closed.set(true);
+      }
+    };
+    final WriteConsumer<GenericRecord> wc = AvroConsumers.batch(
+        ATS.avroSchema, out, CodecFactory.fromString("deflate"), 1 << 20, 3, runnable -> {
+          throw new RejectedExecutionException();
+        });
+    ATS.avroGeneric().limit(1).forEach(wc);
+    try {
+      wc.close();
+      Assert.fail();
+    } catch (RejectedExecutionException e) {
+      Assert.assertTrue(closed.get());
+    }
+  }
+
   @Test
   public void testBinary() {
     ATS.assertAvroGenerics(AvroStreams.binary(ATS.avroSchema, ATS.allAsInputStream(
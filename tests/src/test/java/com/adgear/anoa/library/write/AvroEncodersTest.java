@@ -2,6 +2,7 @@ package com.adgear.anoa.library.write;
 
 import com.adgear.anoa.Anoa;
 import com.adgear.anoa.AnoaHandler;
+import com.adgear.anoa.EncodedBatch;
 import com.adgear.anoa.read.AvroDecoders;
 import com.adgear.anoa.test.AnoaTestSample;
 import com.adgear.anoa.test.ad_exchange.LogEventAvro;
@@ -9,11 +10,19 @@ import com.adgear.anoa.write.AvroEncoders;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.util.TokenBuffer;
 
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.GenericRecord;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
+import java.util.stream.Stream;
 
 public class AvroEncodersTest {
 
@@ -33,6 +42,54 @@ public class AvroEncodersTest {
             .map(AvroDecoders.binary(ATS.avroSchema)));
   }
 
+  @Test
+  public void testBinaryToBuffer() {
+    ATS.assertAvroGenerics(
+        BufferTestUtils.pack(ATS.avroGeneric(),
+                             AvroEncoders.binaryToBuffer(ATS.avroSchema),
+                             ByteBuffer.allocate(1 << 20)).stream()
+            .map(AvroDecoders.binary(ATS.avroSchema)));
+    final ToIntBiFunction<LogEventAvro, ByteBuffer> encoder =
+        AvroEncoders.binaryToBuffer(ATS.avroClass);
+    BufferTestUtils.overflow(ATS.avroSpecific().findFirst().get(), encoder, 2);
+    ATS.assertAvroSpecifics(
+        BufferTestUtils.pack(ATS.avroSpecific(), encoder, ByteBuffer.allocateDirect(1 << 20))
+            .stream()
+            .map(AvroDecoders.binary(ATS.avroClass)));
+  }
+
+  @Test
+  public void testBinaryView() {
+    ATS.assertAvroSpecifics(
+        ATS.avroSpecific()
+            .map(AvroEncoders.binaryView(ATS.avroClass))
+            .map(BufferTestUtils::copy)
+            .map(AvroDecoders.binary(ATS.avroClass)));
+  }
+
+  @Test
+  public void testBinaryBatch() {
+    final EncodedBatch batch =
+        AvroEncoders.binaryBatch(ATS.avroSchema, false).apply(ATS.avroGeneric());
+    Assert.assertEquals(ATS.n, batch.size());
+    Assert.assertFalse(batch.isLengthPrefixed());
+    Assert.assertArrayEquals(
+        AvroEncoders.binary(ATS.avroSchema).apply(ATS.avroGeneric().findFirst().get()),
+        BufferTestUtils.copy(batch.get(0)));
+    final Function<EncodedBatch, Stream<GenericRecord>> decoder =
+        AvroDecoders.binaryBatch(ATS.avroSchema);
+    ATS.assertAvroGenerics(decoder.apply(batch));
+    ATS.assertAvroGenerics(decoder.apply(batch).parallel());
+
+    final EncodedBatch framed =
+        AvroEncoders.binaryBatch(ATS.avroClass, true).apply(ATS.avroSpecific());
+    Assert.assertEquals(batch.bytes().length + 4 * ATS.n, framed.bytes().length);
+    final EncodedBatch parsed =
+        EncodedBatch.ofLengthPrefixed(framed.bytes(), 0, framed.bytes().length);
+    Assert.assertEquals(ATS.n, parsed.size());
+    ATS.assertAvroSpecifics(AvroDecoders.binaryBatch(ATS.avroClass).apply(parsed));
+  }
+
   @Test
   public void testJson() {
     ATS.assertAvroGenerics(
@@ -65,6 +122,35 @@ public class AvroEncodersTest {
             .map(AvroDecoders.jacksonStrict(ATS.avroSchema)));
   }
 
+  @Test
+  public void testJacksonSchemaCheck() {
+    final Schema copy = new Schema.Parser().parse(ATS.avroSchema.toString());
+    Assert.assertNotSame(ATS.avroSchema, copy);
+    ATS.assertAvroGenerics(
+        ATS.avroGeneric()
+            .map(AvroEncoders.binary(ATS.avroSchema))
+            .map(AvroDecoders.binary(copy))
+            .map(AvroEncoders.jacksonStrict(
+                ATS.avroSchema,
+                () -> new TokenBuffer(AnoaTestSample.OBJECT_MAPPER, false)))
+            .map(TokenBuffer::asParser)
+            .map(AvroDecoders.jacksonStrict(ATS.avroSchema)));
+
+    final Schema other = SchemaBuilder.record("Other").fields().requiredInt("i").endRecord();
+    final GenericRecord record = new GenericData.Record(other);
+    record.put("i", 1);
+    try {
+      AvroEncoders.jackson(other, () -> new TokenBuffer(AnoaTestSample.OBJECT_MAPPER, false))
+          .apply(record);
+      AvroEncoders.jackson(ATS.avroSchema,
+                           () -> new TokenBuffer(AnoaTestSample.OBJECT_MAPPER, false))
+          .apply(record);
+      Assert.fail();
+    } catch (UncheckedIOException e) {
+      Assert.assertTrue(e.getCause().getMessage().startsWith("Record does not have"));
+    }
+  }
+
   @Test
   public void testJacksonStrictness() throws IOException {
     LogEventAvro avro = AvroDecoders.jackson(ATS.avroClass)
@@ -0,0 +1,96 @@
+package com.adgear.anoa.library.write;
+
+import com.adgear.anoa.read.AvroDecoders;
+import com.adgear.anoa.read.AvroStreams;
+import com.adgear.anoa.write.AvroConsumers;
+import com.adgear.anoa.write.AvroEncoders;
+import com.adgear.anoa.write.BufferPool;
+import com.adgear.anoa.write.WriteConsumer;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.file.CodecFactory;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.function.Function;
+
+public class BufferPoolTest {
+
+  static final Schema SCHEMA = SchemaBuilder.record("Blob").fields()
+      .requiredBytes("bytes")
+      .endRecord();
+
+  static private GenericRecord blob(int size) {
+    final GenericRecord record = new GenericData.Record(SCHEMA);
+    record.put("bytes", ByteBuffer.wrap(new byte[size]));
+    return record;
+  }
+
+  @Test
+  public void testSharing() {
+    final Function<GenericRecord, byte[]> first = AvroEncoders.binary(SCHEMA);
+    final Function<GenericRecord, byte[]> second = AvroEncoders.binary(SCHEMA);
+    final GenericRecord record = blob(100);
+    first.apply(record);
+    final BufferPool.Statistics before = BufferPool.statistics();
+    for (int i = 0; i < 100; i++) {
+      Assert.assertEquals(102, first.apply(record).length);
+      Assert.assertEquals(102, second.apply(record).length);
+    }
+    final BufferPool.Statistics after = BufferPool.statistics();
+    Assert.assertEquals(200L, after.acquired - before.acquired);
+    Assert.assertEquals(200L, after.threadLocalHits - before.threadLocalHits);
+    Assert.assertEquals(200L, after.released - before.released);
+    Assert.assertEquals(0L, after.allocated() - before.allocated());
+  }
+
+  @Test
+  public void testSpike() {
+    final Function<GenericRecord, byte[]> encoder = AvroEncoders.binary(SCHEMA);
+    final Function<byte[], GenericRecord> decoder = AvroDecoders.binary(SCHEMA);
+    final int spikeSize = 4 * BufferPool.MAX_POOLED_SIZE;
+    final BufferPool.Statistics before = BufferPool.statistics();
+    final byte[] spike = encoder.apply(blob(spikeSize));
+    Assert.assertEquals(spikeSize,
+                        ((ByteBuffer) decoder.apply(spike).get("bytes")).remaining());
+    Assert.assertEquals(2, encoder.apply(blob(1)).length);
+    final BufferPool.Statistics after = BufferPool.statistics();
+    Assert.assertTrue(after.discarded - before.discarded >= 1L);
+    Assert.assertEquals(after.acquired - before.acquired, after.released - before.released);
+  }
+
+  @Test
+  public void testGlobal() throws Exception {
+    final Function<GenericRecord, byte[]> encoder = AvroEncoders.binary(SCHEMA);
+    final GenericRecord record = blob(2 * BufferPool.MAX_THREAD_LOCAL_SIZE);
+    encoder.apply(record);
+    final BufferPool.Statistics before = BufferPool.statistics();
+    final Thread thread = new Thread(() -> encoder.apply(record));
+    thread.start();
+    thread.join();
+    final BufferPool.Statistics after = BufferPool.statistics();
+    Assert.assertTrue(after.globalHits - before.globalHits >= 1L);
+  }
+
+  @Test
+  public void testParallelBatch() throws Exception {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    final BufferPool.Statistics before = BufferPool.statistics();
+    try (WriteConsumer<GenericRecord> consumer =
+             AvroConsumers.batch(SCHEMA, out, CodecFactory.deflateCodec(1), 1024, 4)) {
+      for (int i = 0; i < 1000; i++) {
+        consumer.accept(blob(100));
+      }
+    }
+    final BufferPool.Statistics after = BufferPool.statistics();
+    Assert.assertEquals(after.acquired - before.acquired, after.released - before.released);
+    Assert.assertEquals(1000L, AvroStreams.batch(new ByteArrayInputStream(out.toByteArray()))
+        .count());
+  }
+}
@@ -0,0 +1,65 @@
+package com.adgear.anoa.library.write;
+
+import org.junit.Assert;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntBiFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Helpers shared by the tests of encoders which write into caller buffers or return views.
+ */
+final class BufferTestUtils {
+
+  private BufferTestUtils() {
+  }
+
+  /**
+   * Encodes the records one after the other into the buffer, then splits its contents back up.
+   */
+  static <R> List<byte[]> pack(Stream<R> records,
+                               ToIntBiFunction<R, ByteBuffer> encoder,
+                               ByteBuffer buffer) {
+    final List<Integer> lengths = records
+        .map(record -> encoder.applyAsInt(record, buffer))
+        .collect(Collectors.toList());
+    buffer.flip();
+    final List<byte[]> result = new ArrayList<>();
+    for (int length : lengths) {
+      final byte[] bytes = new byte[length];
+      buffer.get(bytes);
+      result.add(bytes);
+    }
+    Assert.assertFalse(buffer.hasRemaining());
+    return result;
+  }
+
+  /**
+   * Copies the contents of a read-only view.
+   */
+  static byte[] copy(ByteBuffer view) {
+    Assert.assertTrue(view.isReadOnly());
+    final byte[] bytes = new byte[view.remaining()];
+    view.get(bytes);
+    return bytes;
+  }
+
+  /**
+   * Encodes the record into a buffer too small to hold it, starting at the given position, and
+   * checks that the encoder raises an overflow and leaves the position unchanged.
+   */
+  static <R> void overflow(R record, ToIntBiFunction<R, ByteBuffer> encoder, int position) {
+    final ByteBuffer small = ByteBuffer.allocate(position + 8);
+    small.position(position);
+    try {
+      encoder.applyAsInt(record, small);
+      Assert.fail();
+    } catch (BufferOverflowException e) {
+      Assert.assertEquals(position, small.position());
+    }
+  }
+}
@@ -2,6 +2,7 @@ package com.adgear.anoa.library.write;
 
 import com.adgear.anoa.Anoa;
 import com.adgear.anoa.AnoaHandler;
+import com.adgear.anoa.EncodedBatch;
 import com.adgear.anoa.read.ProtobufDecoders;
 import com.adgear.anoa.test.AnoaTestSample;
 import com.adgear.anoa.test.ad_exchange.AdExchangeProtobuf;
@@ -16,7 +17,9 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.List;
+import java.util.function.ToIntBiFunction;
 import java.util.stream.Collectors;
 
 import junitx.framework.ListAssert;
@@ -34,6 +37,43 @@ public class ProtobufEncodersTest {
             .map(ProtobufDecoders.binaryStrict(ATS.protobufClass)));
   }
 
+  @Test
+  public void testBinaryToBuffer() {
+    ATS.assertProtobufObjects(
+        BufferTestUtils.pack(ATS.protobuf(),
+                             ProtobufEncoders.binaryToBuffer(),
+                             ByteBuffer.allocate(1 << 20)).stream()
+            .map(ProtobufDecoders.binaryStrict(ATS.protobufClass)));
+    final ToIntBiFunction<AdExchangeProtobuf.LogEvent, ByteBuffer> encoder =
+        ProtobufEncoders.binaryToBuffer();
+    BufferTestUtils.overflow(ATS.protobuf().findFirst().get(), encoder, 0);
+    ATS.assertProtobufObjects(
+        BufferTestUtils.pack(ATS.protobuf(), encoder, ByteBuffer.allocateDirect(1 << 20))
+            .stream()
+            .map(ProtobufDecoders.binaryStrict(ATS.protobufClass)));
+  }
+
+  @Test
+  public void testBinaryView() {
+    ATS.assertProtobufObjects(
+        ATS.protobuf()
+            .map(ProtobufEncoders.binaryView())
+            .map(BufferTestUtils::copy)
+            .map(ProtobufDecoders.binaryStrict(ATS.protobufClass)));
+  }
+
+  @Test
+  public void testBinaryBatch() {
+    final EncodedBatch batch = ProtobufEncoders.<AdExchangeProtobuf.LogEvent>binaryBatch(true)
+        .apply(ATS.protobuf());
+    Assert.assertEquals(ATS.n, batch.size());
+    Assert.assertTrue(batch.isLengthPrefixed());
+    Assert.assertArrayEquals(
+        ProtobufEncoders.binary().apply(ATS.protobuf().findFirst().get()),
+        BufferTestUtils.copy(batch.get(0)));
+    ATS.assertProtobufObjects(ProtobufDecoders.binaryBatch(ATS.protobufClass).apply(batch));
+  }
+
   @Test
   public void testJackson() {
     ATS.assertProtobufObjects(
@@ -0,0 +1,105 @@
+package com.adgear.anoa.library.write;
+
+import com.adgear.anoa.read.AvroStreams;
+import com.adgear.anoa.test.AnoaTestSample;
+import com.adgear.anoa.test.ad_exchange.LogEventAvro;
+import com.adgear.anoa.write.AvroConsumers;
+import com.adgear.anoa.write.RollingWriteConsumer;
+import com.adgear.anoa.write.WriteConsumer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+public class RollingWriteConsumerTest {
+
+  final static AnoaTestSample ATS = new AnoaTestSample();
+
+  static private File[] list(File directory) {
+    final File[] files = directory.listFiles();
+    Arrays.sort(files);
+    for (File file : files) {
+      file.deleteOnExit();
+    }
+    return files;
+  }
+
+  @Test
+  public void testSize() throws IOException {
+    final File directory = Files.createTempDirectory("anoa").toFile();
+    directory.deleteOnExit();
+    try (WriteConsumer<LogEventAvro> wc = new RollingWriteConsumer<>(
+        os -> AvroConsumers.binary(ATS.avroClass, os),
+        RollingWriteConsumer.NamingPolicy.sequential(directory, "part-", ".avro"),
+        10000L,
+        Long.MAX_VALUE)) {
+      ATS.avroSpecific().forEach(wc);
+    }
+    final File[] files = list(directory);
+    Assert.assertTrue(files.length > 1);
+    Assert.assertEquals("part-0000000000.avro", files[0].getName());
+    ATS.assertAvroSpecifics(
+        Stream.of(files)
+            .flatMap(file -> {
+              Assert.assertTrue(file.length() < 20000L);
+              try {
+                return AvroStreams.binary(ATS.avroClass, Files.newInputStream(file.toPath()));
+              } catch (IOException e) {
+                throw new RuntimeException(e);
+              }
+            }));
+  }
+
+  @Test
+  public void testTime() throws Exception {
+    final File directory = Files.createTempDirectory("anoa").toFile();
+    directory.deleteOnExit();
+    final LogEventAvro record = ATS.avroSpecific().findFirst().get();
+    try (WriteConsumer<LogEventAvro> wc = new RollingWriteConsumer<>(
+        os -> AvroConsumers.batch(ATS.avroClass, os),
+        RollingWriteConsumer.NamingPolicy.sequential(directory, "", ".avro"),
+        Long.MAX_VALUE,
+        1000L)) {
+      wc.accept(record);
+      Thread.sleep(1500L);
+      wc.accept(record);
+      wc.accept(record);
+    }
+    final File[] files = list(directory);
+    Assert.assertEquals(2, files.length);
+    Assert.assertEquals(
+        1L,
+        AvroStreams.batch(ATS.avroClass, Files.newInputStream(files[0].toPath())).count());
+    Assert.assertEquals(
+        2L,
+        AvroStreams.batch(ATS.avroClass, Files.newInputStream(files[1].toPath())).count());
+  }
+
+  @Test
+  public void testTimestamp() throws Exception {
+    final File directory = Files.createTempDirectory("anoa").toFile();
+    directory.deleteOnExit();
+    final LogEventAvro record = ATS.avroSpecific().findFirst().get();
+    final long rollTime;
+    try (WriteConsumer<LogEventAvro> wc = new RollingWriteConsumer<>(
+        os -> AvroConsumers.batch(ATS.avroClass, os),
+        (sequence, timestamp) -> new File(directory, sequence + "-" + timestamp + ".avro"),
+        Long.MAX_VALUE,
+        1000L)) {
+      wc.accept(record);
+      Thread.sleep(1500L);
+      rollTime = System.currentTimeMillis();
+      wc.accept(record);
+    }
+    final File[] files = list(directory);
+    Assert.assertEquals(2, files.length);
+    Assert.assertTrue(files[1].getName().startsWith("1-"));
+    final String name = files[1].getName();
+    Assert.assertTrue(Long.parseLong(name.substring(2, name.indexOf('.'))) >= rollTime);
+  }
+}
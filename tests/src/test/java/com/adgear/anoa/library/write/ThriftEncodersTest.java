@@ -2,6 +2,7 @@ package com.adgear.anoa.library.write;
 
 import com.adgear.anoa.Anoa;
 import com.adgear.anoa.AnoaHandler;
+import com.adgear.anoa.EncodedBatch;
 import com.adgear.anoa.read.ThriftDecoders;
 import com.adgear.anoa.test.AnoaTestSample;
 import com.adgear.anoa.test.ad_exchange.LogEventThrift;
@@ -13,6 +14,10 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
+import java.util.stream.Stream;
 
 public class ThriftEncodersTest {
 
@@ -43,6 +48,78 @@ public class ThriftEncodersTest {
             .map(ThriftDecoders.json(ATS.thriftSupplier)));
   }
 
+  @Test
+  public void testToBuffer() {
+    ATS.assertThriftObjects(
+        BufferTestUtils.pack(ATS.thrift(),
+                             ThriftEncoders.<LogEventThrift>compactToBuffer(),
+                             ByteBuffer.allocateDirect(1 << 20)).stream()
+            .map(ThriftDecoders.compact(ATS.thriftSupplier)));
+    ATS.assertThriftObjects(
+        BufferTestUtils.pack(ATS.thrift(),
+                             ThriftEncoders.<LogEventThrift>binaryToBuffer(),
+                             ByteBuffer.allocate(1 << 20)).stream()
+            .map(ThriftDecoders.binary(ATS.thriftSupplier)));
+    ATS.assertThriftObjects(
+        BufferTestUtils.pack(ATS.thrift(),
+                             ThriftEncoders.<LogEventThrift>jsonToBuffer(),
+                             ByteBuffer.allocate(1 << 22)).stream()
+            .map(ThriftDecoders.json(ATS.thriftSupplier)));
+  }
+
+  @Test
+  public void testToBufferAfterOverflow() {
+    final LogEventThrift first = ATS.thrift().findFirst().get();
+    final ToIntBiFunction<LogEventThrift, ByteBuffer> compact = ThriftEncoders.compactToBuffer();
+    BufferTestUtils.overflow(first, compact, 0);
+    ATS.assertThriftObjects(
+        BufferTestUtils.pack(ATS.thrift(), compact, ByteBuffer.allocate(1 << 20)).stream()
+            .map(ThriftDecoders.compact(ATS.thriftSupplier)));
+    final ToIntBiFunction<LogEventThrift, ByteBuffer> binary = ThriftEncoders.binaryToBuffer();
+    BufferTestUtils.overflow(first, binary, 0);
+    ATS.assertThriftObjects(
+        BufferTestUtils.pack(ATS.thrift(), binary, ByteBuffer.allocate(1 << 20)).stream()
+            .map(ThriftDecoders.binary(ATS.thriftSupplier)));
+    final ToIntBiFunction<LogEventThrift, ByteBuffer> json = ThriftEncoders.jsonToBuffer();
+    BufferTestUtils.overflow(first, json, 0);
+    ATS.assertThriftObjects(
+        BufferTestUtils.pack(ATS.thrift(), json, ByteBuffer.allocate(1 << 22)).stream()
+            .map(ThriftDecoders.json(ATS.thriftSupplier)));
+  }
+
+  @Test
+  public void testView() {
+    ATS.assertThriftObjects(
+        ATS.thrift()
+            .map(ThriftEncoders.<LogEventThrift>compactView())
+            .map(BufferTestUtils::copy)
+            .map(ThriftDecoders.compact(ATS.thriftSupplier)));
+    ATS.assertThriftObjects(
+        ATS.thrift()
+            .map(ThriftEncoders.<LogEventThrift>binaryView())
+            .map(BufferTestUtils::copy)
+            .map(ThriftDecoders.binary(ATS.thriftSupplier)));
+    ATS.assertThriftObjects(
+        ATS.thrift()
+            .map(ThriftEncoders.<LogEventThrift>jsonView())
+            .map(BufferTestUtils::copy)
+            .map(ThriftDecoders.json(ATS.thriftSupplier)));
+  }
+
+  @Test
+  public void testBatch() {
+    final EncodedBatch batch =
+        ThriftEncoders.<LogEventThrift>compactBatch(true).apply(ATS.thrift());
+    Assert.assertEquals(ATS.n, batch.size());
+    final Function<EncodedBatch, Stream<LogEventThrift>> decoder =
+        ThriftDecoders.compactBatch(ATS.thriftSupplier);
+    ATS.assertThriftObjects(decoder.apply(batch));
+    ATS.assertThriftObjects(decoder.apply(batch).parallel());
+    ATS.assertThriftObjects(
+        ThriftDecoders.binaryBatch(ATS.thriftSupplier)
+            .apply(ThriftEncoders.<LogEventThrift>binaryBatch(false).apply(ATS.thrift())));
+  }
+
   @Test
   public void testJackson() {
     ATS.assertThriftObjects(